@@ -0,0 +1,144 @@
+package org.yhj.srim.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.yhj.srim.client.dto.DartFsRow;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DART 재무제표 응답 파싱 벤치마크 (연결재무제표 450행 기준)
+ * - treeModel      : 기존 방식 (readTree + 디버그용 순회 + 행마다 node.toString())
+ * - streaming      : JsonParser 단일 패스, rawJson 미보관
+ * - streamingRaw   : JsonParser 단일 패스, 아카이브 모드(rawJson 보관)
+ *
+ * 실행: ./gradlew jmh  (gc 프로파일러의 gc.alloc.rate.norm = 응답 1건당 할당 바이트)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class DartFsResponseParserBenchmark {
+
+    @Param({"450"})
+    public int rowCount;
+
+    private String json;
+    private ObjectMapper objectMapper;
+    private DartFsResponseParser streamingParser;
+    private DartFsResponseParser archivingParser;
+
+    @Setup
+    public void setUp() {
+        json = buildResponse(rowCount);
+        objectMapper = new ObjectMapper();
+        streamingParser = new DartFsResponseParser(false);
+        archivingParser = new DartFsResponseParser(true);
+    }
+
+    @Benchmark
+    public void treeModel(Blackhole bh) throws Exception {
+        bh.consume(parseWithTree(json, bh));
+    }
+
+    @Benchmark
+    public void streaming(Blackhole bh) {
+        bh.consume(streamingParser.parse(json).getRows());
+    }
+
+    @Benchmark
+    public void streamingRaw(Blackhole bh) {
+        bh.consume(archivingParser.parse(json).getRows());
+    }
+
+    /**
+     * 변경 전 DartClient.parseFsResponse 와 동일한 처리
+     */
+    private List<DartFsRow> parseWithTree(String body, Blackhole bh) throws Exception {
+        List<DartFsRow> result = new ArrayList<>();
+        JsonNode root = objectMapper.readTree(body);
+        JsonNode listNode = root.get("list");
+        for (JsonNode node : listNode) {
+            // log.debug 인자로 매번 평가되던 값
+            bh.consume(node.toString());
+            bh.consume(text(node, "account_id"));
+            bh.consume(text(node, "account_nm"));
+        }
+        for (JsonNode node : listNode) {
+            DartFsRow row = new DartFsRow();
+            row.setRceptNo(text(node, "rcept_no"));
+            row.setReprtCode(text(node, "reprt_code"));
+            row.setBsnsYear(node.get("bsns_year").asInt());
+            row.setFsDiv(text(node, "fs_div"));
+            row.setRceptDt(text(node, "rcept_dt"));
+            row.setSjDiv(text(node, "sj_div"));
+            row.setSjNm(text(node, "sj_nm"));
+            row.setAccountId(text(node, "account_id"));
+            row.setAccountNm(text(node, "account_nm"));
+            row.setAccountDetail(text(node, "account_detail"));
+            row.setOrd(node.get("ord").asInt());
+            row.setThstrmNm(text(node, "thstrm_nm"));
+            row.setThstrmAmount(amount(node, "thstrm_amount"));
+            row.setFrmtrmNm(text(node, "frmtrm_nm"));
+            row.setFrmtrmAmount(amount(node, "frmtrm_amount"));
+            row.setBfefrmtrmNm(text(node, "bfefrmtrm_nm"));
+            row.setBfefrmtrmAmount(amount(node, "bfefrmtrm_amount"));
+            row.setCurrency(text(node, "currency"));
+            row.setRawJson(node.toString());
+            result.add(row);
+        }
+        return result;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode v = node.get(field);
+        return (v == null || v.isNull()) ? null : v.asText();
+    }
+
+    private static BigDecimal amount(JsonNode node, String field) {
+        JsonNode v = node.get(field);
+        if (v == null || v.isNull()) return null;
+        String text = v.asText().replaceAll(",", "").trim();
+        if (text.isEmpty() || "-".equals(text)) return null;
+        return new BigDecimal(text);
+    }
+
+    /**
+     * 실제 fnlttSinglAcntAll 응답과 같은 필드 구성의 합성 응답
+     */
+    static String buildResponse(int rows) {
+        String[] sjDivs = {"BS", "CIS", "CF", "SCE"};
+        StringBuilder sb = new StringBuilder(rows * 700);
+        sb.append("{\"status\":\"000\",\"message\":\"정상\",\"list\":[");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) sb.append(',');
+            String sjDiv = sjDivs[i % sjDivs.length];
+            long base = 1_000_000_000L + i * 7_919_123L;
+            sb.append('{')
+                    .append("\"rcept_no\":\"20240312000736\",")
+                    .append("\"reprt_code\":\"11011\",")
+                    .append("\"bsns_year\":\"2023\",")
+                    .append("\"corp_code\":\"00126380\",")
+                    .append("\"sj_div\":\"").append(sjDiv).append("\",")
+                    .append("\"sj_nm\":\"재무상태표\",")
+                    .append("\"account_id\":\"ifrs-full_Account").append(i).append("\",")
+                    .append("\"account_nm\":\"계정과목").append(i).append("\",")
+                    .append("\"account_detail\":\"-\",")
+                    .append("\"thstrm_nm\":\"제 55 기\",")
+                    .append("\"thstrm_amount\":\"").append(base).append("\",")
+                    .append("\"frmtrm_nm\":\"제 54 기\",")
+                    .append("\"frmtrm_amount\":\"").append(base - 12_345L).append("\",")
+                    .append("\"bfefrmtrm_nm\":\"제 53 기\",")
+                    .append("\"bfefrmtrm_amount\":\"").append(base - 54_321L).append("\",")
+                    .append("\"ord\":\"").append(i + 1).append("\",")
+                    .append("\"currency\":\"KRW\"")
+                    .append('}');
+        }
+        sb.append("]}");
+        return sb.toString();
+    }
+}
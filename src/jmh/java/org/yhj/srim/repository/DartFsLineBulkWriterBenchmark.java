@@ -0,0 +1,154 @@
+package org.yhj.srim.repository;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.yhj.srim.client.dto.DartFsRow;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * dart_fs_line 저장 처리량 벤치마크 (사업보고서 연결재무제표 1건 = 450행, 결과 단위 = 행/초)
+ * - rowByRow       : 기존 saveAll 과 같은 행당 INSERT 1회 왕복 (IDENTITY 라 Hibernate 배치 불가)
+ * - batch          : DartFsLineBulkWriter, rewriteBatchedStatements=false
+ * - batchRewritten : DartFsLineBulkWriter, rewriteBatchedStatements=true (운영 설정)
+ *
+ * 실제 MySQL 이 필요하다 (init-all.sql 스키마). 접속 정보는 시스템 프로퍼티로 지정:
+ *   ./gradlew jmh -Pjmh.includes=DartFsLineBulkWriterBenchmark
+ *     (jvmArgs: -Dbench.jdbc.url=jdbc:mysql://localhost:3306/srimdb -Dbench.jdbc.user=... -Dbench.jdbc.password=...)
+ * 벤치마크용 공시(rcept_no=99999999000000)를 만들어 쓰고, 반복마다 라인은 지운다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class DartFsLineBulkWriterBenchmark {
+
+    private static final int ROWS_PER_FILING = 450;
+    private static final String BENCH_RCEPT_NO = "99999999000000";
+
+    private SingleConnectionDataSource plainDataSource;
+    private SingleConnectionDataSource rewriteDataSource;
+    private DartFsLineBulkWriter plainWriter;
+    private DartFsLineBulkWriter rewriteWriter;
+    private List<DartFsRow> rows;
+    private Long filingId;
+
+    @Setup
+    public void setUp() {
+        String url = System.getProperty("bench.jdbc.url", "jdbc:mysql://localhost:3306/srimdb");
+        String user = System.getProperty("bench.jdbc.user", "root");
+        String password = System.getProperty("bench.jdbc.password", "");
+
+        plainDataSource = dataSource(url, user, password, false);
+        rewriteDataSource = dataSource(url, user, password, true);
+        plainWriter = new DartFsLineBulkWriter(new JdbcTemplate(plainDataSource));
+        rewriteWriter = new DartFsLineBulkWriter(new JdbcTemplate(rewriteDataSource));
+        rows = buildFiling(ROWS_PER_FILING);
+
+        JdbcTemplate jdbc = new JdbcTemplate(plainDataSource);
+        jdbc.update("""
+            INSERT IGNORE INTO dart_fs_filing (corp_code, rcept_no, reprt_code, bsns_year, fs_div, report_tp, currency)
+            VALUES ('99999999', ?, '11011', 2023, 'CFS', '연간', 'KRW')
+        """, BENCH_RCEPT_NO);
+        filingId = jdbc.queryForObject(
+                "SELECT fs_filing_id FROM dart_fs_filing WHERE rcept_no = ? AND reprt_code = '11011' AND fs_div = 'CFS'",
+                Long.class, BENCH_RCEPT_NO);
+        commit(plainDataSource);
+    }
+
+    @TearDown(Level.Iteration)
+    public void cleanLines() {
+        new JdbcTemplate(plainDataSource).update("DELETE FROM dart_fs_line WHERE fs_filing_id = ?", filingId);
+        commit(plainDataSource);
+    }
+
+    @TearDown
+    public void tearDown() {
+        JdbcTemplate jdbc = new JdbcTemplate(plainDataSource);
+        jdbc.update("DELETE FROM dart_fs_line WHERE fs_filing_id = ?", filingId);
+        jdbc.update("DELETE FROM dart_fs_filing WHERE fs_filing_id = ?", filingId);
+        commit(plainDataSource);
+        plainDataSource.destroy();
+        rewriteDataSource.destroy();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_FILING)
+    public int rowByRow() {
+        int saved = 0;
+        for (DartFsRow row : rows) {
+            saved += plainWriter.insert(filingId, null, List.of(row));
+        }
+        commit(plainDataSource);
+        return saved;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_FILING)
+    public int batch() {
+        int saved = plainWriter.insert(filingId, null, rows);
+        commit(plainDataSource);
+        return saved;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_FILING)
+    public int batchRewritten() {
+        int saved = rewriteWriter.insert(filingId, null, rows);
+        commit(rewriteDataSource);
+        return saved;
+    }
+
+    /**
+     * 서비스와 같이 공시 1건을 트랜잭션 1개로 저장
+     */
+    private static SingleConnectionDataSource dataSource(String url, String user, String password, boolean rewrite) {
+        SingleConnectionDataSource ds = new SingleConnectionDataSource(
+                url + (url.contains("?") ? "&" : "?") + "rewriteBatchedStatements=" + rewrite, user, password, true);
+        ds.setAutoCommit(false);
+        return ds;
+    }
+
+    private static void commit(SingleConnectionDataSource ds) {
+        try {
+            ds.getConnection().commit();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * fnlttSinglAcntAll 연결재무제표 응답과 같은 구성 (BS/CIS/CF/SCE, 3개 기수 금액)
+     */
+    private static List<DartFsRow> buildFiling(int count) {
+        String[] sjDivs = {"BS", "CIS", "CF", "SCE"};
+        String[] sjNms = {"재무상태표", "포괄손익계산서", "현금흐름표", "자본변동표"};
+        List<DartFsRow> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long base = 1_000_000_000L + i * 7_919_123L;
+            DartFsRow row = new DartFsRow();
+            row.setRceptNo(BENCH_RCEPT_NO);
+            row.setReprtCode("11011");
+            row.setBsnsYear(2023);
+            row.setFsDiv("CFS");
+            row.setSjDiv(sjDivs[i % sjDivs.length]);
+            row.setSjNm(sjNms[i % sjNms.length]);
+            row.setAccountId("ifrs-full_Account" + i);
+            row.setAccountNm("계정과목" + i);
+            row.setAccountDetail("-");
+            row.setOrd(i + 1);
+            row.setThstrmNm("제 55 기");
+            row.setThstrmAmount(BigDecimal.valueOf(base));
+            row.setFrmtrmNm("제 54 기");
+            row.setFrmtrmAmount(BigDecimal.valueOf(base - 12_345L));
+            row.setBfefrmtrmNm("제 53 기");
+            row.setBfefrmtrmAmount(BigDecimal.valueOf(base - 54_321L));
+            row.setCurrency("KRW");
+            result.add(row);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,164 @@
+package org.yhj.srim.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회사-연도 1건의 지표 계산 비용 (매핑이 끝난 라인 기준, 결과 단위 = 회사 1건당 ns)
+ * - boxedMaps      : 기존 buildFinancialMetrics 방식 (LinkedHashMap<String, BigDecimal> raw/prevRaw + BigDecimal.divide)
+ * - kernelMap      : MetricKernel (long[] + 고정소수점 비율) → 결과 맵
+ * - kernelRatios   : MetricKernel 비율 계산만 (결과 맵 없이 long 소비)
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=MetricKernelBenchmark  (OperationsPerInvocation 으로 나눠져서 gc.alloc.rate.norm = 회사 1건당 할당 바이트)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class MetricKernelBenchmark {
+
+    private static final int COMPANY_COUNT = 1000;
+
+    private static final List<MetricKernel.Code> AMOUNTS = List.of(
+            MetricKernel.Code.SALES, MetricKernel.Code.OP_INC, MetricKernel.Code.NET_INC,
+            MetricKernel.Code.NET_INC_OWNER, MetricKernel.Code.NET_INC_NONCONT,
+            MetricKernel.Code.TOTAL_EQUITY, MetricKernel.Code.TOTAL_EQUITY_OWNER,
+            MetricKernel.Code.EPS, MetricKernel.Code.BPS);
+
+    private static final String[] MAPPED_CODES = {
+            "SALES", "OP_INC", "NET_INC", "NET_INC_OWNER", "NET_INC_NONCONT",
+            "TOTAL_ASSETS", "TOTAL_LIABILITIES", "TOTAL_EQUITY", "TOTAL_EQUITY_OWNER",
+            "CURRENT_ASSETS", "CURRENT_LIABILITIES", "EPS"
+    };
+
+    /** 매핑된 라인 1개 (지표 코드 + 당기/전기 금액, 엔티티처럼 BigDecimal) */
+    private record MappedLine(String metricCode, BigDecimal curr, BigDecimal prev) {
+    }
+
+    private List<MappedLine[]> companies;
+    private MetricKernel kernel;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        companies = new ArrayList<>(COMPANY_COUNT);
+        for (int c = 0; c < COMPANY_COUNT; c++) {
+            long scale = (long) Math.pow(10, 9 + random.nextInt(6)); // 10억 ~ 100조
+            MappedLine[] lines = new MappedLine[MAPPED_CODES.length];
+            for (int i = 0; i < MAPPED_CODES.length; i++) {
+                long curr = (long) (scale * (0.05 + random.nextDouble()));
+                long prev = (long) (curr * (0.8 + random.nextDouble() * 0.4));
+                if ("EPS".equals(MAPPED_CODES[i])) {
+                    curr = random.nextInt(20_000) - 2_000;
+                    prev = random.nextInt(20_000) - 2_000;
+                }
+                lines[i] = new MappedLine(MAPPED_CODES[i], BigDecimal.valueOf(curr), BigDecimal.valueOf(prev));
+            }
+            companies.add(lines);
+        }
+        kernel = new MetricKernel();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COMPANY_COUNT)
+    public void boxedMaps(Blackhole bh) {
+        for (MappedLine[] lines : companies) {
+            bh.consume(computeWithMaps(lines));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COMPANY_COUNT)
+    public void kernelMap(Blackhole bh) {
+        for (MappedLine[] lines : companies) {
+            load(lines);
+            bh.consume(kernel.toMap(AMOUNTS));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COMPANY_COUNT)
+    public void kernelRatios(Blackhole bh) {
+        for (MappedLine[] lines : companies) {
+            load(lines);
+            kernel.computeRatios();
+            for (MetricKernel.Code code : MetricKernel.RATIOS) {
+                bh.consume(kernel.ratioMicros(code));
+            }
+        }
+    }
+
+    private void load(MappedLine[] lines) {
+        kernel.reset();
+        for (MappedLine line : lines) {
+            MetricKernel.Code code = MetricKernel.Code.of(line.metricCode());
+            if (!kernel.hasCurrent(code)) {
+                kernel.putCurrent(code, line.curr());
+            }
+            kernel.putPrevious(code, line.prev());
+        }
+    }
+
+    /**
+     * 변경 전 FinancialService.buildFinancialMetrics 의 누적 + 비율 계산과 동일한 처리
+     */
+    private static Map<String, BigDecimal> computeWithMaps(MappedLine[] lines) {
+        Map<String, BigDecimal> raw = new LinkedHashMap<>();
+        Map<String, BigDecimal> prevRaw = new LinkedHashMap<>();
+        Map<String, BigDecimal> result = new LinkedHashMap<>();
+        for (MappedLine line : lines) {
+            raw.putIfAbsent(line.metricCode(), line.curr());
+            prevRaw.put(line.metricCode(), line.prev());
+        }
+
+        BigDecimal sales = raw.get("SALES");
+        BigDecimal opInc = raw.get("OP_INC");
+        BigDecimal netInc = raw.get("NET_INC");
+        BigDecimal netIncOwner = raw.get("NET_INC_OWNER");
+        BigDecimal equityTotalCurr = raw.get("TOTAL_EQUITY");
+        BigDecimal equityOwnerCurr = raw.get("TOTAL_EQUITY_OWNER");
+        BigDecimal equityOwnerPrev = prevRaw.get("TOTAL_EQUITY_OWNER");
+        BigDecimal equityTotalPrev = prevRaw.get("TOTAL_EQUITY");
+
+        for (String code : new String[]{"SALES", "OP_INC", "NET_INC", "NET_INC_OWNER", "NET_INC_NONCONT",
+                "TOTAL_EQUITY", "TOTAL_EQUITY_OWNER", "EPS", "BPS"}) {
+            putIfNotNull(result, code, raw.get(code));
+        }
+        putIfNotNull(result, "OPM", toPercent(safeDivide(opInc, sales)));
+        putIfNotNull(result, "NET_MARGIN", toPercent(safeDivide(netInc, sales)));
+        putIfNotNull(result, "DEBT_RATIO", toPercent(safeDivide(raw.get("TOTAL_LIABILITIES"),
+                equityTotalCurr != null ? equityTotalCurr : equityOwnerCurr)));
+
+        BigDecimal roeNetInc = netIncOwner != null ? netIncOwner : netInc;
+        BigDecimal roeEquityCurr = equityOwnerCurr != null ? equityOwnerCurr : equityTotalCurr;
+        BigDecimal roeEquityPrev = equityOwnerPrev != null ? equityOwnerPrev : equityTotalPrev;
+        if (roeNetInc != null && roeEquityCurr != null && roeEquityPrev != null) {
+            BigDecimal avgEquity = roeEquityCurr.add(roeEquityPrev).divide(BigDecimal.valueOf(2), 8, RoundingMode.HALF_UP);
+            putIfNotNull(result, "ROE", toPercent(safeDivide(roeNetInc, avgEquity)));
+        }
+        putIfNotNull(result, "ROA", toPercent(safeDivide(netInc, raw.get("TOTAL_ASSETS"))));
+        putIfNotNull(result, "QUICK_RATIO", toPercent(safeDivide(raw.get("CURRENT_ASSETS"), raw.get("CURRENT_LIABILITIES"))));
+        return result;
+    }
+
+    private static void putIfNotNull(Map<String, BigDecimal> map, String key, BigDecimal value) {
+        if (value != null) {
+            map.put(key, value);
+        }
+    }
+
+    private static BigDecimal safeDivide(BigDecimal numerator, BigDecimal denominator) {
+        if (numerator == null || denominator == null || BigDecimal.ZERO.compareTo(denominator) == 0) {
+            return null;
+        }
+        return numerator.divide(denominator, 8, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal toPercent(BigDecimal ratio) {
+        return ratio == null ? null : ratio.multiply(BigDecimal.valueOf(100));
+    }
+}
@@ -0,0 +1,146 @@
+package org.yhj.srim.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.yhj.srim.common.exception.CustomException;
+import org.yhj.srim.common.exception.code.CrawlingErrorCode;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * DART OpenAPI 공통 호출기
+ * DART 를 호출하는 모든 Client/Service 는 이 클래스를 거친다.
+ * 1) 이전에 "013"(데이터 없음)을 받은 조회는 마커 만료/무효화 전까지 호출하지 않음 ({@link DartEmptyResultCache})
+ *    로컬 응답 캐시 조회 - 정상(000) 응답만 저장 (REPLAY 모드면 캐시에 없어도 네트워크 호출 없이 "013" 응답)
+ * 2) 전역 호출 한도 토큰 획득 (020 응답이면 한도 관리자 백오프 후 재시도)
+ * 3) 공통 HTTP 클라이언트(OutboundHttpClient)로 호출 후 캐시 저장
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DartApiExecutor {
+
+    private static final String DART_API_BASE_URL = "https://opendart.fss.or.kr/api/";
+
+    private static final String STATUS_NO_DATA = "013";
+    private static final String STATUS_LIMIT_EXCEEDED = "020";
+
+    private static final String REPLAY_MISS_BODY =
+            "{\"status\":\"013\",\"message\":\"조회된 데이타가 없습니다. (replay 캐시 없음)\"}";
+
+    private static final String KNOWN_EMPTY_BODY =
+            "{\"status\":\"013\",\"message\":\"조회된 데이타가 없습니다. (데이터 없음 마커)\"}";
+
+    @Value("${dart.api.key}")
+    private String apiKey;
+
+    private final DartRateLimiter dartRateLimiter;
+    private final DartQuotaManager dartQuotaManager;
+    private final DartResponseCache dartResponseCache;
+    private final DartEmptyResultCache dartEmptyResultCache;
+    private final OutboundHttpClient outboundHttpClient;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    /**
+     * GET {endpoint}?crtfc_key=...&{params}
+     * @param endpoint : ex) fnlttSinglAcntAll.json
+     * @param params : crtfc_key 를 제외한 쿼리 파라미터 (순서 유지)
+     * @return 응답 본문(JSON)
+     */
+    public String get(String endpoint, Map<String, String> params) {
+        DartResponseCache.Key key = new DartResponseCache.Key(endpoint,
+                params.get("corp_code"), params.get("bsns_year"), params.get("reprt_code"), params.get("fs_div"));
+
+        if (dartEmptyResultCache.isKnownEmpty(key)) {
+            log.debug("[DART-EMPTY] 데이터 없음 마커로 호출 생략 {}", key);
+            return KNOWN_EMPTY_BODY;
+        }
+        Optional<String> cached = dartResponseCache.get(key);
+        if (cached.isPresent()) {
+            log.debug("[DART-CACHE] hit {}", key);
+            return cached.get();
+        }
+        if (dartResponseCache.isReplay()) {
+            log.debug("[DART-CACHE] replay miss {}", key);
+            return REPLAY_MISS_BODY;
+        }
+
+        String body = call(endpoint, params);
+        String status = readStatus(body);
+        dartResponseCache.put(key, status, body);
+        if (STATUS_NO_DATA.equals(status)) {
+            dartEmptyResultCache.markEmpty(key);
+        }
+        return body;
+    }
+
+    /**
+     * 캐시를 거치지 않는 호출 (공시검색처럼 같은 파라미터라도 매번 결과가 달라지는 API 용)
+     * REPLAY 모드에서는 네트워크 호출 없이 "013" 응답
+     */
+    public String getUncached(String endpoint, Map<String, String> params) {
+        if (dartResponseCache.isReplay()) {
+            return REPLAY_MISS_BODY;
+        }
+        return call(endpoint, params);
+    }
+
+    private String call(String endpoint, Map<String, String> params) {
+        StringBuilder url = new StringBuilder(DART_API_BASE_URL)
+                .append(endpoint)
+                .append("?crtfc_key=").append(apiKey);
+        params.forEach((name, value) -> url.append('&').append(name).append('=').append(value));
+
+        int limitResponses = 0;
+        while (true) {
+            dartRateLimiter.acquire();
+            String body = outboundHttpClient.get(url.toString(), Map.of()).bodyAsString();
+            String status = readStatus(body);
+            if (STATUS_LIMIT_EXCEEDED.equals(status)) {
+                limitResponses++;
+            }
+
+            // 020: 전역 백오프 후 재시도, 이 요청의 020 이 재시도 한도를 넘으면 오늘 한도 소진
+            if (dartQuotaManager.onResponse(status, limitResponses)) {
+                log.debug("[DART] 020 재시도 endpoint={}, params={}", endpoint, params);
+                continue;
+            }
+            if (STATUS_LIMIT_EXCEEDED.equals(status)) {
+                throw new CustomException(CrawlingErrorCode.DART_DAILY_LIMIT_EXCEEDED);
+            }
+            return body;
+        }
+    }
+
+    /**
+     * 응답 최상위 status 값만 읽기 (본문 전체를 파싱하지 않음)
+     */
+    public String readStatus(String body) {
+        if (body == null) {
+            return null;
+        }
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("status".equals(field)) {
+                    return parser.getValueAsString();
+                }
+                parser.skipChildren();
+            }
+        } catch (Exception e) {
+            log.debug("DART 응답 status 읽기 실패: {}", e.getMessage());
+        }
+        return null;
+    }
+}
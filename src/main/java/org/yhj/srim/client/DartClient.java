@@ -6,19 +6,18 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
+import org.yhj.srim.client.dto.DartFsResponse;
 import org.yhj.srim.client.dto.DartFsRow;
 import org.yhj.srim.client.dto.DartShareStatusRow;
 import org.yhj.srim.common.exception.CustomException;
 import org.yhj.srim.common.exception.code.CrawlingErrorCode;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * dart Client
@@ -31,13 +30,12 @@ import java.util.List;
 public class DartClient {
 
 
-    private static final String DART_FS_URL = "https://opendart.fss.or.kr/api/fnlttSinglAcntAll.json";
-    private static final String DART_SHARE_URL = "https://opendart.fss.or.kr/api/stockTotqySttus.json";
+    private static final String DART_FS_ENDPOINT = "fnlttSinglAcntAll.json";
+    private static final String DART_SHARE_ENDPOINT = "stockTotqySttus.json";
 
-    @Value("${dart.api.key}")
-    private String apiKey;
+    private final DartApiExecutor dartApiExecutor;
+    private final DartFsResponseParser dartFsResponseParser;
 
-    private final RestTemplate restTemplate = new RestTemplate();
     private final ObjectMapper objectMapper = new ObjectMapper();
 
 
@@ -48,74 +46,18 @@ public class DartClient {
      * @return
      */
     public List<DartFsRow> fetchAnnualFinancialStatements(String corpCode, int year){
-        String url = DART_FS_URL
-                + "?crtfc_key=" + apiKey
-                + "&corp_code=" + corpCode
-                + "&bsns_year=" + year
-                + "&reprt_code=11011"
-                + "&fs_div=CFS"; // CFS-연결재무제표, OFS
-
-        log.debug("사업보고서 조회 url : {}", url);
-
-        ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
-        String body = response.getBody();
-        log.debug(body);
+        log.debug("사업보고서 조회 corpCode={}, year={}", corpCode, year);
+
+        String body = fetchAnnualFinancialStatementsJson(corpCode, year);
         return parseFsResponse(body);
     }
 
     private List<DartFsRow> parseFsResponse(String json) {
-        List<DartFsRow> result = new ArrayList<>();
-
-        try {
-            JsonNode root = objectMapper.readTree(json);
-            JsonNode listNode = root.get("list");
-            if (listNode == null || !listNode.isArray()) {
-                return result;
-            }
-            for (JsonNode node : listNode) {
-                log.debug("RAW NODE: {}", node.toString());
-                log.debug("NODE account_id={}, account_nm={}",
-                        getText(node, "account_id"),
-                        getText(node, "account_nm"));
-            }
-            for (JsonNode node : listNode) {
-                DartFsRow row = new DartFsRow();
-
-                row.setRceptNo(getText(node, "rcept_no"));
-                row.setReprtCode(getText(node, "reprt_code"));
-                row.setBsnsYear(getInt(node, "bsns_year"));
-                row.setFsDiv(getText(node, "fs_div"));
-                row.setRceptDt(getText(node, "rcept_dt"));
-
-                row.setSjDiv(getText(node, "sj_div"));
-                row.setSjNm(getText(node, "sj_nm"));
-                row.setAccountId(getText(node, "account_id"));
-                row.setAccountNm(getText(node, "account_nm"));
-                row.setAccountDetail(getText(node, "account_detail"));
-                row.setOrd(getInteger(node, "ord"));
-
-                row.setThstrmNm(getText(node, "thstrm_nm"));
-                row.setThstrmAmount(getBigDecimal(node, "thstrm_amount"));
-                row.setThstrmAddAmount(getBigDecimal(node, "thstrm_add_amount"));
-
-                row.setFrmtrmNm(getText(node, "frmtrm_nm"));
-                row.setFrmtrmAmount(getBigDecimal(node, "frmtrm_amount"));
-
-                row.setBfefrmtrmNm(getText(node, "bfefrmtrm_nm"));
-                row.setBfefrmtrmAmount(getBigDecimal(node, "bfefrmtrm_amount"));
-
-                row.setCurrency(getText(node, "currency"));
-
-                row.setRawJson(node.toString());
-
-                result.add(row);
-            }
-
-        } catch (Exception e) {
-            throw new CustomException(CrawlingErrorCode.JSON_PARSE_FAILED);
+        DartFsResponse response = dartFsResponseParser.parse(json);
+        if (!response.isOk()) {
+            log.debug("DART 재무제표 조회 결과 없음 - status={}, message={}", response.getStatus(), response.getMessage());
         }
-
-        return result;
+        return response.getRows();
     }
 
     /**
@@ -125,17 +67,33 @@ public class DartClient {
      * @return
      */
     public List<DartShareStatusRow> fetchShareStatus(String corpCode, int year){
-        String url = DART_SHARE_URL
-                + "?crtfc_key=" + apiKey
-                + "&corp_code=" + corpCode
-                + "&bsns_year=" + year
-                + "&reprt_code=11011";
+        String body = fetchShareStatusJson(corpCode, year);
+        return parseShareResponse(body);
+    }
 
-        ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
-        String body = response.getBody();
+    /**
+     * 주식총수 원본 응답(JSON) 조회
+     */
+    public String fetchShareStatusJson(String corpCode, int year) {
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("corp_code", corpCode);
+        params.put("bsns_year", String.valueOf(year));
+        params.put("reprt_code", "11011");
+        return dartApiExecutor.get(DART_SHARE_ENDPOINT, params);
+    }
 
-        return parseShareResponse(body);
+    /**
+     * 사업보고서 재무제표 원본 응답(JSON) 조회
+     */
+    public String fetchAnnualFinancialStatementsJson(String corpCode, int year) {
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("corp_code", corpCode);
+        params.put("bsns_year", String.valueOf(year));
+        params.put("reprt_code", "11011");
+        params.put("fs_div", "CFS"); // CFS-연결재무제표, OFS
+        return dartApiExecutor.get(DART_FS_ENDPOINT, params);
     }
+
     private List<DartShareStatusRow> parseShareResponse(String json) {
         List<DartShareStatusRow> result = new ArrayList<>();
         try {
@@ -215,25 +173,12 @@ public class DartClient {
         return (v == null || v.isNull()) ? null : v.asText();
     }
 
-    private int getInt(JsonNode node, String field) {
-        JsonNode v = node.get(field);
-        if (v == null || v.isNull() || v.asText().isBlank()) return 0;
-        return v.asInt();
-    }
     private Integer getInteger(JsonNode node, String field) {
         JsonNode v = node.get(field);
         if (v == null || v.isNull() || v.asText().isBlank()) return null;
         return v.asInt();
     }
 
-    private BigDecimal getBigDecimal(JsonNode node, String field) {
-        JsonNode v = node.get(field);
-        if (v == null || v.isNull()) return null;
-        String text = v.asText().replaceAll(",", "").trim();
-        if (text.isEmpty() || "-".equals(text)) return null;
-        return new BigDecimal(text);
-    }
-
     private Long parseLong(JsonNode node, String field) {
         JsonNode v = node.get(field);
         if (v == null || v.isNull()) return null;
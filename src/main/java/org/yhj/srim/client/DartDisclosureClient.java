@@ -0,0 +1,89 @@
+package org.yhj.srim.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.yhj.srim.client.dto.DartDisclosure;
+import org.yhj.srim.client.dto.DartDisclosurePage;
+import org.yhj.srim.common.exception.CustomException;
+import org.yhj.srim.common.exception.code.CrawlingErrorCode;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DART 공시검색(list.json) Client
+ * - corp_code 없이 기간 + 공시상세유형으로 시장 전체 공시 조회 (기간은 최대 3개월)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DartDisclosureClient {
+
+    public static final int MAX_PAGE_COUNT = 100;
+
+    private static final String DART_LIST_ENDPOINT = "list.json";
+    private static final DateTimeFormatter YYYYMMDD = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final DartApiExecutor dartApiExecutor;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * 정기공시 검색
+     * @param detailType : 공시상세유형 (A001 사업보고서, A002 반기보고서, A003 분기보고서)
+     * @param from : 검색 시작 접수일 (포함)
+     * @param to : 검색 종료 접수일 (포함)
+     * @param pageNo : 페이지 번호 (1부터)
+     */
+    public DartDisclosurePage fetchPeriodicReports(String detailType, LocalDate from, LocalDate to, int pageNo) {
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("bgn_de", from.format(YYYYMMDD));
+        params.put("end_de", to.format(YYYYMMDD));
+        params.put("pblntf_ty", "A");
+        params.put("pblntf_detail_ty", detailType);
+        params.put("page_no", String.valueOf(pageNo));
+        params.put("page_count", String.valueOf(MAX_PAGE_COUNT));
+
+        return parseResponse(dartApiExecutor.getUncached(DART_LIST_ENDPOINT, params));
+    }
+
+    private DartDisclosurePage parseResponse(String json) {
+        try {
+            JsonNode root = objectMapper.readTree(json);
+            String status = root.path("status").asText();
+            if (!"000".equals(status)) {
+                log.debug("DART 공시검색 결과 없음 status={}, message={}", status, root.path("message").asText());
+                return new DartDisclosurePage(status, 1, 0, List.of());
+            }
+
+            List<DartDisclosure> items = new ArrayList<>();
+            for (JsonNode node : root.path("list")) {
+                DartDisclosure item = new DartDisclosure();
+                item.setCorpCode(getText(node, "corp_code"));
+                item.setCorpName(getText(node, "corp_name"));
+                item.setCorpCls(getText(node, "corp_cls"));
+                item.setStockCode(getText(node, "stock_code"));
+                item.setReportNm(getText(node, "report_nm"));
+                item.setRceptNo(getText(node, "rcept_no"));
+                item.setRceptDt(getText(node, "rcept_dt"));
+                items.add(item);
+            }
+            return new DartDisclosurePage(status, root.path("page_no").asInt(1), root.path("total_page").asInt(1), items);
+        } catch (Exception e) {
+            log.error("DART 공시검색 응답 파싱 실패", e);
+            throw new CustomException(CrawlingErrorCode.JSON_PARSE_FAILED);
+        }
+    }
+
+    private String getText(JsonNode node, String field) {
+        JsonNode v = node.get(field);
+        return (v == null || v.isNull() || v.asText().isBlank()) ? null : v.asText().trim();
+    }
+}
@@ -0,0 +1,167 @@
+package org.yhj.srim.client;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DART "데이터 없음(013)" 결과 캐시 (dart_empty_result)
+ * - (endpoint, corp_code, bsns_year, reprt_code, fs_div) 단위로 013 응답을 기록하고, 만료 전까지는 호출하지 않는다.
+ * - 만료: 직전/당해 사업연도는 아직 공시가 나올 수 있으므로 짧게(ttl-recent), 그 이전 연도는 길게(ttl-closed)
+ * - 기동 시 유효한 마커를 메모리에 올려두고 조회는 메모리에서만 (DB 는 write-through)
+ */
+@Component
+@Slf4j
+public class DartEmptyResultCache {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final Duration ttlRecent;
+    private final Duration ttlClosed;
+
+    private final Map<DartResponseCache.Key, LocalDateTime> expiresAtByKey = new ConcurrentHashMap<>();
+
+    public DartEmptyResultCache(JdbcTemplate jdbcTemplate,
+                                @Value("${dart.empty-cache.enabled:true}") boolean enabled,
+                                @Value("${dart.empty-cache.ttl-recent:P1D}") Duration ttlRecent,
+                                @Value("${dart.empty-cache.ttl-closed:P180D}") Duration ttlClosed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.ttlRecent = ttlRecent;
+        this.ttlClosed = ttlClosed;
+    }
+
+    @PostConstruct
+    void load() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            jdbcTemplate.query("""
+                SELECT endpoint, corp_code, bsns_year, reprt_code, fs_div, expires_at
+                FROM dart_empty_result
+                WHERE expires_at > ?
+            """, rs -> {
+                expiresAtByKey.put(new DartResponseCache.Key(rs.getString(1), rs.getString(2),
+                                rs.getString(3), nullIfDash(rs.getString(4)), nullIfDash(rs.getString(5))),
+                        rs.getTimestamp(6).toLocalDateTime());
+            }, Timestamp.valueOf(LocalDateTime.now(KST)));
+            log.info("[DART-EMPTY] 데이터 없음 마커 {}건 로드", expiresAtByKey.size());
+        } catch (Exception e) {
+            log.warn("[DART-EMPTY] 마커 로드 실패 (빈 상태로 시작): {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 만료되지 않은 "데이터 없음" 마커가 있으면 true (호출 생략 대상)
+     */
+    public boolean isKnownEmpty(DartResponseCache.Key key) {
+        if (!enabled || !isCacheable(key)) {
+            return false;
+        }
+        LocalDateTime expiresAt = expiresAtByKey.get(key);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt.isBefore(LocalDateTime.now(KST))) {
+            expiresAtByKey.remove(key, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 013 응답 기록
+     */
+    public void markEmpty(DartResponseCache.Key key) {
+        if (!enabled || !isCacheable(key)) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now(KST);
+        LocalDateTime expiresAt = now.plus(ttlOf(key));
+        expiresAtByKey.put(key, expiresAt);
+
+        try {
+            jdbcTemplate.update("""
+                INSERT INTO dart_empty_result (endpoint, corp_code, bsns_year, reprt_code, fs_div, checked_at, expires_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                ON DUPLICATE KEY UPDATE checked_at = VALUES(checked_at), expires_at = VALUES(expires_at)
+            """, key.endpoint(), key.corpCode(), Integer.parseInt(key.bsnsYear()),
+                    dashIfNull(key.reprtCode()), dashIfNull(key.fsDiv()),
+                    Timestamp.valueOf(now), Timestamp.valueOf(expiresAt));
+        } catch (Exception e) {
+            log.warn("[DART-EMPTY] 마커 저장 실패 key={}: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * 회사+연도의 모든 마커 삭제 (신규 공시 감지 시)
+     */
+    public void invalidate(String corpCode, int bsnsYear) {
+        if (!enabled) {
+            return;
+        }
+        String year = String.valueOf(bsnsYear);
+        expiresAtByKey.keySet().removeIf(k -> corpCode.equals(k.corpCode()) && year.equals(k.bsnsYear()));
+        try {
+            jdbcTemplate.update("DELETE FROM dart_empty_result WHERE corp_code = ? AND bsns_year = ?", corpCode, bsnsYear);
+        } catch (Exception e) {
+            log.warn("[DART-EMPTY] 마커 삭제 실패 corpCode={}, year={}: {}", corpCode, bsnsYear, e.getMessage());
+        }
+    }
+
+    /**
+     * 만료된 마커 정리 (매일 04:30)
+     */
+    @Scheduled(cron = "0 30 4 * * *", zone = "Asia/Seoul")
+    public void purgeExpired() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now(KST);
+        expiresAtByKey.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+        try {
+            int deleted = jdbcTemplate.update("DELETE FROM dart_empty_result WHERE expires_at < ?", Timestamp.valueOf(now));
+            log.info("[DART-EMPTY] 만료 마커 {}건 삭제", deleted);
+        } catch (Exception e) {
+            log.warn("[DART-EMPTY] 만료 마커 삭제 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 직전 사업연도까지는 사업보고서가 아직 제출 전일 수 있으므로 짧게
+     */
+    private Duration ttlOf(DartResponseCache.Key key) {
+        int currentYear = LocalDate.now(KST).getYear();
+        return Integer.parseInt(key.bsnsYear()) >= currentYear - 1 ? ttlRecent : ttlClosed;
+    }
+
+    /**
+     * 단일 회사 + 사업연도 조회만 대상 (다중회사 조회, 공시검색 제외)
+     */
+    private boolean isCacheable(DartResponseCache.Key key) {
+        return key.corpCode() != null && key.corpCode().indexOf(',') < 0
+                && key.bsnsYear() != null && !key.bsnsYear().isBlank();
+    }
+
+    private static String dashIfNull(String value) {
+        return value != null ? value : "-";
+    }
+
+    private static String nullIfDash(String value) {
+        return "-".equals(value) ? null : value;
+    }
+}
@@ -0,0 +1,167 @@
+package org.yhj.srim.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.yhj.srim.client.dto.DartFsResponse;
+import org.yhj.srim.client.dto.DartFsRow;
+import org.yhj.srim.common.exception.CustomException;
+import org.yhj.srim.common.exception.code.CrawlingErrorCode;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DART 재무제표(fnlttSinglAcntAll) 응답 스트리밍 파서
+ * - 트리(JsonNode)를 만들지 않고 토큰 단위로 한 번만 읽으면서 DartFsRow 생성
+ * - 원본 행 JSON(rawJson)은 아카이브 모드일 때만 생성 (dart.archive.raw-json)
+ */
+@Component
+public class DartFsResponseParser {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final boolean archiveRawJson;
+
+    public DartFsResponseParser(@Value("${dart.archive.raw-json:false}") boolean archiveRawJson) {
+        this.archiveRawJson = archiveRawJson;
+    }
+
+    public DartFsResponse parse(String json) {
+        String status = null;
+        String message = null;
+        List<DartFsRow> rows = new ArrayList<>();
+
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new CustomException(CrawlingErrorCode.JSON_PARSE_FAILED);
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+
+                if ("status".equals(field)) {
+                    status = parser.getValueAsString();
+                } else if ("message".equals(field)) {
+                    message = parser.getValueAsString();
+                } else if ("list".equals(field) && token == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        rows.add(archiveRawJson ? readRowWithRaw(parser) : readRow(parser, null));
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (CustomException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CustomException(CrawlingErrorCode.JSON_PARSE_FAILED);
+        }
+
+        return new DartFsResponse(status, message, rows);
+    }
+
+    private DartFsRow readRowWithRaw(JsonParser parser) throws IOException {
+        StringWriter writer = new StringWriter(512);
+        DartFsRow row;
+        try (JsonGenerator generator = jsonFactory.createGenerator(writer)) {
+            generator.writeStartObject();
+            row = readRow(parser, generator);
+            generator.writeEndObject();
+        }
+        row.setRawJson(writer.toString());
+        return row;
+    }
+
+    /**
+     * START_OBJECT 다음 토큰부터 END_OBJECT 까지 한 행 읽기
+     * @param generator null 이 아니면 읽은 필드를 그대로 복사 (원본 JSON 보관용)
+     */
+    private DartFsRow readRow(JsonParser parser, JsonGenerator generator) throws IOException {
+        DartFsRow row = new DartFsRow();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            if (generator != null) {
+                generator.copyCurrentEvent(parser);
+            }
+
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                // DART 행에는 중첩 구조가 없음. 혹시 있으면 보관만 하고 무시
+                if (generator != null) {
+                    generator.copyCurrentStructure(parser);
+                } else {
+                    parser.skipChildren();
+                }
+                continue;
+            }
+            if (generator != null) {
+                generator.copyCurrentEvent(parser);
+            }
+
+            String value = token == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+
+            switch (field) {
+                case "rcept_no" -> row.setRceptNo(value);
+                case "reprt_code" -> row.setReprtCode(value);
+                case "bsns_year" -> row.setBsnsYear(toInt(value));
+                case "fs_div" -> row.setFsDiv(value);
+                case "rcept_dt" -> row.setRceptDt(value);
+                case "sj_div" -> row.setSjDiv(value);
+                case "sj_nm" -> row.setSjNm(value);
+                case "account_id" -> row.setAccountId(value);
+                case "account_nm" -> row.setAccountNm(value);
+                case "account_detail" -> row.setAccountDetail(value);
+                case "ord" -> row.setOrd(toInteger(value));
+                case "thstrm_nm" -> row.setThstrmNm(value);
+                case "thstrm_amount" -> row.setThstrmAmount(toAmount(value));
+                case "thstrm_add_amount" -> row.setThstrmAddAmount(toAmount(value));
+                case "frmtrm_nm" -> row.setFrmtrmNm(value);
+                case "frmtrm_amount" -> row.setFrmtrmAmount(toAmount(value));
+                case "bfefrmtrm_nm" -> row.setBfefrmtrmNm(value);
+                case "bfefrmtrm_amount" -> row.setBfefrmtrmAmount(toAmount(value));
+                case "currency" -> row.setCurrency(value);
+                default -> {
+                    // 사용하지 않는 필드 (corp_code, frmtrm_q_nm 등)
+                }
+            }
+        }
+        return row;
+    }
+
+    private int toInt(String value) {
+        Integer v = toInteger(value);
+        return v != null ? v : 0;
+    }
+
+    private Integer toInteger(String value) {
+        if (value == null || value.isBlank()) return null;
+        return Integer.valueOf(value.trim());
+    }
+
+    /**
+     * "1,234,567" / "-1234" / "-" / "" 형태의 금액 문자열 파싱
+     * 쉼표가 있을 때만 새 문자열을 만든다.
+     */
+    static BigDecimal toAmount(String value) {
+        if (value == null) return null;
+        String text = value.trim();
+        if (text.isEmpty() || "-".equals(text)) return null;
+        if (text.indexOf(',') >= 0) {
+            StringBuilder sb = new StringBuilder(text.length());
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c != ',') sb.append(c);
+            }
+            text = sb.toString();
+        }
+        return new BigDecimal(text);
+    }
+}
@@ -0,0 +1,109 @@
+package org.yhj.srim.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.yhj.srim.client.dto.DartMultiAccountRow;
+import org.yhj.srim.common.exception.CustomException;
+import org.yhj.srim.common.exception.code.CrawlingErrorCode;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DART 다중회사 주요계정 Client
+ * - 한 번의 호출로 최대 100개 회사의 주요계정(매출액, 영업이익, 당기순이익, 자산/부채/자본총계 등) 조회
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DartMultiAccountClient {
+
+    public static final int MAX_CORP_CODES_PER_CALL = 100;
+
+    private static final String DART_MULTI_ACCOUNT_ENDPOINT = "fnlttMultiAcnt.json";
+
+    private final DartApiExecutor dartApiExecutor;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * 사업보고서 기준 다중회사 주요계정 조회
+     * @param corpCodes : dart 코드 (최대 100개)
+     * @param year : 조사 연도
+     */
+    public List<DartMultiAccountRow> fetchAnnualKeyAccounts(List<String> corpCodes, int year) {
+        if (corpCodes.isEmpty()) {
+            return List.of();
+        }
+        if (corpCodes.size() > MAX_CORP_CODES_PER_CALL) {
+            throw new IllegalArgumentException("corp_code 는 한 번에 최대 " + MAX_CORP_CODES_PER_CALL + "개까지 조회 가능합니다.");
+        }
+
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("corp_code", String.join(",", corpCodes));
+        params.put("bsns_year", String.valueOf(year));
+        params.put("reprt_code", "11011");
+
+        return parseResponse(dartApiExecutor.get(DART_MULTI_ACCOUNT_ENDPOINT, params));
+    }
+
+    private List<DartMultiAccountRow> parseResponse(String json) {
+        List<DartMultiAccountRow> result = new ArrayList<>();
+        try {
+            JsonNode root = objectMapper.readTree(json);
+            String status = root.path("status").asText();
+            if (!"000".equals(status)) {
+                log.debug("DART 다중회사 주요계정 조회 결과 없음 status={}, message={}",
+                        status, root.path("message").asText());
+                return result;
+            }
+
+            for (JsonNode node : root.path("list")) {
+                DartMultiAccountRow row = new DartMultiAccountRow();
+                row.setRceptNo(getText(node, "rcept_no"));
+                row.setBsnsYear(getInteger(node, "bsns_year"));
+                row.setCorpCode(getText(node, "corp_code"));
+                row.setStockCode(getText(node, "stock_code"));
+                row.setReprtCode(getText(node, "reprt_code"));
+                row.setFsDiv(getText(node, "fs_div"));
+                row.setSjDiv(getText(node, "sj_div"));
+                row.setAccountNm(getText(node, "account_nm"));
+                row.setOrd(getInteger(node, "ord"));
+                row.setThstrmAmount(getBigDecimal(node, "thstrm_amount"));
+                row.setFrmtrmAmount(getBigDecimal(node, "frmtrm_amount"));
+                row.setBfefrmtrmAmount(getBigDecimal(node, "bfefrmtrm_amount"));
+                row.setCurrency(getText(node, "currency"));
+                result.add(row);
+            }
+        } catch (Exception e) {
+            log.error("DART 다중회사 주요계정 응답 파싱 실패", e);
+            throw new CustomException(CrawlingErrorCode.JSON_PARSE_FAILED);
+        }
+        return result;
+    }
+
+    private String getText(JsonNode node, String field) {
+        JsonNode v = node.get(field);
+        return (v == null || v.isNull()) ? null : v.asText();
+    }
+
+    private Integer getInteger(JsonNode node, String field) {
+        JsonNode v = node.get(field);
+        if (v == null || v.isNull() || v.asText().isBlank()) return null;
+        return v.asInt();
+    }
+
+    private BigDecimal getBigDecimal(JsonNode node, String field) {
+        JsonNode v = node.get(field);
+        if (v == null || v.isNull()) return null;
+        String text = v.asText().replaceAll(",", "").trim();
+        if (text.isEmpty() || "-".equals(text)) return null;
+        return new BigDecimal(text);
+    }
+}
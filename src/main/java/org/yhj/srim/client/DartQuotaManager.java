@@ -0,0 +1,257 @@
+package org.yhj.srim.client;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.yhj.srim.client.dto.DartQuotaStatus;
+import org.yhj.srim.common.exception.CustomException;
+import org.yhj.srim.common.exception.code.CrawlingErrorCode;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * DART API 일일 호출 한도 관리자
+ * - 일별 호출 건수를 dart_api_quota 에 주기적으로 저장 (재시작해도 오늘 사용량 유지)
+ * - 응답 status 020(요청 제한 초과) 이면 전역 지수 백오프 (지수는 요청 1건 기준 020 횟수)
+ *   한 요청이 백오프를 모두 거치고도 max-retries 회 넘게 020 이면 오늘 한도 소진으로 간주
+ *   (여러 워커의 020 을 합산하지 않으므로 일시적인 제한 몰림으로 하루를 날리지 않음)
+ * - 한도 소진 시 모든 호출은 {@link CrawlingErrorCode#DART_DAILY_LIMIT_EXCEEDED},
+ *   대량 작업 워커는 {@link #awaitReset()} 으로 한국시간 자정 초기화까지 멈췄다가 이어서 진행
+ */
+@Component
+@Slf4j
+public class DartQuotaManager {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final String STATUS_LIMIT_EXCEEDED = "020";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long dailyLimit;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final int maxRetries;
+    private final Duration resetMargin;
+
+    private LocalDate today;
+    private long usedToday;
+    private long persistedCount = -1;
+    private boolean exhausted;
+    private boolean persistedExhausted;
+    private Instant backoffUntil = Instant.EPOCH;
+
+    public DartQuotaManager(JdbcTemplate jdbcTemplate,
+                            @Value("${dart.api.rate.per-day:20000}") long dailyLimit,
+                            @Value("${dart.quota.backoff-initial:PT2S}") Duration initialBackoff,
+                            @Value("${dart.quota.backoff-max:PT2M}") Duration maxBackoff,
+                            @Value("${dart.quota.max-retries:5}") int maxRetries,
+                            @Value("${dart.quota.reset-margin:PT1M}") Duration resetMargin) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dailyLimit = dailyLimit;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.maxRetries = maxRetries;
+        this.resetMargin = resetMargin;
+        this.today = LocalDate.now(KST);
+    }
+
+    /**
+     * 오늘 사용량 복원
+     */
+    @PostConstruct
+    void load() {
+        try {
+            List<Object[]> rows = jdbcTemplate.query(
+                    "SELECT request_count, exhausted FROM dart_api_quota WHERE quota_date = ?",
+                    (rs, i) -> new Object[]{rs.getLong(1), rs.getBoolean(2)}, today);
+            synchronized (this) {
+                if (!rows.isEmpty()) {
+                    usedToday = (Long) rows.get(0)[0];
+                    exhausted = (Boolean) rows.get(0)[1];
+                }
+                persistedCount = usedToday;
+                persistedExhausted = exhausted;
+            }
+            log.info("[DART-QUOTA] {} 사용량 복원 - used={}, limit={}, exhausted={}", today, usedToday, dailyLimit, exhausted);
+        } catch (Exception e) {
+            log.warn("[DART-QUOTA] 사용량 복원 실패 (0부터 시작): {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 호출 1건 예약. 한도 소진이면 예외, 020 백오프 중이면 재개 시각까지 대기
+     */
+    public void reserve() {
+        Instant resumeAt;
+        synchronized (this) {
+            rollDayIfNeeded();
+            if (exhausted || usedToday >= dailyLimit) {
+                exhausted = true;
+                throw new CustomException(CrawlingErrorCode.DART_DAILY_LIMIT_EXCEEDED);
+            }
+            usedToday++;
+            resumeAt = backoffUntil;
+        }
+
+        long waitMillis = Duration.between(Instant.now(), resumeAt).toMillis();
+        if (waitMillis > 0) {
+            sleep(waitMillis);
+        }
+    }
+
+    /**
+     * 응답 status 반영
+     * @param limitResponses : 이 요청이 지금까지 받은 020 횟수 (이번 응답 포함, 호출자가 요청 단위로 셈)
+     * @return true 면 백오프 후 같은 요청을 다시 보내야 함 (020)
+     */
+    public boolean onResponse(String status, int limitResponses) {
+        if (!STATUS_LIMIT_EXCEEDED.equals(status)) {
+            return false;
+        }
+        synchronized (this) {
+            if (limitResponses > maxRetries) {
+                log.warn("[DART-QUOTA] 한 요청이 020 {}회 - 오늘 한도 소진으로 처리 (used={})", limitResponses, usedToday);
+                exhausted = true;
+                return false;
+            }
+
+            long backoffMillis = Math.min(maxBackoff.toMillis(),
+                    initialBackoff.toMillis() << Math.min(limitResponses - 1, 20));
+            Instant until = Instant.now().plusMillis(backoffMillis);
+            if (until.isAfter(backoffUntil)) {
+                backoffUntil = until;
+            }
+            log.warn("[DART-QUOTA] 020 응답 - {}ms 동안 전체 호출 보류 (요청당 {}회째)", backoffMillis, limitResponses);
+            return true;
+        }
+    }
+
+    /**
+     * 한도 소진 상태면 다음 초기화 시각까지 대기 (대량 작업 워커용)
+     */
+    public void awaitReset() {
+        LocalDateTime resetAt;
+        synchronized (this) {
+            rollDayIfNeeded();
+            if (!exhausted && usedToday < dailyLimit) {
+                return;
+            }
+            resetAt = nextResetAt();
+        }
+        long waitMillis = Duration.between(LocalDateTime.now(KST), resetAt.plus(resetMargin)).toMillis();
+        log.info("[DART-QUOTA] 한도 소진 - {} 까지 대기 ({}분)", resetAt, waitMillis / 60_000);
+        if (waitMillis > 0) {
+            sleep(waitMillis);
+        }
+    }
+
+    public synchronized long getRemainingToday() {
+        rollDayIfNeeded();
+        return exhausted ? 0 : Math.max(0, dailyLimit - usedToday);
+    }
+
+    public synchronized boolean isExhausted() {
+        rollDayIfNeeded();
+        return exhausted || usedToday >= dailyLimit;
+    }
+
+    public synchronized DartQuotaStatus getStatus() {
+        rollDayIfNeeded();
+        Instant now = Instant.now();
+        return DartQuotaStatus.builder()
+                .quotaDate(today)
+                .dailyLimit(dailyLimit)
+                .used(usedToday)
+                .remaining(exhausted ? 0 : Math.max(0, dailyLimit - usedToday))
+                .exhausted(exhausted || usedToday >= dailyLimit)
+                .backoffUntil(backoffUntil.isAfter(now) ? LocalDateTime.ofInstant(backoffUntil, KST) : null)
+                .resetAt(nextResetAt())
+                .build();
+    }
+
+    /**
+     * 사용량 저장 (변경분이 있을 때만)
+     */
+    @Scheduled(fixedDelayString = "${dart.quota.flush-interval:PT10S}")
+    public void flush() {
+        LocalDate date;
+        long count;
+        boolean exhaustedNow;
+        synchronized (this) {
+            rollDayIfNeeded();
+            if (usedToday == persistedCount && exhausted == persistedExhausted) {
+                return;
+            }
+            date = today;
+            count = usedToday;
+            exhaustedNow = exhausted;
+        }
+
+        if (persist(date, count, exhaustedNow)) {
+            synchronized (this) {
+                if (date.equals(today)) {
+                    persistedCount = count;
+                    persistedExhausted = exhaustedNow;
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    private boolean persist(LocalDate date, long count, boolean exhaustedNow) {
+        try {
+            // 여러 인스턴스가 같은 키를 쓰는 경우에도 사용량이 줄어들지 않도록 GREATEST
+            jdbcTemplate.update("""
+                INSERT INTO dart_api_quota (quota_date, request_count, exhausted)
+                VALUES (?, ?, ?)
+                ON DUPLICATE KEY UPDATE
+                    request_count = GREATEST(request_count, VALUES(request_count)),
+                    exhausted = VALUES(exhausted)
+            """, date, count, exhaustedNow);
+            return true;
+        } catch (Exception e) {
+            log.warn("[DART-QUOTA] 사용량 저장 실패: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private LocalDateTime nextResetAt() {
+        return today.plusDays(1).atStartOfDay();
+    }
+
+    private void rollDayIfNeeded() {
+        LocalDate now = LocalDate.now(KST);
+        if (!now.equals(today)) {
+            log.info("[DART-QUOTA] 일일 한도 초기화 - {} 사용량={}, exhausted={}", today, usedToday, exhausted);
+            if (usedToday != persistedCount || exhausted != persistedExhausted) {
+                persist(today, usedToday, exhausted);
+            }
+            today = now;
+            usedToday = 0;
+            exhausted = false;
+            persistedCount = -1;
+            persistedExhausted = false;
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CustomException(CrawlingErrorCode.CRAWLING_INTERRUPTED);
+        }
+    }
+}
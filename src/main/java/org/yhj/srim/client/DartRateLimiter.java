@@ -0,0 +1,77 @@
+package org.yhj.srim.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.yhj.srim.common.exception.CustomException;
+import org.yhj.srim.common.exception.code.CrawlingErrorCode;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DART API 호출 속도 제한기 (프로세스 전역 토큰 버킷)
+ * - 분당 한도: 토큰 버킷 (burst 만큼 순간 허용, 이후 분당 한도 속도로 충전)
+ * - 일일 한도/020 백오프: {@link DartQuotaManager} 에 위임
+ * DART 를 호출하는 모든 스레드는 요청 직전에 {@link #acquire()} 를 호출한다.
+ */
+@Component
+public class DartRateLimiter {
+
+    private final DartQuotaManager dartQuotaManager;
+    private final double capacity;
+    private final double nanosPerPermit;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    public DartRateLimiter(DartQuotaManager dartQuotaManager,
+                           @Value("${dart.api.rate.per-minute:600}") int permitsPerMinute,
+                           @Value("${dart.api.rate.burst:60}") int burst) {
+        this.dartQuotaManager = dartQuotaManager;
+        this.capacity = Math.max(1, burst);
+        this.nanosPerPermit = (double) TimeUnit.MINUTES.toNanos(1) / Math.max(1, permitsPerMinute);
+        this.tokens = this.capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * 토큰 1개 획득. 토큰이 없으면 다음 토큰이 충전될 때까지 대기한다.
+     * 일일 한도를 이미 소진한 경우 대기하지 않고 예외를 던진다.
+     */
+    public void acquire() {
+        dartQuotaManager.reserve();
+
+        long waitNanos;
+        synchronized (this) {
+            refill();
+
+            // 토큰을 미리 예약(음수 허용)하고, 부족분만큼은 락 밖에서 대기
+            tokens -= 1;
+            waitNanos = tokens >= 0 ? 0 : (long) (-tokens * nanosPerPermit);
+        }
+
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CustomException(CrawlingErrorCode.CRAWLING_INTERRUPTED);
+            }
+        }
+    }
+
+    /**
+     * 오늘 남은 호출 가능 건수
+     */
+    public long getRemainingToday() {
+        return dartQuotaManager.getRemainingToday();
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        double refilled = (now - lastRefillNanos) / nanosPerPermit;
+        if (refilled > 0) {
+            tokens = Math.min(capacity, tokens + refilled);
+            lastRefillNanos = now;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package org.yhj.srim.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * DART 응답 로컬 디스크 캐시 (gzip 압축)
+ * - 키: (endpoint, corp_code, bsns_year, reprt_code, fs_div) 의 SHA-256 -> {dir}/{앞 2자리}/{해시}.json.gz
+ * - 파일 첫 줄은 헤더(키, 저장시각, status), 이후 응답 본문
+ * - 저장 대상: 정상(000) 응답만 (오류 응답은 저장하지 않고, 예전에 저장된 것도 무시)
+ *   데이터 없음(013)은 만료·무효화가 있는 DartEmptyResultCache 마커가 담당 (여기 두면 새 공시 후에도 TTL 동안 013 이 남음)
+ * - 만료: 기본 TTL, 단 정상(000) 응답이면서 2년 이상 지난 사업연도는 확정 공시로 보고 만료 없음
+ * - 모드: OFF(미사용) / READ_WRITE(캐시 우선, 없으면 호출 후 저장) / REPLAY(캐시만 사용, 네트워크 호출 없음)
+ */
+@Component
+@Slf4j
+public class DartResponseCache {
+
+    public enum Mode { OFF, READ_WRITE, REPLAY }
+
+    public record Key(String endpoint, String corpCode, String bsnsYear, String reprtCode, String fsDiv) {
+        String canonical() {
+            return String.join("|", endpoint, nvl(corpCode), nvl(bsnsYear), nvl(reprtCode), nvl(fsDiv));
+        }
+
+        private static String nvl(String s) {
+            return s != null ? s : "-";
+        }
+    }
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    // 000 정상만 - 013 은 DartEmptyResultCache, 그 외(010 키 오류, 020 한도, 100 파라미터, 800 점검, 900 기타)는 데이터가 아님
+    private static final Set<String> CACHEABLE_STATUSES = Set.of("000");
+
+    private final Mode mode;
+    private final Path dir;
+    private final Duration ttl;
+
+    public DartResponseCache(@Value("${dart.cache.mode:OFF}") Mode mode,
+                             @Value("${dart.cache.dir:${user.home}/.srim/dart-cache}") String dir,
+                             @Value("${dart.cache.ttl:P7D}") Duration ttl) {
+        this.mode = mode;
+        this.dir = Paths.get(dir);
+        this.ttl = ttl;
+        if (mode != Mode.OFF) {
+            log.info("[DART-CACHE] mode={}, dir={}, ttl={}", mode, this.dir, ttl);
+        }
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public boolean isReplay() {
+        return mode == Mode.REPLAY;
+    }
+
+    /**
+     * 캐시 조회. REPLAY 모드에서는 만료 여부와 관계없이 저장된 응답을 사용한다.
+     */
+    public Optional<String> get(Key key) {
+        if (mode == Mode.OFF) {
+            return Optional.empty();
+        }
+
+        Path file = pathOf(key);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            String[] header = reader.readLine().split("\t");
+            Instant storedAt = Instant.ofEpochMilli(Long.parseLong(header[1]));
+            String status = header[2];
+
+            if (!isCacheable(status)) {
+                log.debug("[DART-CACHE] 오류 응답 무시 key={}, status={}", key.canonical(), status);
+                return Optional.empty();
+            }
+            if (mode != Mode.REPLAY && isExpired(key, status, storedAt)) {
+                log.debug("[DART-CACHE] 만료 key={}", key.canonical());
+                return Optional.empty();
+            }
+
+            StringBuilder body = new StringBuilder();
+            char[] buf = new char[8192];
+            int n;
+            while ((n = reader.read(buf)) != -1) {
+                body.append(buf, 0, n);
+            }
+            return Optional.of(body.toString());
+        } catch (Exception e) {
+            log.warn("[DART-CACHE] 읽기 실패 key={}, file={}: {}", key.canonical(), file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 응답 저장 (임시 파일에 쓴 뒤 원자적 이동), 정상 응답만
+     */
+    public void put(Key key, String status, String body) {
+        if (mode != Mode.READ_WRITE || body == null || !isCacheable(status)) {
+            return;
+        }
+
+        Path file = pathOf(key);
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = Files.createTempFile(file.getParent(), "dart", ".tmp");
+            try (Writer writer = new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(tmp)), StandardCharsets.UTF_8)) {
+                writer.write(key.canonical());
+                writer.write('\t');
+                writer.write(Long.toString(System.currentTimeMillis()));
+                writer.write('\t');
+                writer.write(status != null ? status : "");
+                writer.write('\n');
+                writer.write(body);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("[DART-CACHE] 저장 실패 key={}: {}", key.canonical(), e.getMessage());
+        }
+    }
+
+    private static boolean isCacheable(String status) {
+        return status != null && CACHEABLE_STATUSES.contains(status);
+    }
+
+    /**
+     * 정상 응답이고 사업연도가 2년 이상 지났으면(사업보고서 제출 완료) 만료 없음
+     */
+    private boolean isExpired(Key key, String status, Instant storedAt) {
+        if ("000".equals(status) && key.bsnsYear() != null) {
+            int currentYear = LocalDate.now(KST).getYear();
+            if (Integer.parseInt(key.bsnsYear()) <= currentYear - 2) {
+                return false;
+            }
+        }
+        return storedAt.plus(ttl).isBefore(Instant.now());
+    }
+
+    private Path pathOf(Key key) {
+        String hash = sha256(key.canonical());
+        return dir.resolve(hash.substring(0, 2)).resolve(hash + ".json.gz");
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
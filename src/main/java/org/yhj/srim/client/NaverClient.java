@@ -1,21 +1,19 @@
 package org.yhj.srim.client;
 
 import lombok.RequiredArgsConstructor;
-import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
-import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 import org.springframework.stereotype.Component;
 import org.yhj.srim.client.dto.DaliyPrice;
 
-import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Component
@@ -26,6 +24,12 @@ public class NaverClient {
             "https://finance.naver.com/item/sise_day.naver?code=%s&page=%d";
 
 
+    private static final Map<String, String> HEADERS = Map.of(
+            "User-Agent", "Mozilla/5.0",
+            "Referer", "https://finance.naver.com");
+
+    private final OutboundHttpClient outboundHttpClient;
+
     private static final DateTimeFormatter NAVER_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy.MM.dd");
 
     /**
@@ -47,10 +51,7 @@ public class NaverClient {
             try{
                 log.debug("네이버 일별 시세 요청 : url = {}", url);
 
-                Document doc = Jsoup.connect(url)
-                        .userAgent("Mozilla/5.0")
-                        .referrer("https://finance.naver.com")
-                        .get();
+                Document doc = outboundHttpClient.getDocument(url, HEADERS);
 
                 Elements rows = doc.select("table.type2 tr");
                 boolean hasDataInPage = false;
@@ -0,0 +1,232 @@
+package org.yhj.srim.client;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.yhj.srim.client.dto.OutboundResponse;
+import org.yhj.srim.common.exception.CustomException;
+import org.yhj.srim.common.exception.code.CrawlingErrorCode;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 외부 사이트(DART, KRX, 네이버, 한국신용평가) 공통 HTTP 클라이언트
+ * - JDK HttpClient 하나를 애플리케이션 전체에서 공유 (HTTP/2 우선, HTTP/1.1 keep-alive 커넥션 재사용)
+ * - 요청마다 Accept-Encoding: gzip, 응답은 여기서 해제해서 돌려준다
+ * - 호스트별 동시 요청 수 제한 (app.http.max-connections-per-host)
+ * - 블로킹 {@link #get}, 비동기 {@link #getAsync} / {@link #getMono} 제공
+ */
+@Component
+@Slf4j
+public class OutboundHttpClient {
+
+    private final HttpClient httpClient;
+    private final ExecutorService executor;
+    private final Duration readTimeout;
+    private final int maxConnectionsPerHost;
+    private final String userAgent;
+
+    private final ConcurrentMap<String, HostPermits> hostPermits = new ConcurrentHashMap<>();
+
+    public OutboundHttpClient(@Value("${app.http.connect-timeout:PT5S}") Duration connectTimeout,
+                              @Value("${app.http.read-timeout:PT30S}") Duration readTimeout,
+                              @Value("${app.http.max-connections-per-host:8}") int maxConnectionsPerHost,
+                              @Value("${app.crawl.userAgent:Mozilla/5.0}") String userAgent) {
+        this.readTimeout = readTimeout;
+        this.maxConnectionsPerHost = Math.max(1, maxConnectionsPerHost);
+        this.userAgent = userAgent;
+
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "outbound-http-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(executor)
+                .build();
+
+        log.info("[HTTP] connectTimeout={}, readTimeout={}, maxConnectionsPerHost={}",
+                connectTimeout, readTimeout, this.maxConnectionsPerHost);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 블로킹 GET. 2xx 가 아니면 예외
+     * @param url : 전체 URL (쿼리 포함)
+     * @param headers : 추가 요청 헤더 (User-Agent 를 넣으면 기본값 대신 사용)
+     */
+    public OutboundResponse get(String url, Map<String, String> headers) {
+        HttpRequest request = buildRequest(url, headers);
+        HostPermits permits = permitsOf(request.uri());
+
+        CompletableFuture<Void> permit = permits.acquire();
+        try {
+            permit.get();
+        } catch (InterruptedException e) {
+            // 대기 중 인터럽트: 이미 허가를 넘겨받았으면 반납
+            if (!permit.cancel(false)) {
+                permits.release();
+            }
+            Thread.currentThread().interrupt();
+            throw new CustomException(CrawlingErrorCode.CRAWLING_INTERRUPTED);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+
+        try {
+            return toResponse(url, httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CustomException(CrawlingErrorCode.CRAWLING_INTERRUPTED);
+        } catch (IOException e) {
+            log.warn("[HTTP] 요청 실패 url={}: {}", url, e.toString());
+            throw new CustomException(CrawlingErrorCode.OUTBOUND_REQUEST_FAILED);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * 비동기 GET. 호스트 한도가 찼으면 호출 스레드를 막지 않고 대기열에 넣는다.
+     */
+    public CompletableFuture<OutboundResponse> getAsync(String url, Map<String, String> headers) {
+        HttpRequest request = buildRequest(url, headers);
+        HostPermits permits = permitsOf(request.uri());
+
+        return permits.acquire()
+                .thenCompose(ignored -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream()))
+                .thenApply(response -> toResponse(url, response))
+                .whenComplete((response, error) -> permits.release())
+                .exceptionally(error -> {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    if (cause instanceof CustomException ce) {
+                        throw ce;
+                    }
+                    log.warn("[HTTP] 비동기 요청 실패 url={}: {}", url, cause.toString());
+                    throw new CustomException(CrawlingErrorCode.OUTBOUND_REQUEST_FAILED);
+                });
+    }
+
+    /**
+     * Reactor 용 GET (구독 시점에 요청)
+     */
+    public Mono<OutboundResponse> getMono(String url, Map<String, String> headers) {
+        return Mono.fromFuture(() -> getAsync(url, headers));
+    }
+
+    /**
+     * HTML 페이지 GET 후 Jsoup 파싱
+     * Content-Type 에 charset 이 없으면 Jsoup 이 meta 태그로 판별한다 (EUC-KR 페이지 대응).
+     */
+    public Document getDocument(String url, Map<String, String> headers) {
+        OutboundResponse response = get(url, headers);
+        try {
+            return Jsoup.parse(new ByteArrayInputStream(response.body()), response.charsetName(), url);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private HttpRequest buildRequest(String url, Map<String, String> headers) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(readTimeout)
+                .header("Accept-Encoding", "gzip")
+                .GET();
+        if (!headers.containsKey("User-Agent")) {
+            builder.header("User-Agent", userAgent);
+        }
+        headers.forEach(builder::header);
+        return builder.build();
+    }
+
+    private OutboundResponse toResponse(String url, HttpResponse<InputStream> response) {
+        String encoding = response.headers().firstValue("Content-Encoding").orElse("");
+        byte[] body;
+        try (InputStream in = "gzip".equalsIgnoreCase(encoding)
+                ? new GZIPInputStream(response.body()) : response.body()) {
+            body = in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        OutboundResponse result = new OutboundResponse(response.statusCode(),
+                response.headers().firstValue("Content-Type").orElse(null), body);
+        if (!result.isSuccess()) {
+            log.warn("[HTTP] 비정상 응답 status={}, url={}", response.statusCode(), url);
+            throw new CustomException(CrawlingErrorCode.OUTBOUND_REQUEST_FAILED);
+        }
+        return result;
+    }
+
+    private HostPermits permitsOf(URI uri) {
+        return hostPermits.computeIfAbsent(uri.getHost(), host -> new HostPermits(maxConnectionsPerHost));
+    }
+
+    /**
+     * 호스트별 동시 요청 허가. 허가가 없으면 미완료 future 를 대기열에 넣고 release 시 순서대로 넘겨준다.
+     */
+    private static final class HostPermits {
+
+        private final Queue<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+        private int available;
+
+        HostPermits(int permits) {
+            this.available = permits;
+        }
+
+        synchronized CompletableFuture<Void> acquire() {
+            if (available > 0) {
+                available--;
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> waiter = new CompletableFuture<>();
+            waiters.add(waiter);
+            return waiter;
+        }
+
+        void release() {
+            while (true) {
+                CompletableFuture<Void> next;
+                synchronized (this) {
+                    next = waiters.poll();
+                    if (next == null) {
+                        available++;
+                        return;
+                    }
+                }
+                // 허가를 그대로 다음 대기자에게 넘김 (락 밖에서 완료시켜 후속 작업이 락을 잡지 않도록)
+                // 취소된 대기자면 다음 대기자에게
+                if (next.complete(null)) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.yhj.srim.client.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * DART 공시검색(list.json) 응답 한 행
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+public class DartDisclosure {
+
+    // "사업보고서 (2023.12)", "[기재정정]분기보고서 (2024.03)" 의 결산기
+    private static final Pattern PERIOD_PATTERN = Pattern.compile("\\((\\d{4})\\.(\\d{2})\\)");
+
+    private String corpCode;        // DART corp_code
+    private String corpName;        // 법인명
+    private String corpCls;         // 법인구분 (Y:유가, K:코스닥, N:코넥스, E:기타)
+    private String stockCode;       // 종목코드(6자리)
+    private String reportNm;        // 보고서명
+    private String rceptNo;         // 접수번호 (YYYYMMDD + 일련번호)
+    private String rceptDt;         // 접수일자 (YYYYMMDD)
+
+    /**
+     * 보고서명의 결산기 연도 (없으면 null)
+     */
+    public Integer periodYear() {
+        if (reportNm == null) {
+            return null;
+        }
+        Matcher m = PERIOD_PATTERN.matcher(reportNm);
+        return m.find() ? Integer.valueOf(m.group(1)) : null;
+    }
+}
@@ -0,0 +1,25 @@
+package org.yhj.srim.client.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * DART 공시검색(list.json) 응답 한 페이지
+ */
+@Getter
+@ToString(exclude = "items")
+@AllArgsConstructor
+public class DartDisclosurePage {
+
+    private final String status;
+    private final int pageNo;
+    private final int totalPage;
+    private final List<DartDisclosure> items;
+
+    public boolean hasNext() {
+        return pageNo < totalPage;
+    }
+}
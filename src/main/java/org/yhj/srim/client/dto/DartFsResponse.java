@@ -0,0 +1,25 @@
+package org.yhj.srim.client.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * DART 재무제표(fnlttSinglAcntAll) 응답 파싱 결과
+ * - status : 000(정상), 013(조회된 데이터 없음), 020(요청 제한 초과) 등
+ */
+@Getter
+@ToString(exclude = "rows")
+@AllArgsConstructor
+public class DartFsResponse {
+
+    private final String status;
+    private final String message;
+    private final List<DartFsRow> rows;
+
+    public boolean isOk() {
+        return "000".equals(status);
+    }
+}
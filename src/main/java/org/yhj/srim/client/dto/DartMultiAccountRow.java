@@ -0,0 +1,35 @@
+package org.yhj.srim.client.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+/**
+ * DART 다중회사 주요계정(fnlttMultiAcnt) 응답 한 행
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+public class DartMultiAccountRow {
+
+    private String rceptNo;         // 접수번호
+    private Integer bsnsYear;       // 사업연도
+    private String corpCode;        // DART corp_code
+    private String stockCode;       // 종목코드(6자리)
+    private String reprtCode;       // 보고서코드 (11011: 사업보고서)
+
+    private String fsDiv;           // CFS(연결) / OFS(개별)
+    private String sjDiv;           // BS / IS
+    private String accountNm;       // 계정명 (매출액, 영업이익, 자산총계 ...)
+    private Integer ord;
+
+    private BigDecimal thstrmAmount;    // 당기
+    private BigDecimal frmtrmAmount;    // 전기
+    private BigDecimal bfefrmtrmAmount; // 전전기
+
+    private String currency;
+}
@@ -0,0 +1,26 @@
+package org.yhj.srim.client.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * DART API 일일 호출 한도 현황 DTO
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class DartQuotaStatus {
+
+    private LocalDate quotaDate;         // 기준일(한국시간)
+    private long dailyLimit;             // 일일 한도
+    private long used;                   // 오늘 사용 건수
+    private long remaining;              // 오늘 남은 건수
+    private boolean exhausted;           // 한도 소진(020 반복 포함) 여부 - 초기화 전까지 호출 중지
+    private LocalDateTime backoffUntil;  // 020 응답 후 호출 재개 시각 (백오프 중이 아니면 null)
+    private LocalDateTime resetAt;       // 다음 초기화 시각
+}
@@ -0,0 +1,43 @@
+package org.yhj.srim.client.dto;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * 외부 HTTP 호출 응답 (gzip 해제된 본문)
+ * @param statusCode : HTTP 상태 코드
+ * @param contentType : Content-Type 헤더 (없으면 null)
+ * @param body : 응답 본문 바이트
+ */
+public record OutboundResponse(int statusCode, String contentType, byte[] body) {
+
+    public boolean isSuccess() {
+        return statusCode >= 200 && statusCode < 300;
+    }
+
+    /**
+     * Content-Type 의 charset 파라미터 (없거나 알 수 없는 값이면 null)
+     */
+    public String charsetName() {
+        if (contentType == null) {
+            return null;
+        }
+        for (String part : contentType.split(";")) {
+            String p = part.trim();
+            if (p.toLowerCase(Locale.ROOT).startsWith("charset=")) {
+                String name = p.substring("charset=".length()).replace("\"", "").trim();
+                return Charset.isSupported(name) ? name : null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 본문 문자열 (charset 이 없으면 UTF-8)
+     */
+    public String bodyAsString() {
+        String charset = charsetName();
+        return new String(body, charset != null ? Charset.forName(charset) : StandardCharsets.UTF_8);
+    }
+}
@@ -7,7 +7,12 @@ import org.springframework.http.HttpStatus;
 public enum CrawlingErrorCode implements ErrorCode{
 
     KRX_REQUEST_FAILED(HttpStatus.BAD_GATEWAY, "CRW-001", "DART 서버 요청에 실패했습니다."),
-    JSON_PARSE_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "CRW-002", "크롤링 응답 JSON 파싱에 실패하였습니다.")
+    JSON_PARSE_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "CRW-002", "크롤링 응답 JSON 파싱에 실패하였습니다."),
+    DART_DAILY_LIMIT_EXCEEDED(HttpStatus.TOO_MANY_REQUESTS, "CRW-003", "DART API 일일 호출 한도를 초과하였습니다."),
+    CRAWLING_INTERRUPTED(HttpStatus.SERVICE_UNAVAILABLE, "CRW-004", "크롤링 작업이 중단되었습니다."),
+    OUTBOUND_REQUEST_FAILED(HttpStatus.BAD_GATEWAY, "CRW-005", "외부 서버 요청에 실패했습니다."),
+    RAW_ARCHIVE_NOT_FOUND(HttpStatus.NOT_FOUND, "CRW-006", "보관된 원본 JSON 이 없습니다."),
+    JOB_NOT_FOUND(HttpStatus.NOT_FOUND, "CRW-007", "수집 작업을 찾을 수 없습니다.")
     ;
 
     private final HttpStatus httpStatus;
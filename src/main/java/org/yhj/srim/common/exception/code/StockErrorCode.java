@@ -8,7 +8,8 @@ public enum StockErrorCode implements ErrorCode{
 
     STOCK_NOT_FOUND(HttpStatus.NOT_FOUND, "STK-40401", "해당 종목을 찾을 수 없습니다."),
     DART_CODE_NOT_FOUND(HttpStatus.NOT_FOUND, "STK-40402", "해당 종목의 유효한 DART corp_code가 없습니다."),
-    COMPANY_NOT_FOUND(HttpStatus.NOT_FOUND, "STK-40403", "회사 정보 조회 중 오류가 발생하였습니다.")
+    COMPANY_NOT_FOUND(HttpStatus.NOT_FOUND, "STK-40403", "회사 정보 조회 중 오류가 발생하였습니다."),
+    INVALID_SEARCH_CURSOR(HttpStatus.BAD_REQUEST, "STK-40001", "잘못된 검색 커서입니다.")
     ;
 
     private final HttpStatus httpStatus;
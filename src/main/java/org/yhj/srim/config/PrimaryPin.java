@@ -0,0 +1,36 @@
+package org.yhj.srim.config;
+
+import java.time.Duration;
+
+/**
+ * 쓰기 직후 읽기를 PRIMARY 로 고정하는 스레드 단위 표시
+ * - 쓰기 트랜잭션 커밋 시 pin-after-write 동안 고정 (예: 신규 회사 첫 조회에서 크롤링 저장 직후 읽기)
+ * - 웹 요청은 PrimaryPinFilter 가 요청 시작/종료 시 지워서 다른 요청으로 새지 않게 한다.
+ */
+public final class PrimaryPin {
+
+    private static final ThreadLocal<Long> PINNED_UNTIL = new ThreadLocal<>();
+
+    private PrimaryPin() {
+    }
+
+    public static void pin(Duration duration) {
+        PINNED_UNTIL.set(System.currentTimeMillis() + duration.toMillis());
+    }
+
+    public static boolean isPinned() {
+        Long until = PINNED_UNTIL.get();
+        if (until == null) {
+            return false;
+        }
+        if (until < System.currentTimeMillis()) {
+            PINNED_UNTIL.remove();
+            return false;
+        }
+        return true;
+    }
+
+    public static void clear() {
+        PINNED_UNTIL.remove();
+    }
+}
@@ -0,0 +1,30 @@
+package org.yhj.srim.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 요청 단위로 PRIMARY 고정 상태 초기화 (톰캣 워커 스레드 재사용 대비)
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+public class PrimaryPinFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        PrimaryPin.clear();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            PrimaryPin.clear();
+        }
+    }
+}
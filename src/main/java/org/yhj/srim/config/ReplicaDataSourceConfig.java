@@ -0,0 +1,75 @@
+package org.yhj.srim.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 읽기 전용 복제본(replica) DataSource 구성 (app.datasource.replica.enabled=true 일 때만)
+ * - primary : spring.datasource.* (+ spring.datasource.hikari.*)
+ * - replica : app.datasource.replica.* (+ app.datasource.replica.hikari.*)
+ * - 애플리케이션이 쓰는 DataSource 는 LazyConnectionDataSourceProxy(ReplicationRoutingDataSource)
+ * 비활성화 상태에서는 스프링 부트 기본 DataSource 그대로 사용.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+@Slf4j
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${app.datasource.replica.url}") String url,
+                                              @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                              @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 @Value("${app.datasource.replica.pin-after-write:PT5S}") Duration pinAfterWrite) {
+        ReplicationRoutingDataSource routing = new ReplicationRoutingDataSource(pinAfterWrite);
+        routing.setTargetDataSources(Map.of(
+                ReplicationRoutingDataSource.PRIMARY, primaryDataSource,
+                ReplicationRoutingDataSource.REPLICA, replicaDataSource));
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+
+        log.info("[DATASOURCE] replica 라우팅 활성화 - 쓰기 후 PRIMARY 고정 {}", pinAfterWrite);
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -0,0 +1,55 @@
+package org.yhj.srim.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * 읽기/쓰기 DataSource 라우팅
+ * - @Transactional(readOnly = true) 트랜잭션 → REPLICA
+ * - 그 외(쓰기 트랜잭션, 트랜잭션 밖 JDBC) → PRIMARY
+ * - 쓰기 트랜잭션이 커밋되면 {@link PrimaryPin} 으로 현재 요청(스레드)을 잠시 PRIMARY 에 고정 (복제 지연 대비)
+ * 트랜잭션 시작 시점에는 readOnly 플래그가 아직 없으므로 LazyConnectionDataSourceProxy 로 감싸서 사용한다.
+ */
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "PRIMARY";
+    public static final String REPLICA = "REPLICA";
+
+    // 트랜잭션당 한 번만 커밋 후 고정 콜백을 등록하기 위한 리소스 키
+    private static final Object WRITE_MARKER = new Object();
+
+    private final Duration pinAfterWrite;
+
+    public ReplicationRoutingDataSource(Duration pinAfterWrite) {
+        this.pinAfterWrite = pinAfterWrite;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PrimaryPin.isPinned() ? PRIMARY : REPLICA;
+        }
+        registerPinOnCommit();
+        return PRIMARY;
+    }
+
+    private void registerPinOnCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(WRITE_MARKER)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(WRITE_MARKER, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WRITE_MARKER);
+                if (status == STATUS_COMMITTED) {
+                    PrimaryPin.pin(pinAfterWrite);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,36 @@
+package org.yhj.srim.controller.api;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+import org.yhj.srim.controller.dto.ApiResponse;
+import org.yhj.srim.service.SecondLevelCacheService;
+import org.yhj.srim.service.dto.CacheRegionStatsDto;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/cache")
+@RequiredArgsConstructor
+@Slf4j
+public class CacheAdminApiController {
+
+    private final SecondLevelCacheService secondLevelCacheService;
+
+    /**
+     * 2차 캐시 영역별 hit/miss 통계 (영역 크기/TTL 조정용)
+     */
+    @GetMapping("/stats")
+    public ApiResponse<List<CacheRegionStatsDto>> stats() {
+        return ApiResponse.success(secondLevelCacheService.getStats());
+    }
+
+    /**
+     * 2차 캐시 전체 비우기 (DB 를 직접 고친 뒤 등)
+     */
+    @PostMapping("/evict")
+    public ApiResponse<Void> evictAll() {
+        secondLevelCacheService.evictAll();
+        return ApiResponse.success(null);
+    }
+}
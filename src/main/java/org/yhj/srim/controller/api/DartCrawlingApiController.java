@@ -0,0 +1,146 @@
+package org.yhj.srim.controller.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+import org.yhj.srim.client.DartQuotaManager;
+import org.yhj.srim.client.dto.DartQuotaStatus;
+import org.yhj.srim.controller.dto.ApiResponse;
+import org.yhj.srim.service.AccountMetricMatcher;
+import org.yhj.srim.service.BpsCalculatorService;
+import org.yhj.srim.service.CrawlingService;
+import org.yhj.srim.service.DartBackfillService;
+import org.yhj.srim.service.DartFilingFeedService;
+import org.yhj.srim.service.DartJobRunner;
+import org.yhj.srim.service.MarketKeyAccountService;
+import org.yhj.srim.service.MarketMetricRebuildService;
+import org.yhj.srim.service.dto.DartFeedPollResult;
+import org.yhj.srim.service.dto.DartJobStatus;
+
+import java.util.List;
+
+/**
+ * DART 대량 수집 API 컨트롤러
+ */
+@RestController
+@RequestMapping("/api/crawling/dart")
+@RequiredArgsConstructor
+@Slf4j
+public class DartCrawlingApiController {
+
+    private final DartBackfillService dartBackfillService;
+    private final MarketKeyAccountService marketKeyAccountService;
+    private final DartFilingFeedService dartFilingFeedService;
+    private final DartQuotaManager dartQuotaManager;
+    private final CrawlingService crawlingService;
+    private final BpsCalculatorService bpsCalculatorService;
+    private final AccountMetricMatcher accountMetricMatcher;
+    private final MarketMetricRebuildService marketMetricRebuildService;
+    private final DartJobRunner dartJobRunner;
+
+    /**
+     * 전체 종목 재무제표/주식수 백필 (백그라운드 실행, 한도 소진 시 자정까지 대기할 수 있음)
+     * POST /api/crawling/dart/backfill?years=10 → 작업 상태 (진행은 GET /jobs/{jobId})
+     */
+    @PostMapping("/backfill")
+    public ApiResponse<DartJobStatus> backfillMarket(
+            @RequestParam(defaultValue = "10") int years) {
+        log.info("DART 전체 백필 요청 - years={}", years);
+        return ApiResponse.success(dartJobRunner.submit("BACKFILL", "years=" + years,
+                () -> dartBackfillService.backfillMarket(years)));
+    }
+
+    /**
+     * 다중회사 주요계정으로 시장 전체 지표 갱신 (백그라운드 실행)
+     * POST /api/crawling/dart/key-accounts?year=2024 → 작업 상태 (진행은 GET /jobs/{jobId})
+     */
+    @PostMapping("/key-accounts")
+    public ApiResponse<DartJobStatus> refreshKeyAccounts(@RequestParam int year) {
+        log.info("DART 주요계정 시장 전체 갱신 요청 - year={}", year);
+        return ApiResponse.success(dartJobRunner.submit("KEY_ACCOUNT", "year=" + year,
+                () -> marketKeyAccountService.refreshMarket(year)));
+    }
+
+    /**
+     * 신규 정기공시 즉시 폴링 (스케줄과 별개로 수동 실행)
+     * POST /api/crawling/dart/feed/poll
+     */
+    @PostMapping("/feed/poll")
+    public ApiResponse<DartFeedPollResult> pollFeed() {
+        log.info("DART 신규 공시 폴링 요청");
+        return ApiResponse.success(dartFilingFeedService.poll());
+    }
+
+    /**
+     * BPS 재계산 (companyId 없으면 시장 전체)
+     * POST /api/crawling/dart/bps/recalc?companyId=1
+     */
+    @PostMapping("/bps/recalc")
+    public ApiResponse<Integer> recalcBps(@RequestParam(required = false) Long companyId) {
+        log.info("BPS 재계산 요청 - companyId={}", companyId == null ? "ALL" : companyId);
+        return ApiResponse.success(companyId == null
+                ? bpsCalculatorService.recalcBpsForMarket()
+                : bpsCalculatorService.recalcAllBpsForCompany(companyId));
+    }
+
+    /**
+     * 저장된 재무제표 라인으로 시장 전체 연간 지표 재계산 (매핑 규칙 수정 후 재반영용, toYear 없으면 fromYear 한 해)
+     * 백그라운드 작업으로 실행 - 결과(MarketMetricRebuildResult, 연도별 소요 시간 포함)는 GET /jobs/{jobId}
+     * POST /api/crawling/dart/metrics/rebuild?fromYear=2015&toYear=2024
+     */
+    @PostMapping("/metrics/rebuild")
+    public ApiResponse<DartJobStatus> rebuildMetrics(
+            @RequestParam int fromYear,
+            @RequestParam(required = false) Integer toYear) {
+        int to = toYear == null ? fromYear : toYear;
+        log.info("시장 전체 지표 재계산 요청 - fromYear={}, toYear={}", fromYear, to);
+        return ApiResponse.success(dartJobRunner.submit("METRIC_REBUILD", "fromYear=" + fromYear + ",toYear=" + to,
+                () -> marketMetricRebuildService.rebuild(fromYear, to)));
+    }
+
+    /**
+     * 계정 → 지표 매핑 규칙 즉시 다시 컴파일 (주기 확인을 기다리지 않을 때)
+     * POST /api/crawling/dart/account-map/reload
+     */
+    @PostMapping("/account-map/reload")
+    public ApiResponse<Integer> reloadAccountMap() {
+        return ApiResponse.success(accountMetricMatcher.reload());
+    }
+
+    /**
+     * 백그라운드 작업 상태 (결과 DTO 는 완료 후 result 에)
+     * GET /api/crawling/dart/jobs/{jobId}
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ApiResponse<DartJobStatus> job(@PathVariable String jobId) {
+        return ApiResponse.success(dartJobRunner.getStatus(jobId));
+    }
+
+    /**
+     * 최근 백그라운드 작업 목록 (최신순)
+     * GET /api/crawling/dart/jobs
+     */
+    @GetMapping("/jobs")
+    public ApiResponse<List<DartJobStatus>> jobs() {
+        return ApiResponse.success(dartJobRunner.getRecent());
+    }
+
+    /**
+     * DART 일일 호출 한도 현황 (대량 작업 계획용)
+     * GET /api/crawling/dart/quota
+     */
+    @GetMapping("/quota")
+    public ApiResponse<DartQuotaStatus> quota() {
+        return ApiResponse.success(dartQuotaManager.getStatus());
+    }
+
+    /**
+     * 공시 1건의 원본 라인 JSON (dart_fs_raw_archive, 재파싱/디버깅용)
+     * GET /api/crawling/dart/filings/{fsFilingId}/raw
+     */
+    @GetMapping("/filings/{fsFilingId}/raw")
+    public ApiResponse<JsonNode> rawFiling(@PathVariable Long fsFilingId) {
+        return ApiResponse.success(crawlingService.getRawFilingJson(fsFilingId));
+    }
+}
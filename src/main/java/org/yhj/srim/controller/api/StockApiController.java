@@ -15,6 +15,7 @@ import org.yhj.srim.service.StockService;
 import org.yhj.srim.service.StockPriceService;
 import org.yhj.srim.service.dto.StockDto;
 import org.yhj.srim.service.dto.StockPriceDto;
+import org.yhj.srim.service.dto.StockSearchSlice;
 
 import java.time.LocalDate;
 
@@ -50,6 +51,19 @@ public class StockApiController {
         }
     }
 
+    /**
+     * 종목 검색 API (keyset 페이징)
+     * - 다음 페이지는 응답의 nextCursor 를 cursor 로 넘긴다. 전체 건수는 주지 않는다.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<StockSearchSlice>> searchKeyset(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        return ResponseEntity.ok(ApiResponse.success(stockService.searchKeyset(q, cursor, size)));
+    }
+
     /**
      * 종목 상세 조회 API (ID)
      */
@@ -2,6 +2,7 @@ package org.yhj.srim.controller.view;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -23,6 +24,10 @@ public class StockViewController {
 
     private final StockService stockService;
 
+    // true 면 목록/검색을 keyset 페이징(StockService.searchKeyset)으로 (stock_code FULLTEXT 인덱스 필요)
+    @Value("${app.stock-search.keyset-enabled:false}")
+    private boolean keysetEnabled;
+
     /**
      * 종목 목록 페이지
      */
@@ -31,8 +36,20 @@ public class StockViewController {
             @RequestParam(required = false) String q,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor,
             Model model) {
-        
+
+        model.addAttribute("keyset", keysetEnabled);
+        if (keysetEnabled) {
+            model.addAttribute("stocks", stockService.searchKeyset(q, cursor, size));
+            model.addAttribute("keyword", q);
+            // 검색어가 있으면 전체 종목 수는 검색 결과 수가 아니므로 표시하지 않음 (COUNT 는 keyset 이점을 없앰)
+            if (q == null || q.isBlank()) {
+                model.addAttribute("totalCount", stockService.count());
+            }
+            return "stocks";
+        }
+
         Pageable pageable = PageRequest.of(page, size, Sort.by("companyName"));
         Page<StockDto> stocks = stockService.search(q, pageable);
         
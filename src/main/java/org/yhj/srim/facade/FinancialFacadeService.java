@@ -8,14 +8,12 @@ import org.yhj.srim.client.DartClient;
 import org.yhj.srim.common.exception.CustomException;
 import org.yhj.srim.common.exception.code.StockErrorCode;
 import org.yhj.srim.repository.FinMetricDefRepository;
-import org.yhj.srim.repository.FinMetricValueRepository;
-import org.yhj.srim.repository.FinPeriodRepository;
 import org.yhj.srim.repository.entity.Company;
 import org.yhj.srim.repository.entity.FinMetricDef;
-import org.yhj.srim.repository.entity.FinMetricValue;
 import org.yhj.srim.repository.entity.FinPeriod;
 import org.yhj.srim.service.CrawlingService;
 import org.yhj.srim.service.FinancialService;
+import org.yhj.srim.service.SparseFetchPlanner;
 import org.yhj.srim.service.dto.FinancialTableDto;
 
 import java.math.BigDecimal;
@@ -30,9 +28,8 @@ public class FinancialFacadeService {
 
     private final FinancialService financialService;
     private final CrawlingService crawlingService;
-    private final FinPeriodRepository finPeriodRepository;
+    private final SparseFetchPlanner sparseFetchPlanner;
     private final FinMetricDefRepository finMetricDefRepository;
-    private final FinMetricValueRepository finMetricValueRepository;
 
     /**
      * 1. company 조회, 없을 시 생성
@@ -71,14 +68,10 @@ public class FinancialFacadeService {
         int currentYear = LocalDate.now().getYear();
         int startYear = currentYear - limit + 1;
 
-        for(int year = currentYear; year >= startYear; year--){
-            financialService.getOrBuildAnnualMetrics(companyId, year);
-        }
-
-        List<FinPeriod> periods = finPeriodRepository
-                .findByCompany_CompanyIdAndPeriodTypeAndFiscalYearBetweenAndIsEstimateOrderByFiscalYearDesc(
-                        companyId, "YEAR", startYear, currentYear, false
-                );
+        // 구간 전체 조회 + 없는 연도만 일괄 계산/저장 (기간 + fiscalYear -> metricCode -> value)
+        FinancialService.AnnualMetrics annual = financialService.getOrBuildAnnualMetrics(companyId, startYear, currentYear);
+        Map<Integer, Map<String, BigDecimal>> metricsByYear = annual.metricsByYear();
+        List<FinPeriod> periods = annual.periods();
 
         if (periods.isEmpty()) {
             log.warn("FinPeriod 없음 - companyId={}, years={}~{}", companyId, startYear, currentYear);
@@ -100,21 +93,15 @@ public class FinancialFacadeService {
                 .map(FinPeriod::getPeriodId)
                 .collect(Collectors.toList());
 
-        // 해당 기간들에 대한 fin_metric_value 조회
-        List<FinMetricValue> metricValues =
-                finMetricValueRepository.findByCompanyIdAndPeriod_PeriodIdIn(companyId, periodIds);
-
-        // metricCode -> (periodId -> value) 맵 구성
+        // metricCode -> (periodId -> value) 맵 구성 (값은 위에서 읽어둔 연도별 지표)
         Map<String, Map<Long, BigDecimal>> metricCodeToPeriodValueMap = new HashMap<>();
 
-        for (FinMetricValue v : metricValues) {
-            String metricCode = v.getMetricCode();
-            Long periodId = v.getPeriod().getPeriodId();
-            BigDecimal value = v.getValueNum();
-
-            metricCodeToPeriodValueMap
-                    .computeIfAbsent(metricCode, k -> new HashMap<>())
-                    .put(periodId, value);
+        for (FinPeriod p : periods) {
+            Long periodId = p.getPeriodId();
+            metricsByYear.getOrDefault(p.getFiscalYear(), Map.of()).forEach((metricCode, value) ->
+                    metricCodeToPeriodValueMap
+                            .computeIfAbsent(metricCode, k -> new HashMap<>())
+                            .put(periodId, value));
         }
 
         // fin_metric_def 기준으로 행 구성
@@ -169,11 +156,11 @@ public class FinancialFacadeService {
         log.info("전체 파이프라인 실행 - companyId={}, corpCode={}, year {}~{}",
                 companyId, corpCode, startYear, currentYear);
 
-        for (int year = currentYear-1; year >= startYear; year--) {
-            log.debug("{}년 크롤링 및 계산 진행", year);
+        // 재무제표 크롤링 (3년 간격 희소 수집), dart_fs_filing + dart_fs_line DB저장
+        sparseFetchPlanner.fetchAnnualFinancials(corpCode, companyId, startYear, currentYear - 1);
 
-            // 재무제표 크롤링 , dart_fs_filing + dart_fs_line DB저장
-            crawlingService.crawlAndSaveAnnualFinancial(corpCode, companyId, year);
+        for (int year = currentYear-1; year >= startYear; year--) {
+            log.debug("{}년 주식수 크롤링 진행", year);
 
             // 주식수 크롤링 + dart_share_status 저장
             crawlingService.crawlAndSaveShareStatus(corpCode, companyId, year);
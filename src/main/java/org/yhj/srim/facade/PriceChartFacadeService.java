@@ -2,12 +2,22 @@ package org.yhj.srim.facade;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.yhj.srim.service.CrawlingService;
 import org.yhj.srim.service.StockPriceService;
 import org.yhj.srim.service.dto.StockPriceDto;
 
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @Slf4j
@@ -15,9 +25,20 @@ import java.time.LocalDate;
 public class PriceChartFacadeService {
 
     private static final int INITIAL_BACKfILL_YEARS = 10;
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
     private final StockPriceService stockPriceService;
     private final CrawlingService crawlingService;
 
+    // 당일 시세가 확정됐다고 보는 시각 (장 마감 15:30 + 여유)
+    @Value("${app.price.close-time:16:00}")
+    private String closeTime;
+
+    // 같은 회사 추가 수집 최소 간격 (공휴일처럼 평일인데 시세가 없는 날 반복 호출 방지)
+    @Value("${app.price.refresh-interval:PT30M}")
+    private Duration refreshInterval;
+
+    private final Map<Long, Instant> lastRefreshByCompany = new ConcurrentHashMap<>();
+
 
     public StockPriceDto getPriceChart(Long companyId, LocalDate startDate, LocalDate endDate) {
 
@@ -29,13 +50,16 @@ public class PriceChartFacadeService {
         // 주식 가격 확보
         ensurePriceData(companyId, start, end);
 
-        // DB 다시 조회
+        // DB 다시 조회 (요청 기간만)
+        List<StockPriceDto.PriceData> priceData = stockPriceService.getPriceData(companyId, start, end);
 
         // srim 조회
 
         // DTO 반환
 
-        return null;
+        return StockPriceDto.builder()
+                .priceData(priceData)
+                .build();
     }
 
     /**
@@ -55,5 +79,37 @@ public class PriceChartFacadeService {
             crawlingService.crawlingStockPrice(companyId, backfillStart, end);
             return;
         }
+
+        // 마지막 거래일 이후 구간만 추가 (겹쳐도 trade_date 기준 upsert 라 중복 없음)
+        // 주말/장 마감 전처럼 새 시세가 있을 수 없으면 호출하지 않고, 호출은 회사별 refresh-interval 에 한 번
+        LocalDate lastTradeDate = stockPriceService.getLastTradeDate(companyId).orElse(null);
+        LocalDate expected = lastExpectedTradeDate(end);
+        if (lastTradeDate == null || !lastTradeDate.isBefore(expected)) {
+            return;
+        }
+        Instant now = Instant.now();
+        Instant lastRefresh = lastRefreshByCompany.get(companyId);
+        if (lastRefresh != null && lastRefresh.plus(refreshInterval).isAfter(now)) {
+            log.debug("주가 추가 수집 생략 (최근 수집 {}) - companyId={}", lastRefresh, companyId);
+            return;
+        }
+        lastRefreshByCompany.put(companyId, now);
+        crawlingService.crawlingStockPrice(companyId, lastTradeDate.plusDays(1), end);
+    }
+
+    /**
+     * end 기준 시세가 있어야 하는 마지막 날 (주말 제외, 오늘은 마감 시각 이후부터)
+     * 공휴일은 알 수 없으므로 refresh-interval 로 호출 빈도만 제한
+     */
+    private LocalDate lastExpectedTradeDate(LocalDate end) {
+        LocalDateTime now = LocalDateTime.now(KST);
+        LocalDate day = end.isAfter(now.toLocalDate()) ? now.toLocalDate() : end;
+        if (day.equals(now.toLocalDate()) && now.toLocalTime().isBefore(LocalTime.parse(closeTime))) {
+            day = day.minusDays(1);
+        }
+        while (day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            day = day.minusDays(1);
+        }
+        return day;
     }
 }
@@ -1,7 +1,10 @@
 package org.yhj.srim.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import org.yhj.srim.repository.entity.BondYieldCurve;
 
@@ -12,9 +15,16 @@ import java.util.Optional;
 @Repository
 public interface BondYieldCurveRepository extends JpaRepository<BondYieldCurve, Long> {
 
+    // 2차 캐시 쿼리 결과 영역 (ehcache.xml)
+    String QUERY_CACHE_REGION = "query.bondYieldCurve";
+
     /**
      * 특정 등급, 만기의 가장 최근 수익률 조회 (네이밍 메서드 사용)
      */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     Optional<BondYieldCurve> findFirstByRatingAndTenorMonthsOrderByAsOfDesc(
             String rating, 
             Short tenorMonths
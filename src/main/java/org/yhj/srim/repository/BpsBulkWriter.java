@@ -0,0 +1,91 @@
+package org.yhj.srim.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+/**
+ * BPS 일괄 재계산 (INSERT ... SELECT 한 문장)
+ * - BPS = 지배주주지분(TOTAL_EQUITY_OWNER) / 주식수, 원단위 반올림(HALF_UP, MySQL ROUND 는 정확 수치에서 0.5 올림)
+ * - 주식수: 기간 말일(period_end, 없으면 회계연도 12/31) 이전 가장 최근 결산의 stock_share_status(se='합계')
+ *           유통주식수 → 발행주식총수 → company.shares_outstanding 순으로 0/NULL 이면 다음 값
+ * - 기간별 최신 결산 1건은 ROW_NUMBER() 로 고르고, (company_id, period_id, metric_code) 유니크키로 UPSERT
+ * 회사 1곳이든 시장 전체든 DB 왕복 1회.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BpsBulkWriter {
+
+    private static final String RECALC_SQL = """
+        INSERT INTO fin_metric_value (company_id, period_id, metric_code, value_num, source, updated_at)
+        SELECT x.company_id, x.period_id, d.metric_code, ROUND(x.equity / x.shares, 0), 'MANUAL', NOW()
+        FROM (
+            SELECT p.company_id,
+                   p.period_id,
+                   e.value_num AS equity,
+                   COALESCE(NULLIF(COALESCE(NULLIF(s.distb_stock_co, 0), s.istc_totqy), 0),
+                            c.shares_outstanding) AS shares,
+                   ROW_NUMBER() OVER (PARTITION BY p.period_id ORDER BY s.stlm_dt DESC) AS rn
+            FROM fin_period p
+            JOIN company c
+              ON c.company_id = p.company_id
+            JOIN fin_metric_value e
+              ON e.company_id = p.company_id
+             AND e.period_id = p.period_id
+             AND e.metric_code = 'TOTAL_EQUITY_OWNER'
+             AND e.value_num IS NOT NULL
+            LEFT JOIN stock_share_status s
+              ON s.company_id = p.company_id
+             AND s.se = '합계'
+             AND s.stlm_dt <= COALESCE(p.period_end, MAKEDATE(p.fiscal_year + 1, 1) - INTERVAL 1 DAY)
+            WHERE p.period_type = ?
+              %s
+        ) x
+        JOIN fin_metric_def d
+          ON d.metric_code = 'BPS'
+        WHERE x.rn = 1
+          AND x.shares > 0
+        ON DUPLICATE KEY UPDATE
+            value_num  = VALUES(value_num),
+            source     = VALUES(source),
+            updated_at = VALUES(updated_at)
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 회사 1곳의 기간 유형(YEAR/QTR) 전체 BPS 재계산
+     * @return MySQL 영향 행 수 (신규 1, 변경 2)
+     */
+    public int recalcCompany(Long companyId, String periodType) {
+        return jdbcTemplate.update(RECALC_SQL.formatted("AND p.company_id = ?"), periodType, companyId);
+    }
+
+    /**
+     * 회사 1곳의 한 회계연도 BPS 재계산 (지배주주지분이 바뀐 기간만)
+     */
+    public int recalcCompanyYear(Long companyId, String periodType, int fiscalYear) {
+        return jdbcTemplate.update(RECALC_SQL.formatted("AND p.company_id = ? AND p.fiscal_year = ?"),
+                periodType, companyId, fiscalYear);
+    }
+
+    /**
+     * 새 주식수(결산일 settlementDate) 영향 기간만 재계산 - 기간 말일이 결산일 이후인 기간
+     * (그 이전 기간은 더 이른 결산의 주식수를 쓰므로 그대로)
+     */
+    public int recalcCompanySince(Long companyId, String periodType, LocalDate settlementDate) {
+        return jdbcTemplate.update(RECALC_SQL.formatted("AND p.company_id = ? "
+                        + "AND COALESCE(p.period_end, MAKEDATE(p.fiscal_year + 1, 1) - INTERVAL 1 DAY) >= ?"),
+                periodType, companyId, Date.valueOf(settlementDate));
+    }
+
+    /**
+     * 시장 전체 BPS 재계산
+     */
+    public int recalcAll(String periodType) {
+        return jdbcTemplate.update(RECALC_SQL.formatted(""), periodType);
+    }
+}
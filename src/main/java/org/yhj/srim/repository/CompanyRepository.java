@@ -1,7 +1,10 @@
 package org.yhj.srim.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.yhj.srim.repository.entity.Company;
@@ -12,9 +15,16 @@ import java.util.Optional;
 @Repository
 public interface CompanyRepository extends JpaRepository<Company, Long> {
 
+    // 2차 캐시 쿼리 결과 영역 (ehcache.xml)
+    String QUERY_CACHE_REGION = "query.company";
+
     /**
      * StockCode의 ID로 Company 조회
      */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     Optional<Company> findByStockCode_StockId(Long stockId);
 
     /**
@@ -0,0 +1,82 @@
+package org.yhj.srim.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 공시 피드 수집 대기열 (dart_feed_pending)
+ * - 폴링에서 찾은 신규 사업보고서(회사+사업연도)를 high-water mark 전진 전에 먼저 기록
+ * - 수집 성공 시 삭제, 실패 시 attempts 증가 + next_attempt_at 이후 다시 수집
+ * 재시작/수집 실패로 mark 를 넘긴 공시가 버려지지 않도록 하는 용도.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class DartFeedPendingStore {
+
+    public record Pending(String corpCode, int bsnsYear, Long stockId, String rceptNo, int attempts) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 수집 대상 등록 (이미 있으면 최신 접수번호로 갱신하고 바로 다시 수집)
+     */
+    public void enqueue(String corpCode, int bsnsYear, Long stockId, String rceptNo, LocalDateTime now) {
+        jdbcTemplate.update("""
+            INSERT INTO dart_feed_pending (corp_code, bsns_year, stock_id, rcept_no, attempts, next_attempt_at)
+            VALUES (?, ?, ?, ?, 0, ?)
+            ON DUPLICATE KEY UPDATE
+                stock_id        = VALUES(stock_id),
+                rcept_no        = GREATEST(rcept_no, VALUES(rcept_no)),
+                attempts        = 0,
+                last_error      = NULL,
+                next_attempt_at = VALUES(next_attempt_at)
+        """, corpCode, bsnsYear, stockId, rceptNo, Timestamp.valueOf(now));
+    }
+
+    /**
+     * 지금 수집할 대상 (재시도 시각이 지났고 최대 시도 횟수 미만), 오래된 순
+     */
+    public List<Pending> findDue(LocalDateTime now, int maxAttempts) {
+        return jdbcTemplate.query("""
+            SELECT corp_code, bsns_year, stock_id, rcept_no, attempts
+            FROM dart_feed_pending
+            WHERE next_attempt_at <= ? AND attempts < ?
+            ORDER BY rcept_no
+        """, (rs, rowNum) -> new Pending(rs.getString(1), rs.getInt(2), rs.getLong(3), rs.getString(4), rs.getInt(5)),
+                Timestamp.valueOf(now), maxAttempts);
+    }
+
+    /**
+     * 수집 완료 - 수집 중에 더 최신 정정공시가 등록됐으면 남겨둔다
+     */
+    public void complete(String corpCode, int bsnsYear, String rceptNo) {
+        jdbcTemplate.update("DELETE FROM dart_feed_pending WHERE corp_code = ? AND bsns_year = ? AND rcept_no <= ?",
+                corpCode, bsnsYear, rceptNo);
+    }
+
+    /**
+     * 수집 실패 기록 - nextAttemptAt 이후 다시 수집
+     */
+    public void fail(String corpCode, int bsnsYear, String error, LocalDateTime nextAttemptAt) {
+        jdbcTemplate.update("""
+            UPDATE dart_feed_pending
+            SET attempts = attempts + 1, last_error = ?, next_attempt_at = ?
+            WHERE corp_code = ? AND bsns_year = ?
+        """, truncate(error), Timestamp.valueOf(nextAttemptAt), corpCode, bsnsYear);
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > 500 ? error.substring(0, 500) : error;
+    }
+}
@@ -0,0 +1,7 @@
+package org.yhj.srim.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.yhj.srim.repository.entity.DartFeedState;
+
+public interface DartFeedStateRepository extends JpaRepository<DartFeedState, String> {
+}
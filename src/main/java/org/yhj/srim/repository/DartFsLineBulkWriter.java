@@ -0,0 +1,159 @@
+package org.yhj.srim.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.yhj.srim.client.dto.DartFsRow;
+import org.yhj.srim.repository.entity.DartFsLine;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * dart_fs_line 일괄 저장 (JDBC batch)
+ * - DartFsLine 은 IDENTITY 전략이라 saveAll 이 Hibernate 배치를 타지 못하고 행마다 INSERT 1회 왕복
+ * - 공시 1건(200~600행)을 BATCH_SIZE 단위 batchUpdate 로 보내고,
+ *   rewriteBatchedStatements=true (application.yml hikari 설정) 로 드라이버가 multi-row INSERT 로 묶는다.
+ * - 재수집은 {@link #sync} 로 row_hash 를 비교해 바뀐 라인만 UPDATE, 새 라인 INSERT, 사라진 라인 DELETE
+ * - 원본 JSON 은 라인에 싣지 않는다 (DartFsRawArchiveStore)
+ * 생성된 fs_line_id 는 돌려받지 않는다 (저장 후 엔티티를 다시 쓰는 곳이 없음).
+ */
+@Repository
+@RequiredArgsConstructor
+public class DartFsLineBulkWriter {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL = """
+        INSERT INTO dart_fs_line (
+            fs_filing_id, company_id, sj_div, sj_nm, account_id, account_nm, account_detail, ord,
+            thstrm_nm, thstrm_amount, thstrm_add_amount, frmtrm_nm, frmtrm_amount,
+            bfefrmtrm_nm, bfefrmtrm_amount, currency, row_hash, created_at
+        ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+    """;
+
+    // 식별 키(sj_div, account_id, account_nm, account_detail)는 그대로이므로 나머지 컬럼만 갱신
+    private static final String UPDATE_SQL = """
+        UPDATE dart_fs_line SET
+            company_id = ?, sj_nm = ?, ord = ?,
+            thstrm_nm = ?, thstrm_amount = ?, thstrm_add_amount = ?, frmtrm_nm = ?, frmtrm_amount = ?,
+            bfefrmtrm_nm = ?, bfefrmtrm_amount = ?, currency = ?, row_hash = ?
+        WHERE fs_line_id = ?
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 공시 1건의 라인 전체 저장 (신규 공시)
+     * @return 저장한 행 수
+     */
+    public int insert(Long fsFilingId, Long companyId, List<DartFsRow> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (DartFsRow row : rows) {
+            args.add(insertArgs(fsFilingId, companyId, row, DartFsLine.rowHashOf(row), now));
+        }
+        executeBatch(INSERT_SQL, args);
+        return args.size();
+    }
+
+    /**
+     * 이미 저장된 공시의 라인을 응답 기준으로 맞춘다.
+     * 기존 라인을 식별 키 → (fs_line_id 순) 큐로 묶어 응답 행과 짝짓고, row_hash 가 같으면 건드리지 않는다.
+     * 예전 재수집으로 중복 저장된 라인은 짝이 남지 않으므로 여기서 함께 지워진다.
+     */
+    public SyncResult sync(Long fsFilingId, Long companyId, List<DartFsRow> rows) {
+        Map<String, Deque<StoredLine>> storedByKey = new HashMap<>();
+        jdbcTemplate.query("""
+            SELECT fs_line_id, sj_div, account_id, account_nm, account_detail, row_hash
+            FROM dart_fs_line
+            WHERE fs_filing_id = ?
+            ORDER BY fs_line_id
+        """, rs -> {
+            String key = DartFsLine.lineKeyOf(rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5));
+            storedByKey.computeIfAbsent(key, k -> new ArrayDeque<>())
+                    .add(new StoredLine(rs.getLong(1), rs.getString(6)));
+        }, fsFilingId);
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        int unchanged = 0;
+
+        for (DartFsRow row : rows) {
+            String rowHash = DartFsLine.rowHashOf(row);
+            Deque<StoredLine> candidates = storedByKey.get(DartFsLine.lineKeyOf(row));
+            StoredLine stored = candidates != null ? candidates.pollFirst() : null;
+
+            if (stored == null) {
+                inserts.add(insertArgs(fsFilingId, companyId, row, rowHash, now));
+            } else if (rowHash.equals(stored.rowHash())) {
+                unchanged++;
+            } else {
+                updates.add(new Object[]{
+                        companyId, row.getSjNm(), row.getOrd(),
+                        row.getThstrmNm(), row.getThstrmAmount(), row.getThstrmAddAmount(),
+                        row.getFrmtrmNm(), row.getFrmtrmAmount(),
+                        row.getBfefrmtrmNm(), row.getBfefrmtrmAmount(),
+                        row.getCurrency(), rowHash,
+                        stored.fsLineId()
+                });
+            }
+        }
+
+        List<Object[]> deletes = new ArrayList<>();
+        storedByKey.values().forEach(left -> left.forEach(s -> deletes.add(new Object[]{s.fsLineId()})));
+
+        executeBatch(INSERT_SQL, inserts);
+        executeBatch(UPDATE_SQL, updates);
+        executeBatch("DELETE FROM dart_fs_line WHERE fs_line_id = ?", deletes);
+
+        return new SyncResult(inserts.size(), updates.size(), deletes.size(), unchanged);
+    }
+
+    private void executeBatch(String sql, List<Object[]> args) {
+        for (int from = 0; from < args.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, args.subList(from, Math.min(from + BATCH_SIZE, args.size())));
+        }
+    }
+
+    private static Object[] insertArgs(Long fsFilingId, Long companyId, DartFsRow row, String rowHash, Timestamp now) {
+        return new Object[]{
+                fsFilingId,
+                companyId,
+                row.getSjDiv(),
+                row.getSjNm(),
+                row.getAccountId(),
+                row.getAccountNm(),
+                row.getAccountDetail(),
+                row.getOrd(),
+                row.getThstrmNm(),
+                row.getThstrmAmount(),
+                row.getThstrmAddAmount(),
+                row.getFrmtrmNm(),
+                row.getFrmtrmAmount(),
+                row.getBfefrmtrmNm(),
+                row.getBfefrmtrmAmount(),
+                row.getCurrency(),
+                rowHash,
+                now
+        };
+    }
+
+    private record StoredLine(long fsLineId, String rowHash) {
+    }
+
+    /**
+     * 재수집 결과 (라인 단위)
+     */
+    public record SyncResult(int inserted, int updated, int deleted, int unchanged) {
+
+        public int changedCount() {
+            return inserted + updated + deleted;
+        }
+    }
+}
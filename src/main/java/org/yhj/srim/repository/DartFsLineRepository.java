@@ -1,6 +1,8 @@
 package org.yhj.srim.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.yhj.srim.repository.entity.DartFsLine;
 
 import java.util.List;
@@ -9,4 +11,22 @@ public interface DartFsLineRepository extends JpaRepository<DartFsLine, Long> {
 
     List<DartFsLine> findByFiling_CompanyIdAndFiling_BsnsYear(Long companyId, int bsnsYear);
 
+    /**
+     * 여러 보고서 연도의 라인 한 번에 조회 (보고서 연도 구분용으로 filing 함께 로딩)
+     */
+    @Query("SELECT l FROM DartFsLine l JOIN FETCH l.filing f " +
+            "WHERE f.companyId = :companyId AND f.bsnsYear BETWEEN :fromYear AND :toYear ORDER BY l.fsLineId")
+    List<DartFsLine> findWithFilingByCompanyIdAndBsnsYearBetween(@Param("companyId") Long companyId,
+                                                                 @Param("fromYear") int fromYear,
+                                                                 @Param("toYear") int toYear);
+
+    /**
+     * 보고서 연도별 당기/전기/전전기 금액이 채워진 라인 수 (희소 수집 커버리지 판단용)
+     */
+    long countByFiling_CompanyIdAndFiling_BsnsYearAndThstrmAmountIsNotNull(Long companyId, int bsnsYear);
+
+    long countByFiling_CompanyIdAndFiling_BsnsYearAndFrmtrmAmountIsNotNull(Long companyId, int bsnsYear);
+
+    long countByFiling_CompanyIdAndFiling_BsnsYearAndBfefrmtrmAmountIsNotNull(Long companyId, int bsnsYear);
+
 }
\ No newline at end of file
@@ -0,0 +1,124 @@
+package org.yhj.srim.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.yhj.srim.client.dto.DartFsRow;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * DART 재무제표 원본 JSON 아카이브 (dart_fs_raw_archive)
+ * - 공시 1건의 원본 라인(JSON 배열)을 deflate 로 압축해 한 행(BLOB)으로 보관
+ * - dart_fs_line 에는 숫자/식별 컬럼만 남기고, 원본은 재파싱/디버깅 때만 {@link #loadJson} 으로 읽는다.
+ * - encoding
+ *   DEFLATE        : java.util.zip.Deflater (zlib)
+ *   MYSQL_COMPRESS : 마이그레이션 시 MySQL COMPRESS() 로 옮긴 행 (4바이트 원본 길이 + zlib)
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class DartFsRawArchiveStore {
+
+    private static final String ENCODING_DEFLATE = "DEFLATE";
+    private static final String ENCODING_MYSQL_COMPRESS = "MYSQL_COMPRESS";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 원본 JSON 이 있는 행만 모아 저장 (dart.archive.raw-json=false 면 모두 null 이라 저장 안 함)
+     * @return 저장한 라인 수
+     */
+    public int save(Long fsFilingId, List<DartFsRow> rows) {
+        List<String> rawLines = rows.stream()
+                .map(DartFsRow::getRawJson)
+                .filter(raw -> raw != null)
+                .toList();
+        if (rawLines.isEmpty()) {
+            return 0;
+        }
+
+        byte[] raw = ("[" + String.join(",", rawLines) + "]").getBytes(StandardCharsets.UTF_8);
+        byte[] payload = deflate(raw);
+
+        jdbcTemplate.update("""
+            INSERT INTO dart_fs_raw_archive (fs_filing_id, encoding, line_count, raw_size, payload)
+            VALUES (?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                encoding   = VALUES(encoding),
+                line_count = VALUES(line_count),
+                raw_size   = VALUES(raw_size),
+                payload    = VALUES(payload)
+        """, fsFilingId, ENCODING_DEFLATE, rawLines.size(), raw.length, payload);
+
+        log.debug("[FS-ARCHIVE] fsFilingId={} 원본 {}행 보관 ({} -> {} bytes)",
+                fsFilingId, rawLines.size(), raw.length, payload.length);
+        return rawLines.size();
+    }
+
+    /**
+     * 공시 1건의 원본 라인 JSON 배열 (없으면 empty)
+     */
+    public Optional<String> loadJson(Long fsFilingId) {
+        return jdbcTemplate.query(
+                "SELECT encoding, raw_size, payload FROM dart_fs_raw_archive WHERE fs_filing_id = ?",
+                rs -> {
+                    if (!rs.next()) {
+                        return Optional.<String>empty();
+                    }
+                    String encoding = rs.getString(1);
+                    int rawSize = rs.getInt(2);
+                    byte[] payload = rs.getBytes(3);
+                    if (ENCODING_MYSQL_COMPRESS.equals(encoding)) {
+                        // 앞 4바이트는 원본 길이(리틀엔디언)
+                        payload = Arrays.copyOfRange(payload, 4, payload.length);
+                    }
+                    return Optional.of(new String(inflate(payload, rawSize), StandardCharsets.UTF_8));
+                }, fsFilingId);
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 8));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] payload, int rawSize) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(payload);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, rawSize));
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("원본 아카이브 압축 데이터가 손상되었습니다.");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("원본 아카이브 압축 해제 실패", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package org.yhj.srim.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import org.yhj.srim.repository.entity.FinMetricDef;
 
@@ -9,10 +12,21 @@ import java.util.List;
 @Repository
 public interface FinMetricDefRepository extends JpaRepository<FinMetricDef, String> {
 
+    // 2차 캐시 쿼리 결과 영역 (ehcache.xml)
+    String QUERY_CACHE_REGION = "query.finMetricDef";
+
     /**
      * 표시 순서로 정렬하여 모든 지표 조회
      */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     List<FinMetricDef> findAllByOrderByDisplayOrder();
 
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     List<FinMetricDef> findAllByOrderByDisplayOrderAsc();
 }
@@ -0,0 +1,299 @@
+package org.yhj.srim.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 시장 전체 연간 지표 일괄 재계산 (사업연도당 INSERT ... SELECT 한 문장)
+ * - FinancialService.buildFinancialMetrics 와 같은 규칙을 SQL 로 옮긴 것
+ *   1) 컬럼 결정 : 해당 연도 보고서 당기 → 다음 해 보고서 전기 → 다다음 해 보고서 전전기 (금액 있는 것 중 첫 번째)
+ *   2) 계정 매핑 : fs_account_map (sj_div, account_id) 완전 일치 + 계정명/구성요소 조건 → 없으면 fs_account_name_rule
+ *                  (priority 가 가장 작은 규칙, IGNORE 는 매핑 안 함 - AccountMetricMatcher 와 동일)
+ *   3) 지표별 값  : 당기는 라인 순서상 첫 값, 전기는 마지막 값 (전전기 컬럼을 쓴 경우 직전 연도의 당기 값)
+ *   4) 피벗 + 비율 : OPM / NET_MARGIN / DEBT_RATIO / ROE / ROA / QUICK_RATIO
+ *                  ROUND(x, 8) * 100 = BigDecimal.divide(scale 8, HALF_UP) 후 ×100
+ *                  (MySQL DECIMAL 나눗셈은 소수 10자리까지 계산 후 8자리 반올림)
+ * - 결과는 JDBC 왕복 없이 fin_metric_value 로 바로 UPSERT (source = DART)
+ * 계정명 정규화는 공백 제거([[:space:]], NBSP 포함)로 AccountMetricMatcher.normalize 와 맞춘다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class FinMetricPivotWriter {
+
+    public record YearRebuild(int createdPeriods, int affectedRows) {
+    }
+
+    // 사업연도(target) 와 직전 연도 각각의 컬럼 결정 + 라인별 매핑 지표
+    private static final String MAPPED_LINES_CTE = """
+        WITH target AS (
+            SELECT ? AS fiscal_year
+        ),
+        years AS (
+            SELECT fiscal_year FROM target
+            UNION ALL
+            SELECT fiscal_year - 1 FROM target
+        ),
+        src AS (
+            SELECT f.company_id, y.fiscal_year, MIN(f.bsns_year - y.fiscal_year) AS yrs_back
+            FROM years y
+            JOIN dart_fs_filing f
+              ON f.bsns_year BETWEEN y.fiscal_year AND y.fiscal_year + 2
+             AND f.company_id IS NOT NULL
+            JOIN dart_fs_line l
+              ON l.fs_filing_id = f.fs_filing_id
+            WHERE CASE f.bsns_year - y.fiscal_year
+                      WHEN 0 THEN l.thstrm_amount
+                      WHEN 1 THEN l.frmtrm_amount
+                      ELSE l.bfefrmtrm_amount
+                  END IS NOT NULL
+            GROUP BY f.company_id, y.fiscal_year
+        ),
+        line_amount AS (
+            SELECT s.company_id,
+                   s.fiscal_year,
+                   l.fs_line_id,
+                   UPPER(TRIM(l.sj_div)) AS sj,
+                   TRIM(l.account_id) AS account_id,
+                   REGEXP_REPLACE(COALESCE(l.account_nm, ''), '[[:space:]]', '') AS nm,
+                   REGEXP_REPLACE(COALESCE(l.account_detail, ''), '[[:space:]]', '') AS detail,
+                   CASE s.yrs_back
+                       WHEN 0 THEN l.thstrm_amount
+                       WHEN 1 THEN l.frmtrm_amount
+                       ELSE l.bfefrmtrm_amount
+                   END AS amount,
+                   CASE s.yrs_back
+                       WHEN 0 THEN l.frmtrm_amount
+                       WHEN 1 THEN l.bfefrmtrm_amount
+                   END AS prev_amount
+            FROM src s
+            JOIN dart_fs_filing f
+              ON f.company_id = s.company_id
+             AND f.bsns_year = s.fiscal_year + s.yrs_back
+            JOIN dart_fs_line l
+              ON l.fs_filing_id = f.fs_filing_id
+            WHERE l.account_id IS NOT NULL OR l.account_nm IS NOT NULL
+        ),
+        candidate AS (
+            SELECT a.company_id, a.fiscal_year, a.fs_line_id, a.amount, a.prev_amount, m.metric_code,
+                   0 AS stage, m.priority, m.metric_code AS tiebreak
+            FROM line_amount a
+            JOIN fs_account_map m
+              ON UPPER(TRIM(m.sj_div)) = a.sj
+             AND TRIM(m.account_id) = a.account_id
+            WHERE a.account_id <> ''
+              AND (REGEXP_REPLACE(COALESCE(m.account_nm_pattern, ''), '[[:space:]]', '') = ''
+                   OR LOCATE(REGEXP_REPLACE(m.account_nm_pattern, '[[:space:]]', '') COLLATE utf8mb4_bin, a.nm) > 0)
+              AND (REGEXP_REPLACE(COALESCE(m.account_detail_pattern, ''), '[[:space:]]', '') = ''
+                   OR LOCATE(REGEXP_REPLACE(m.account_detail_pattern, '[[:space:]]', '') COLLATE utf8mb4_bin, a.detail) > 0)
+            UNION ALL
+            SELECT a.company_id, a.fiscal_year, a.fs_line_id, a.amount, a.prev_amount, r.metric_code,
+                   1 AS stage, r.priority, LPAD(r.rule_id, 20, '0') AS tiebreak
+            FROM line_amount a
+            JOIN fs_account_name_rule r
+              ON UPPER(TRIM(r.sj_div)) = a.sj
+            WHERE CASE
+                      WHEN r.match_type = 'EXACT'
+                          THEN a.nm <> ''
+                               AND REGEXP_REPLACE(r.pattern, '[[:space:]]', '') COLLATE utf8mb4_bin = a.nm
+                      WHEN r.target = 'ACCOUNT_ID'
+                          THEN TRIM(r.pattern) <> '' AND a.account_id <> ''
+                               AND LOCATE(TRIM(r.pattern) COLLATE utf8mb4_bin, a.account_id) > 0
+                      ELSE REGEXP_REPLACE(r.pattern, '[[:space:]]', '') <> ''
+                           AND LOCATE(REGEXP_REPLACE(r.pattern, '[[:space:]]', '') COLLATE utf8mb4_bin, a.nm) > 0
+                  END
+        ),
+        mapped AS (
+            SELECT company_id, fiscal_year, fs_line_id, amount, prev_amount, metric_code
+            FROM (
+                SELECT c.*,
+                       ROW_NUMBER() OVER (PARTITION BY c.fiscal_year, c.fs_line_id
+                                          ORDER BY c.stage, c.priority, c.tiebreak) AS rn
+                FROM candidate c
+            ) x
+            WHERE x.rn = 1
+              AND x.metric_code <> 'IGNORE'
+        )
+    """;
+
+    private static final String PERIOD_SQL = """
+        INSERT IGNORE INTO fin_period (company_id, period_type, fiscal_year, fiscal_quarter, is_estimate, label, period_end)
+        WITH target AS (
+            SELECT ? AS fiscal_year
+        ),
+        src AS (
+            SELECT DISTINCT f.company_id
+            FROM target t
+            JOIN dart_fs_filing f
+              ON f.bsns_year BETWEEN t.fiscal_year AND t.fiscal_year + 2
+             AND f.company_id IS NOT NULL
+            JOIN dart_fs_line l
+              ON l.fs_filing_id = f.fs_filing_id
+            WHERE CASE f.bsns_year - t.fiscal_year
+                      WHEN 0 THEN l.thstrm_amount
+                      WHEN 1 THEN l.frmtrm_amount
+                      ELSE l.bfefrmtrm_amount
+                  END IS NOT NULL
+        )
+        SELECT s.company_id, 'YEAR', t.fiscal_year, NULL, 0,
+               CONCAT(t.fiscal_year, '/12'), MAKEDATE(t.fiscal_year + 1, 1) - INTERVAL 1 DAY
+        FROM src s
+        JOIN company c
+          ON c.company_id = s.company_id
+        CROSS JOIN target t
+    """;
+
+    private static final String PIVOT_SQL = """
+        INSERT INTO fin_metric_value (company_id, period_id, metric_code, value_num, source, updated_at)
+        %s,
+        cur AS (
+            SELECT company_id, metric_code, amount
+            FROM (
+                SELECT m.company_id, m.metric_code, m.amount,
+                       ROW_NUMBER() OVER (PARTITION BY m.company_id, m.metric_code ORDER BY m.fs_line_id) AS rn
+                FROM mapped m
+                JOIN target t
+                  ON t.fiscal_year = m.fiscal_year
+                WHERE m.amount IS NOT NULL
+            ) x
+            WHERE x.rn = 1
+        ),
+        prev AS (
+            -- 같은 보고서의 이전 컬럼 (마지막 라인 값)
+            SELECT company_id, metric_code, amount
+            FROM (
+                SELECT m.company_id, m.metric_code, m.prev_amount AS amount,
+                       ROW_NUMBER() OVER (PARTITION BY m.company_id, m.metric_code ORDER BY m.fs_line_id DESC) AS rn
+                FROM mapped m
+                JOIN target t
+                  ON t.fiscal_year = m.fiscal_year
+                WHERE m.prev_amount IS NOT NULL
+            ) x
+            WHERE x.rn = 1
+            UNION ALL
+            -- 전전기 컬럼을 당기로 쓴 경우 직전 연도의 당기 값 (첫 라인 값)
+            SELECT company_id, metric_code, amount
+            FROM (
+                SELECT m.company_id, m.metric_code, m.amount,
+                       ROW_NUMBER() OVER (PARTITION BY m.company_id, m.metric_code ORDER BY m.fs_line_id) AS rn
+                FROM mapped m
+                JOIN target t
+                  ON m.fiscal_year = t.fiscal_year - 1
+                JOIN src s
+                  ON s.company_id = m.company_id
+                 AND s.fiscal_year = t.fiscal_year
+                 AND s.yrs_back = 2
+                WHERE m.amount IS NOT NULL
+            ) x
+            WHERE x.rn = 1
+        ),
+        pivot AS (
+            SELECT company_id,
+                   MAX(CASE WHEN metric_code = 'SALES'               THEN amount END) AS sales,
+                   MAX(CASE WHEN metric_code = 'OP_INC'              THEN amount END) AS op_inc,
+                   MAX(CASE WHEN metric_code = 'NET_INC'             THEN amount END) AS net_inc,
+                   MAX(CASE WHEN metric_code = 'NET_INC_OWNER'       THEN amount END) AS net_inc_owner,
+                   MAX(CASE WHEN metric_code = 'NET_INC_NONCONT'     THEN amount END) AS net_inc_noncont,
+                   MAX(CASE WHEN metric_code = 'TOTAL_ASSETS'        THEN amount END) AS total_assets,
+                   MAX(CASE WHEN metric_code = 'TOTAL_LIABILITIES'   THEN amount END) AS total_liab,
+                   MAX(CASE WHEN metric_code = 'TOTAL_EQUITY'        THEN amount END) AS equity_total,
+                   MAX(CASE WHEN metric_code = 'TOTAL_EQUITY_OWNER'  THEN amount END) AS equity_owner,
+                   MAX(CASE WHEN metric_code = 'CURRENT_ASSETS'      THEN amount END) AS current_assets,
+                   MAX(CASE WHEN metric_code = 'CURRENT_LIABILITIES' THEN amount END) AS current_liab,
+                   MAX(CASE WHEN metric_code = 'EPS'                 THEN amount END) AS eps,
+                   MAX(CASE WHEN metric_code = 'BPS'                 THEN amount END) AS bps,
+                   MAX(CASE WHEN metric_code = 'OPM'                 THEN amount END) AS opm,
+                   MAX(CASE WHEN metric_code = 'NET_MARGIN'          THEN amount END) AS net_margin
+            FROM cur
+            GROUP BY company_id
+        ),
+        prev_pivot AS (
+            SELECT company_id,
+                   MAX(CASE WHEN metric_code = 'TOTAL_EQUITY'       THEN amount END) AS equity_total,
+                   MAX(CASE WHEN metric_code = 'TOTAL_EQUITY_OWNER' THEN amount END) AS equity_owner
+            FROM prev
+            GROUP BY company_id
+        ),
+        calc AS (
+            SELECT p.*,
+                   -- NET_INC 없으면 지배 + 비지배
+                   COALESCE(p.net_inc, p.net_inc_owner + p.net_inc_noncont) AS net_inc_calc,
+                   ROUND((COALESCE(p.equity_owner, p.equity_total)
+                          + COALESCE(pp.equity_owner, pp.equity_total)) / 2, 8) AS avg_equity
+            FROM pivot p
+            LEFT JOIN prev_pivot pp
+              ON pp.company_id = p.company_id
+        )
+        SELECT v.company_id, v.period_id, v.metric_code, v.value_num, 'DART', NOW()
+        FROM (
+            SELECT c.company_id,
+                   fp.period_id,
+                   d.metric_code,
+                   CASE d.metric_code
+                       WHEN 'SALES'              THEN c.sales
+                       WHEN 'OP_INC'             THEN c.op_inc
+                       WHEN 'NET_INC'            THEN c.net_inc_calc
+                       WHEN 'NET_INC_OWNER'      THEN c.net_inc_owner
+                       WHEN 'NET_INC_NONCONT'    THEN c.net_inc_noncont
+                       WHEN 'TOTAL_EQUITY'       THEN c.equity_total
+                       WHEN 'TOTAL_EQUITY_OWNER' THEN c.equity_owner
+                       WHEN 'EPS'                THEN c.eps
+                       WHEN 'BPS'                THEN c.bps
+                       WHEN 'OPM'                THEN COALESCE(c.opm, ROUND(c.op_inc / NULLIF(c.sales, 0), 8) * 100)
+                       WHEN 'NET_MARGIN'         THEN COALESCE(c.net_margin, ROUND(c.net_inc_calc / NULLIF(c.sales, 0), 8) * 100)
+                       WHEN 'DEBT_RATIO'         THEN ROUND(c.total_liab / NULLIF(COALESCE(c.equity_total, c.equity_owner), 0), 8) * 100
+                       WHEN 'ROE'                THEN ROUND(COALESCE(c.net_inc_owner, c.net_inc_calc) / NULLIF(c.avg_equity, 0), 8) * 100
+                       WHEN 'ROA'                THEN ROUND(c.net_inc_calc / NULLIF(c.total_assets, 0), 8) * 100
+                       WHEN 'QUICK_RATIO'        THEN ROUND(c.current_assets / NULLIF(c.current_liab, 0), 8) * 100
+                   END AS value_num
+            FROM calc c
+            CROSS JOIN target t
+            JOIN fin_period fp
+              ON fp.company_id = c.company_id
+             AND fp.period_type = 'YEAR'
+             AND fp.fiscal_year = t.fiscal_year
+             AND fp.fiscal_quarter IS NULL
+             AND fp.is_estimate = 0
+            JOIN fin_metric_def d
+              ON d.metric_code IN ('SALES', 'OP_INC', 'NET_INC', 'NET_INC_OWNER', 'NET_INC_NONCONT',
+                                   'TOTAL_EQUITY', 'TOTAL_EQUITY_OWNER', 'EPS', 'BPS',
+                                   'OPM', 'NET_MARGIN', 'DEBT_RATIO', 'ROE', 'ROA', 'QUICK_RATIO')
+        ) v
+        WHERE v.value_num IS NOT NULL
+        ON DUPLICATE KEY UPDATE
+            value_num  = VALUES(value_num),
+            source     = VALUES(source),
+            updated_at = VALUES(updated_at)
+    """.formatted(MAPPED_LINES_CTE.stripTrailing());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 사업연도 fin_period(YEAR) 가 없는 회사에 기간 행 생성
+     * @return 새로 만든 기간 수
+     */
+    public int ensureYearPeriods(int fiscalYear) {
+        return jdbcTemplate.update(PERIOD_SQL, fiscalYear);
+    }
+
+    /**
+     * 사업연도 전체 회사 지표 재계산 + UPSERT (ensureYearPeriods 이후 호출)
+     * @return MySQL 영향 행 수 (신규 1, 변경 2, 동일 0)
+     */
+    public int rebuildYear(int fiscalYear) {
+        return jdbcTemplate.update(PIVOT_SQL, fiscalYear);
+    }
+
+    /**
+     * 사업연도 하나를 별도 트랜잭션으로 (기간 생성 + 지표 재계산 후 바로 커밋)
+     * 여러 연도를 한 트랜잭션으로 묶으면 fin_metric_value 잠금을 전체 작업 동안 잡고 있게 된다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public YearRebuild rebuildYearInNewTransaction(int fiscalYear) {
+        int periods = ensureYearPeriods(fiscalYear);
+        int rows = rebuildYear(fiscalYear);
+        return new YearRebuild(periods, rows);
+    }
+}
@@ -0,0 +1,87 @@
+package org.yhj.srim.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.yhj.srim.repository.entity.FinMetricDef;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * fin_metric_value 일괄 저장 (JDBC batch)
+ * - (company_id, period_id, metric_code) 유니크키(UN_FIN_METRIC_VALUE) 기준 INSERT ... ON DUPLICATE KEY UPDATE
+ * - fin_metric_def 에 없는 지표 코드는 스킵 (정의 목록은 FinMetricDefRepository 쿼리 캐시에서, 저장마다 DB 조회 안 함)
+ * 회사 하나의 전체 기간 재계산도 배치 INSERT 만으로 끝난다.
+ * valuation_input_snapshot 갱신은 하지 않는다 - 호출하는 쪽에서 작업 단위(회사 1곳 / 시장 전체)로 한 번
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class FinMetricValueBulkWriter {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String UPSERT_SQL = """
+        INSERT INTO fin_metric_value (company_id, period_id, metric_code, value_num, source, updated_at)
+        VALUES (?, ?, ?, ?, ?, ?)
+        ON DUPLICATE KEY UPDATE
+            value_num  = VALUES(value_num),
+            source     = VALUES(source),
+            updated_at = VALUES(updated_at)
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FinMetricDefRepository finMetricDefRepository;
+
+    /**
+     * 한 기간의 지표 전체 저장
+     * @return 저장(INSERT/UPDATE) 대상 행 수 (정의되지 않은 지표 제외)
+     */
+    public int upsert(Long companyId, Long periodId, Map<String, BigDecimal> metrics, String source) {
+        return upsertMatrix(companyId, Map.of(periodId, metrics), source);
+    }
+
+    /**
+     * 한 회사의 기간 × 지표 행렬 저장
+     * @param valuesByPeriod : periodId -> (metricCode -> value)
+     */
+    public int upsertMatrix(Long companyId, Map<Long, Map<String, BigDecimal>> valuesByPeriod, String source) {
+        Set<String> codes = new HashSet<>();
+        valuesByPeriod.values().forEach(m -> codes.addAll(m.keySet()));
+        if (codes.isEmpty()) {
+            return 0;
+        }
+        Set<String> defined = findDefinedCodes();
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>();
+        valuesByPeriod.forEach((periodId, metrics) -> metrics.forEach((metricCode, value) -> {
+            if (defined.contains(metricCode)) {
+                rows.add(new Object[]{companyId, periodId, metricCode, value, source, now});
+            }
+        }));
+
+        if (!defined.containsAll(codes)) {
+            Set<String> skipped = new TreeSet<>(codes);
+            skipped.removeAll(defined);
+            log.debug("[FIN_METRIC] fin_metric_def에 정의 안된 코드 스킵: {}", skipped);
+        }
+
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+        return rows.size();
+    }
+
+    // 2차 캐시(query.finMetricDef / FinMetricDef 엔티티 영역) 적중 시 DB 왕복 없음
+    private Set<String> findDefinedCodes() {
+        return finMetricDefRepository.findAllByOrderByDisplayOrderAsc().stream()
+                .map(FinMetricDef::getMetricCode)
+                .collect(Collectors.toSet());
+    }
+}
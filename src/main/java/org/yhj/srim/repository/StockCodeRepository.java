@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.yhj.srim.repository.entity.StockCode;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -23,6 +24,16 @@ public interface StockCodeRepository extends JpaRepository<StockCode, Long> {
      */
     Optional<StockCode> findByTickerKrx(String tickerKrx);
 
+    /**
+     * DART 고유번호가 매핑된 종목 전체 조회 (대량 백필 대상)
+     */
+    List<StockCode> findByDartCorpCodeIsNotNull();
+
+    /**
+     * DART 고유번호로 종목 조회
+     */
+    Optional<StockCode> findByDartCorpCode(String dartCorpCode);
+
     /**
      * 회사명 또는 티커로 검색 (페이징)
      */
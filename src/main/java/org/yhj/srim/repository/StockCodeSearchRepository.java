@@ -0,0 +1,101 @@
+package org.yhj.srim.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 종목 검색 (keyset 페이징)
+ * - 티커: ticker_krx 완전/앞부분 일치 → UN_STOCK_CODE_TICKER_MARKET (ticker_krx, market) 범위 스캔
+ * - 회사명: FT_STOCK_CODE_NAME (ngram FULLTEXT) 구문 검색, ngram_token_size(2) 보다 짧은 1글자는 앞부분 일치
+ * - 정렬/페이징: (company_name, stock_id) 이후 행만 읽는 seek 방식 → 깊은 페이지도 OFFSET 처럼 느려지지 않음
+ * 종목 ID 와 정렬 키만 돌려주고, 엔티티는 호출 측이 findAllById (2차 캐시) 로 읽는다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StockCodeSearchRepository {
+
+    // KRX 단축코드 (숫자 6자리, 일부 영문 포함 예: 0000A0)
+    private static final Pattern TICKER_PATTERN = Pattern.compile("[0-9A-Z]{1,6}");
+    private static final int NGRAM_TOKEN_SIZE = 2;
+
+    private static final String KEYSET_CONDITION = " AND (company_name, stock_id) > (?, ?)";
+    private static final String ORDER_LIMIT = " ORDER BY company_name, stock_id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param keyword     검색어 (null/공백이면 전체)
+     * @param afterName   이전 페이지 마지막 회사명 (첫 페이지면 null)
+     * @param afterId     이전 페이지 마지막 stock_id
+     * @param limit       읽을 행 수 (다음 페이지 여부 판단용으로 보통 size + 1)
+     */
+    public List<SearchKey> search(String keyword, String afterName, Long afterId, int limit) {
+        String kw = keyword == null ? "" : keyword.trim();
+        boolean seek = afterName != null && afterId != null;
+
+        List<String> branches = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+
+        if (kw.isEmpty()) {
+            addBranch(branches, args, "1 = 1", null, seek, afterName, afterId, limit);
+        } else {
+            String ticker = kw.toUpperCase();
+            if (TICKER_PATTERN.matcher(ticker).matches()) {
+                addBranch(branches, args, "ticker_krx LIKE ?", escapeLike(ticker) + "%",
+                        seek, afterName, afterId, limit);
+            }
+            if (kw.length() >= NGRAM_TOKEN_SIZE) {
+                // 큰따옴표 구문 검색: ngram 토큰이 연속으로 나와야 일치 (불리언 연산자 무력화)
+                addBranch(branches, args, "MATCH(company_name) AGAINST (? IN BOOLEAN MODE)",
+                        "\"" + kw.replace("\"", " ") + "\"", seek, afterName, afterId, limit);
+            } else {
+                addBranch(branches, args, "company_name LIKE ?", escapeLike(kw) + "%",
+                        seek, afterName, afterId, limit);
+            }
+        }
+
+        String sql;
+        if (branches.size() == 1) {
+            sql = branches.get(0);
+        } else {
+            // 분기마다 limit 건만 뽑아 합친 뒤 다시 정렬 (UNION 이 티커/회사명 양쪽에 걸린 종목 중복 제거)
+            sql = "(" + String.join(") UNION (", branches) + ")" + ORDER_LIMIT;
+            args.add(limit);
+        }
+
+        return jdbcTemplate.query(sql,
+                (rs, i) -> new SearchKey(rs.getLong(1), rs.getString(2)),
+                args.toArray());
+    }
+
+    private static void addBranch(List<String> branches, List<Object> args, String where, Object param,
+                                  boolean seek, String afterName, Long afterId, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT stock_id, company_name FROM stock_code WHERE ").append(where);
+        if (param != null) {
+            args.add(param);
+        }
+        if (seek) {
+            sql.append(KEYSET_CONDITION);
+            args.add(afterName);
+            args.add(afterId);
+        }
+        sql.append(ORDER_LIMIT);
+        args.add(limit);
+        branches.add(sql.toString());
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * 검색 결과 키 (정렬 순서 = company_name, stock_id)
+     */
+    public record SearchKey(long stockId, String companyName) {
+    }
+}
@@ -0,0 +1,70 @@
+package org.yhj.srim.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.yhj.srim.client.dto.DaliyPrice;
+import org.yhj.srim.repository.entity.StockPrice;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * stock_price 일괄 저장 (JDBC batch)
+ * - (company_id, trade_date, source) 유니크키(UN_STOCK_PRICE_TRADE) 기준 INSERT ... ON DUPLICATE KEY UPDATE
+ * - 같은 구간을 다시 백필해도 행이 늘지 않고 시세만 갱신된다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StockPriceBulkWriter {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String UPSERT_SQL = """
+        INSERT INTO stock_price (company_id, trade_date, as_of, price, open_price, high_price, low_price, volume, source, created_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        ON DUPLICATE KEY UPDATE
+            as_of      = VALUES(as_of),
+            price      = VALUES(price),
+            open_price = VALUES(open_price),
+            high_price = VALUES(high_price),
+            low_price  = VALUES(low_price),
+            volume     = VALUES(volume)
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 일별 시세 저장
+     * @return 저장(INSERT/UPDATE) 대상 행 수 (거래일 없는 행 제외)
+     */
+    public int upsertDaily(Long companyId, List<DaliyPrice> prices, StockPrice.MarketSnapshotSource source) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(prices.size());
+        for (DaliyPrice price : prices) {
+            if (price.getDate() == null) {
+                continue;
+            }
+            rows.add(new Object[]{
+                    companyId,
+                    Date.valueOf(price.getDate()),
+                    now,
+                    price.getClose(),
+                    price.getOpen(),
+                    price.getHigh(),
+                    price.getLow(),
+                    price.getVolume(),
+                    source.name(),
+                    now
+            });
+        }
+
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+        return rows.size();
+    }
+}
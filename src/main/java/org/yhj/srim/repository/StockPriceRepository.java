@@ -1,12 +1,34 @@
 package org.yhj.srim.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.yhj.srim.repository.entity.StockPrice;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 public interface StockPriceRepository extends JpaRepository<StockPrice, Long> {
     boolean existsByCompany_CompanyId(Long companyId);
 
     List<StockPrice> findByCompany_companyId(Long companyId);
+
+    /**
+     * 차트 기간 조회 (trade_date 범위 → 해당 연도 파티션만 스캔)
+     */
+    List<StockPrice> findByCompany_CompanyIdAndSourceAndTradeDateBetweenOrderByTradeDateAsc(
+            Long companyId, StockPrice.MarketSnapshotSource source, LocalDate start, LocalDate end);
+
+    /**
+     * 저장된 마지막 거래일 (이후 구간만 추가 크롤링)
+     */
+    @Query("""
+        SELECT MAX(p.tradeDate)
+        FROM StockPrice p
+        WHERE p.company.companyId = :companyId
+          AND p.source = :source
+    """)
+    Optional<LocalDate> findLastTradeDate(@Param("companyId") Long companyId,
+                                          @Param("source") StockPrice.MarketSnapshotSource source);
 }
@@ -12,6 +12,8 @@ public interface StockShareStatusRepository extends JpaRepository<StockShareStat
             Long companyId, Integer bsnsYear, String se
     );
 
+    boolean existsByCompany_CompanyIdAndBsnsYear(Long companyId, Integer bsnsYear);
+
     Optional<StockShareStatus> findTopByCompany_CompanyIdAndSettlementDateLessThanEqualAndSeOrderBySettlementDateDesc(Long companyId, LocalDate baseDate, String 합계);
 
     Optional<StockShareStatus> findTopByCompany_CompanyIdOrderByUpdatedAtDesc(Long companyId);
@@ -0,0 +1,8 @@
+package org.yhj.srim.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.yhj.srim.repository.entity.ValuationInputSnapshot;
+
+public interface ValuationInputSnapshotRepository
+        extends JpaRepository<ValuationInputSnapshot, ValuationInputSnapshot.Key> {
+}
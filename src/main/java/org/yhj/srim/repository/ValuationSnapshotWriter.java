@@ -0,0 +1,69 @@
+package org.yhj.srim.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * valuation_input_snapshot 갱신
+ * - 원본(source of truth)은 fin_metric_value / stock_share_status, 이 테이블은 S-RIM 조회용 비정규화 사본
+ * - 회사 단위로 연간 기간 전체를 INSERT ... SELECT 한 번에 다시 피벗 (ROE 는 당해/전년/전전년)
+ */
+@Repository
+@RequiredArgsConstructor
+public class ValuationSnapshotWriter {
+
+    private static final String REFRESH_SQL = """
+        INSERT INTO valuation_input_snapshot
+            (company_id, fiscal_year, equity_owner, bps, roe, roe_prev1, roe_prev2, shares_outstanding, updated_at)
+        SELECT p.company_id,
+               p.fiscal_year,
+               MAX(CASE WHEN v.metric_code = 'TOTAL_EQUITY_OWNER' AND hp.fiscal_year = p.fiscal_year     THEN v.value_num END),
+               MAX(CASE WHEN v.metric_code = 'BPS'                AND hp.fiscal_year = p.fiscal_year     THEN v.value_num END),
+               MAX(CASE WHEN v.metric_code = 'ROE'                AND hp.fiscal_year = p.fiscal_year     THEN v.value_num END),
+               MAX(CASE WHEN v.metric_code = 'ROE'                AND hp.fiscal_year = p.fiscal_year - 1 THEN v.value_num END),
+               MAX(CASE WHEN v.metric_code = 'ROE'                AND hp.fiscal_year = p.fiscal_year - 2 THEN v.value_num END),
+               (SELECT s.distb_stock_co
+                  FROM stock_share_status s
+                 WHERE s.company_id = p.company_id
+                   AND s.bsns_year = p.fiscal_year
+                   AND s.se = '보통주'),
+               NOW()
+        FROM fin_period p
+        JOIN fin_period hp
+          ON hp.company_id = p.company_id
+         AND hp.period_type = 'YEAR'
+         AND hp.fiscal_year BETWEEN p.fiscal_year - 2 AND p.fiscal_year
+        LEFT JOIN fin_metric_value v
+          ON v.company_id = p.company_id
+         AND v.period_id = hp.period_id
+         AND v.metric_code IN ('TOTAL_EQUITY_OWNER', 'BPS', 'ROE')
+        WHERE p.period_type = 'YEAR'
+          %s
+        GROUP BY p.company_id, p.fiscal_year
+        ON DUPLICATE KEY UPDATE
+            equity_owner       = VALUES(equity_owner),
+            bps                = VALUES(bps),
+            roe                = VALUES(roe),
+            roe_prev1          = VALUES(roe_prev1),
+            roe_prev2          = VALUES(roe_prev2),
+            shares_outstanding = VALUES(shares_outstanding),
+            updated_at         = VALUES(updated_at)
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 회사의 연간 스냅샷 전체 재계산
+     */
+    public void refreshCompany(Long companyId) {
+        jdbcTemplate.update(REFRESH_SQL.formatted("AND p.company_id = ?"), companyId);
+    }
+
+    /**
+     * 시장 전체 스냅샷 재계산 (BPS 일괄 재계산 후)
+     */
+    public int refreshAll() {
+        return jdbcTemplate.update(REFRESH_SQL.formatted(""));
+    }
+}
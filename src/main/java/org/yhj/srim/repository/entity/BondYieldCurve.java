@@ -2,6 +2,8 @@ package org.yhj.srim.repository.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Comment;
 
 import java.math.BigDecimal;
@@ -9,6 +11,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "bond_yield_curve",
         uniqueConstraints = {
                 @UniqueConstraint(name = "UN_BOND_CURVE_UNIQ",
@@ -0,0 +1,49 @@
+package org.yhj.srim.repository.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Comment;
+
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "dart_feed_state")
+@Builder
+@AllArgsConstructor
+@Comment("DART 공시검색 폴링 위치(피드별 마지막 접수번호)")
+public class DartFeedState {
+
+    @Id
+    @Column(name = "feed_key", length = 40)
+    @Comment("피드 식별자 (예: list.json:A001)")
+    private String feedKey;
+
+    @Column(name = "last_rcept_no", length = 14)
+    @Comment("마지막으로 처리한 접수번호 (high-water mark)")
+    private String lastRceptNo;
+
+    @Column(name = "last_polled_at")
+    @Comment("마지막 폴링 시각")
+    private LocalDateTime lastPolledAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * 폴링 결과 반영. 접수번호는 YYYYMMDD + 일련번호라 문자열 비교로 선후 판단
+     */
+    public void advance(String rceptNo, LocalDateTime polledAt) {
+        if (rceptNo != null && (lastRceptNo == null || rceptNo.compareTo(lastRceptNo) > 0)) {
+            this.lastRceptNo = rceptNo;
+        }
+        this.lastPolledAt = polledAt;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
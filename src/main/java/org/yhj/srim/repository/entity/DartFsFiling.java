@@ -60,6 +60,10 @@ public class DartFsFiling {
     @Column(name = "note", length = 300)
     private String note;
 
+    @Column(name = "content_hash", length = 64)
+    @Comment("라인 전체 내용 해시, 재수집 시 변경 감지")
+    private String contentHash;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -77,5 +81,9 @@ public class DartFsFiling {
         this.updatedAt = LocalDateTime.now();
     }
 
+    public void changeContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
 
 }
\ No newline at end of file
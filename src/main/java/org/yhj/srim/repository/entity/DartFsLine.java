@@ -7,7 +7,12 @@ import lombok.NoArgsConstructor;
 import org.yhj.srim.client.dto.DartFsRow;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
 
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -73,10 +78,6 @@ public class DartFsLine {
     @Column(name = "row_hash", length = 64)
     private String rowHash;
 
-    @Lob
-    @Column(name = "raw_json")
-    private String rawJson;
-
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -103,8 +104,66 @@ public class DartFsLine {
         entity.bfefrmtrmNm = row.getBfefrmtrmNm();
         entity.bfefrmtrmAmount = row.getBfefrmtrmAmount();
         entity.currency = row.getCurrency();
-//        entity.rowHash = rowHash;
-        entity.rawJson = row.getRawJson();
+        entity.rowHash = rowHashOf(row);
         return entity;
     }
+
+    /**
+     * 한 공시 안에서 라인을 식별하는 키 (양식 + 계정 ID/명 + 세부구분)
+     * 같은 키가 여러 줄이면 등장 순서로 짝을 맞춘다.
+     */
+    public static String lineKeyOf(String sjDiv, String accountId, String accountNm, String accountDetail) {
+        return sjDiv + '\u0001' + accountId + '\u0001' + nullToEmpty(accountNm) + '\u0001' + nullToEmpty(accountDetail);
+    }
+
+    public static String lineKeyOf(DartFsRow row) {
+        return lineKeyOf(row.getSjDiv(), row.getAccountId(), row.getAccountNm(), row.getAccountDetail());
+    }
+
+    /**
+     * 라인 내용 해시 (SHA-256, hex 64자)
+     * 저장 컬럼 값만 대상 (원본 JSON 은 dart_fs_raw_archive 에 따로 보관)
+     */
+    public static String rowHashOf(DartFsRow row) {
+        StringBuilder sb = new StringBuilder(256)
+                .append(row.getSjDiv()).append('\u0001')
+                .append(row.getSjNm()).append('\u0001')
+                .append(row.getAccountId()).append('\u0001')
+                .append(row.getAccountNm()).append('\u0001')
+                .append(row.getAccountDetail()).append('\u0001')
+                .append(row.getOrd()).append('\u0001')
+                .append(row.getThstrmNm()).append('\u0001')
+                .append(plain(row.getThstrmAmount())).append('\u0001')
+                .append(plain(row.getThstrmAddAmount())).append('\u0001')
+                .append(row.getFrmtrmNm()).append('\u0001')
+                .append(plain(row.getFrmtrmAmount())).append('\u0001')
+                .append(row.getBfefrmtrmNm()).append('\u0001')
+                .append(plain(row.getBfefrmtrmAmount())).append('\u0001')
+                .append(row.getCurrency());
+        return sha256Hex(sb.toString());
+    }
+
+    /**
+     * 공시 전체 내용 해시 - 라인 해시를 정렬해서 다시 해시 (응답 내 행 순서와 무관)
+     */
+    public static String contentHashOf(List<String> rowHashes) {
+        return sha256Hex(String.join(",", rowHashes.stream().sorted().toList()));
+    }
+
+    private static String sha256Hex(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String plain(BigDecimal value) {
+        return value == null ? "null" : value.toPlainString();
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
 }
\ No newline at end of file
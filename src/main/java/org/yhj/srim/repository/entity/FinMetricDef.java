@@ -2,9 +2,13 @@ package org.yhj.srim.repository.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Comment;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "fin_metric_def",
         uniqueConstraints = {
                 @UniqueConstraint(name = "UN_FMD_NAME", columnNames = {"name_kor"})
@@ -2,16 +2,23 @@ package org.yhj.srim.repository.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Comment;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "stock_code",
         uniqueConstraints = {
-                @UniqueConstraint(name = "UN_STOCK_CODE_MARKET_TICKER", 
-                                columnNames = {"market", "ticker_krx"})
+                @UniqueConstraint(name = "UN_STOCK_CODE_TICKER_MARKET",
+                                columnNames = {"ticker_krx", "market"})
+        },
+        indexes = {
+                @Index(name = "IX_STOCK_CODE_NAME_ID", columnList = "company_name, stock_id")
         })
 @Getter
 @Setter
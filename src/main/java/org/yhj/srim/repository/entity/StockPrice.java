@@ -5,6 +5,7 @@ import lombok.*;
 import org.hibernate.annotations.Comment;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Getter
@@ -12,7 +13,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "stock_price")
+@Table(name = "stock_price",
+        uniqueConstraints = @UniqueConstraint(name = "UN_STOCK_PRICE_TRADE", columnNames = {"company_id", "trade_date", "source"}))
 public class StockPrice {
 
     @Id
@@ -26,6 +28,10 @@ public class StockPrice {
     @Comment("FK → company.company_id")
     private Company company;
 
+    @Column(name = "trade_date", nullable = false)
+    @Comment("거래일")
+    private LocalDate tradeDate;
+
     @Column(name = "as_of", nullable = false)
     @Comment("수집 시각(현지시간)")
     private LocalDateTime asOf;
@@ -0,0 +1,76 @@
+package org.yhj.srim.repository.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Comment;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * S-RIM 계산 입력 스냅샷 (회사 + 회계연도 1행)
+ * fin_metric_value / stock_share_status 에서 파생되며 ValuationSnapshotWriter 가 JDBC 로 갱신한다. (JPA 로는 읽기만)
+ */
+@Entity
+@Immutable
+@Table(name = "valuation_input_snapshot")
+@IdClass(ValuationInputSnapshot.Key.class)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Comment("S-RIM 계산 입력 스냅샷(연간)")
+public class ValuationInputSnapshot {
+
+    @Id
+    @Column(name = "company_id")
+    private Long companyId;
+
+    @Id
+    @Column(name = "fiscal_year")
+    private Integer fiscalYear;
+
+    @Column(name = "equity_owner", precision = 28, scale = 6)
+    @Comment("지배주주지분(TOTAL_EQUITY_OWNER)")
+    private BigDecimal equityOwner;
+
+    @Column(name = "bps", precision = 28, scale = 6)
+    @Comment("BPS")
+    private BigDecimal bps;
+
+    @Column(name = "roe", precision = 28, scale = 6)
+    @Comment("ROE(%) 당해")
+    private BigDecimal roe;
+
+    @Column(name = "roe_prev1", precision = 28, scale = 6)
+    @Comment("ROE(%) 전년")
+    private BigDecimal roePrev1;
+
+    @Column(name = "roe_prev2", precision = 28, scale = 6)
+    @Comment("ROE(%) 전전년")
+    private BigDecimal roePrev2;
+
+    @Column(name = "shares_outstanding")
+    @Comment("유통주식수(보통주)")
+    private Long sharesOutstanding;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * S-RIM 계산에 필요한 값이 모두 있는지 (없으면 원본 테이블 경로로 계산)
+     */
+    public boolean isComplete() {
+        return equityOwner != null && roe != null && roePrev1 != null && roePrev2 != null
+                && sharesOutstanding != null;
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long companyId;
+        private Integer fiscalYear;
+    }
+}
@@ -0,0 +1,253 @@
+package org.yhj.srim.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.yhj.srim.util.AhoCorasick;
+
+import java.util.*;
+
+/**
+ * DART 재무제표 라인 → 내부 지표 코드 매핑 (테이블 기반)
+ * - fs_account_map       : (sj_div, account_id) 완전 일치 규칙, 계정명/구성요소 포함 조건(선택)
+ * - fs_account_name_rule : 계정명(공백 제거) 포함/완전 일치, account_id 포함 규칙
+ * 두 테이블을 불변 RuleSet 으로 컴파일해서 라인마다
+ *   1) (sj_div, account_id) 해시 조회 → 조건 맞는 첫 규칙 (priority 순)
+ *   2) 없으면 sj_div 별 Aho-Corasick 으로 계정명/ID 에 걸리는 규칙 중 priority 가 가장 작은 것
+ * metric_code 가 IGNORE 인 규칙은 "매핑하지 않음" (예: 부채와자본총계, 비유동자산)
+ * 테이블이 바뀌면 (행 수 / 최종 수정시각) dart.account-map.reload-interval 주기로 다시 컴파일해서 교체한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AccountMetricMatcher {
+
+    public static final String IGNORE = "IGNORE";
+
+    private static final String VERSION_SQL = """
+        SELECT CONCAT_WS('|',
+            (SELECT COUNT(*) FROM fs_account_map),
+            (SELECT MAX(updated_at) FROM fs_account_map),
+            (SELECT COUNT(*) FROM fs_account_name_rule),
+            (SELECT MAX(updated_at) FROM fs_account_name_rule))
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile RuleSet ruleSet;
+    private volatile String loadedVersion;
+
+    /**
+     * @return 지표 코드 (매핑 안 되면 null)
+     */
+    public String match(String sjDiv, String accountId, String accountNm, String accountDetail) {
+        if (accountId == null && accountNm == null) {
+            return null;
+        }
+        RuleSet rules = ruleSet;
+        if (rules == null) {
+            reload();
+            rules = ruleSet;
+        }
+        return rules.match(sjDiv, accountId, accountNm, accountDetail);
+    }
+
+    @Scheduled(fixedDelayString = "${dart.account-map.reload-interval:PT1M}",
+            initialDelayString = "${dart.account-map.reload-interval:PT1M}")
+    public void reloadIfChanged() {
+        if (ruleSet == null) {
+            return; // 아직 한 번도 안 쓰였으면 첫 match 때 로드
+        }
+        try {
+            String version = jdbcTemplate.queryForObject(VERSION_SQL, String.class);
+            if (!Objects.equals(version, loadedVersion)) {
+                reload();
+            }
+        } catch (Exception e) {
+            log.warn("[ACCOUNT-MAP] 변경 확인 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 규칙 다시 컴파일
+     * @return 규칙 수
+     */
+    public synchronized int reload() {
+        String version = jdbcTemplate.queryForObject(VERSION_SQL, String.class);
+
+        List<IdRule> idRules = jdbcTemplate.query("""
+            SELECT sj_div, account_id, metric_code, priority, account_nm_pattern, account_detail_pattern
+            FROM fs_account_map
+            ORDER BY priority, metric_code
+        """, (rs, i) -> new IdRule(
+                normalizeSj(rs.getString(1)),
+                rs.getString(2).trim(),
+                rs.getString(3),
+                rs.getInt(4),
+                normalizeOrNull(rs.getString(5)),
+                normalizeOrNull(rs.getString(6))));
+
+        List<NameRule> nameRules = jdbcTemplate.query("""
+            SELECT rule_id, sj_div, target, match_type, pattern, metric_code, priority
+            FROM fs_account_name_rule
+        """, (rs, i) -> new NameRule(
+                rs.getLong(1),
+                normalizeSj(rs.getString(2)),
+                rs.getString(3),
+                rs.getString(4),
+                "ACCOUNT_ID".equals(rs.getString(3)) ? rs.getString(5).trim() : normalize(rs.getString(5)),
+                rs.getString(6),
+                rs.getInt(7)));
+
+        ruleSet = RuleSet.compile(idRules, nameRules);
+        loadedVersion = version;
+        log.info("[ACCOUNT-MAP] 매핑 규칙 컴파일 - id 규칙 {}건, 이름 규칙 {}건", idRules.size(), nameRules.size());
+        return idRules.size() + nameRules.size();
+    }
+
+    // 계정명은 공백 차이("지배기업의 소유주에게 귀속되는 자본" / "지배기업의소유주에게귀속되는자본")를 무시
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!Character.isWhitespace(c) && c != '\u00A0') {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String normalizeOrNull(String value) {
+        String normalized = normalize(value);
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    private static String normalizeSj(String sjDiv) {
+        return sjDiv == null ? "" : sjDiv.trim().toUpperCase();
+    }
+
+    private record IdRule(String sjDiv, String accountId, String metricCode, int priority,
+                          String namePattern, String detailPattern) {
+
+        boolean accepts(String name, String detail) {
+            return (namePattern == null || name.contains(namePattern))
+                    && (detailPattern == null || detail.contains(detailPattern));
+        }
+    }
+
+    private record NameRule(long ruleId, String sjDiv, String target, String matchType,
+                            String pattern, String metricCode, int priority) {
+
+        boolean before(NameRule other) {
+            return other == null || priority < other.priority
+                    || (priority == other.priority && ruleId < other.ruleId);
+        }
+    }
+
+    /**
+     * 컴파일된 규칙 (불변, 여러 스레드 공유)
+     */
+    private static final class RuleSet {
+
+        private final Map<String, List<IdRule>> idRulesByKey;
+        private final Map<String, Map<String, NameRule>> exactNameBySj;
+        private final Map<String, AhoCorasick<NameRule>> nameAutomatonBySj;
+        private final Map<String, AhoCorasick<NameRule>> idAutomatonBySj;
+
+        private RuleSet(Map<String, List<IdRule>> idRulesByKey,
+                        Map<String, Map<String, NameRule>> exactNameBySj,
+                        Map<String, AhoCorasick<NameRule>> nameAutomatonBySj,
+                        Map<String, AhoCorasick<NameRule>> idAutomatonBySj) {
+            this.idRulesByKey = idRulesByKey;
+            this.exactNameBySj = exactNameBySj;
+            this.nameAutomatonBySj = nameAutomatonBySj;
+            this.idAutomatonBySj = idAutomatonBySj;
+        }
+
+        static RuleSet compile(List<IdRule> idRules, List<NameRule> nameRules) {
+            // 조회 결과가 이미 priority 순이므로 키별 리스트도 priority 순
+            Map<String, List<IdRule>> idRulesByKey = new HashMap<>();
+            for (IdRule rule : idRules) {
+                idRulesByKey.computeIfAbsent(key(rule.sjDiv(), rule.accountId()), k -> new ArrayList<>()).add(rule);
+            }
+            idRulesByKey.replaceAll((k, v) -> List.copyOf(v));
+
+            Map<String, Map<String, NameRule>> exactNameBySj = new HashMap<>();
+            Map<String, Map<String, List<NameRule>>> containsNameBySj = new HashMap<>();
+            Map<String, Map<String, List<NameRule>>> containsIdBySj = new HashMap<>();
+            for (NameRule rule : nameRules) {
+                if (rule.pattern().isEmpty()) {
+                    continue;
+                }
+                if ("EXACT".equals(rule.matchType())) {
+                    exactNameBySj.computeIfAbsent(rule.sjDiv(), k -> new HashMap<>())
+                            .merge(rule.pattern(), rule, (a, b) -> a.before(b) ? a : b);
+                } else {
+                    Map<String, Map<String, List<NameRule>>> target =
+                            "ACCOUNT_ID".equals(rule.target()) ? containsIdBySj : containsNameBySj;
+                    target.computeIfAbsent(rule.sjDiv(), k -> new HashMap<>())
+                            .computeIfAbsent(rule.pattern(), k -> new ArrayList<>())
+                            .add(rule);
+                }
+            }
+
+            Map<String, AhoCorasick<NameRule>> nameAutomata = new HashMap<>();
+            containsNameBySj.forEach((sj, patterns) -> nameAutomata.put(sj, AhoCorasick.build(patterns)));
+            Map<String, AhoCorasick<NameRule>> idAutomata = new HashMap<>();
+            containsIdBySj.forEach((sj, patterns) -> idAutomata.put(sj, AhoCorasick.build(patterns)));
+
+            return new RuleSet(Map.copyOf(idRulesByKey), Map.copyOf(exactNameBySj),
+                    Map.copyOf(nameAutomata), Map.copyOf(idAutomata));
+        }
+
+        String match(String sjDiv, String accountId, String accountNm, String accountDetail) {
+            String sj = normalizeSj(sjDiv);
+            String id = accountId != null ? accountId.trim() : "";
+            String name = normalize(accountNm);
+
+            // 1) account_id 완전 일치
+            List<IdRule> candidates = id.isEmpty() ? null : idRulesByKey.get(key(sj, id));
+            if (candidates != null) {
+                String detail = normalize(accountDetail);
+                for (IdRule rule : candidates) {
+                    if (rule.accepts(name, detail)) {
+                        return resolve(rule.metricCode());
+                    }
+                }
+            }
+
+            // 2) 계정명 / account_id 패턴
+            NameRule[] best = new NameRule[1];
+            Map<String, NameRule> exact = exactNameBySj.get(sj);
+            if (exact != null) {
+                best[0] = exact.get(name);
+            }
+            AhoCorasick<NameRule> nameAutomaton = nameAutomatonBySj.get(sj);
+            if (nameAutomaton != null) {
+                nameAutomaton.forEachMatch(name, rule -> {
+                    if (rule.before(best[0])) best[0] = rule;
+                });
+            }
+            AhoCorasick<NameRule> idAutomaton = idAutomatonBySj.get(sj);
+            if (idAutomaton != null && !id.isEmpty()) {
+                idAutomaton.forEachMatch(id, rule -> {
+                    if (rule.before(best[0])) best[0] = rule;
+                });
+            }
+            return best[0] == null ? null : resolve(best[0].metricCode());
+        }
+
+        private static String resolve(String metricCode) {
+            return IGNORE.equals(metricCode) ? null : metricCode;
+        }
+
+        private static String key(String sj, String accountId) {
+            return sj + '\u0000' + accountId;
+        }
+    }
+}
@@ -2,12 +2,12 @@ package org.yhj.srim.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.yhj.srim.client.OutboundHttpClient;
 import org.yhj.srim.repository.BondYieldCurveRepository;
 import org.yhj.srim.repository.entity.BondYieldCurve;
 
@@ -26,6 +26,8 @@ import java.util.Map;
 public class BondYieldCrawlingService {
 
     private final BondYieldCurveRepository bondYieldCurveRepository;
+    private final OutboundHttpClient outboundHttpClient;
+    private final SecondLevelCacheService secondLevelCacheService;
     
     private static final String BOND_YIELD_URL = "https://www.kisrating.com/ratingsStatistics/statics_spread.do";
     
@@ -39,10 +41,7 @@ public class BondYieldCrawlingService {
             log.info("회사채 수익률 크롤링 시작...");
             
             // 페이지 로드
-            Document doc = Jsoup.connect(BOND_YIELD_URL)
-                    .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36")
-                    .timeout(10000)
-                    .get();
+            Document doc = outboundHttpClient.getDocument(BOND_YIELD_URL, Map.of());
             
             // 테이블 파싱
             List<BondYieldCurve> bondYields = parseTable(doc);
@@ -58,6 +57,7 @@ public class BondYieldCrawlingService {
             
             // 새 데이터 저장
             bondYieldCurveRepository.saveAll(bondYields);
+            secondLevelCacheService.evict(List.of(BondYieldCurve.class), BondYieldCurveRepository.QUERY_CACHE_REGION);
             
             log.info("회사채 수익률 크롤링 완료: {} 건", bondYields.size());
             
@@ -1,5 +1,7 @@
 package org.yhj.srim.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -10,6 +12,7 @@ import org.yhj.srim.client.dto.DaliyPrice;
 import org.yhj.srim.client.dto.DartFsRow;
 import org.yhj.srim.client.dto.DartShareStatusRow;
 import org.yhj.srim.common.exception.CustomException;
+import org.yhj.srim.common.exception.code.CrawlingErrorCode;
 import org.yhj.srim.common.exception.code.ErrorCode;
 import org.yhj.srim.common.exception.code.FinancialErrorCode;
 import org.yhj.srim.common.exception.code.StockErrorCode;
@@ -17,8 +20,8 @@ import org.yhj.srim.repository.*;
 import org.yhj.srim.repository.entity.*;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -29,12 +32,22 @@ public class CrawlingService {
     private final DartClient dartClient;
     private final NaverClient naverClient;
     private final DartFsFilingRepository filingRepository;
-    private final DartFsLineRepository lineRepository;
+    private final DartFsLineBulkWriter lineBulkWriter;
+    private final DartFsRawArchiveStore rawArchiveStore;
     private final StockShareStatusRepository shareStatusRepository;
+    private final ValuationSnapshotWriter valuationSnapshotWriter;
     private final CompanyRepository companyRepository;
     private final StockCodeRepository stockCodeRepository;
-    private final StockPriceRepository stockPriceRepository;
+    private final StockPriceBulkWriter stockPriceBulkWriter;
+    private final IncrementalMetricService incrementalMetricService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
 
+    /**
+     * 사업보고서 재무제표 수집/저장
+     * 같은 공시를 다시 수집하면 내용 해시(content_hash)가 같을 때 통째로 건너뛰고,
+     * 다르면 바뀐 라인만 반영한다.
+     * @return 새로 저장/수정/삭제된 라인 수 (변경 없으면 0)
+     */
     @Transactional
     public int crawlAndSaveAnnualFinancial(String corpCode, Long companyId, int year) {
 
@@ -49,17 +62,36 @@ public class CrawlingService {
         DartFsRow meta = rows.get(0);
         DartFsFiling filing = createOrGetFiling(corpCode, companyId, meta);
 
-        // Line 엔티티로 변환 + 저장
-        List<DartFsLine> entities = rows.stream()
-                .map(row -> DartFsLine.fromRow(
-                        filing,
-                        companyId,
-                        row
-                ))
-                .toList();
+        String contentHash = DartFsLine.contentHashOf(rows.stream().map(DartFsLine::rowHashOf).toList());
+        if (contentHash.equals(filing.getContentHash())) {
+            log.debug("변경 없는 공시 - 저장 생략 rceptNo={}, year={}", filing.getRceptNo(), year);
+            return 0;
+        }
+
+        // Line 일괄 반영 (IDENTITY 라 saveAll 은 행마다 INSERT → JDBC batch, 기존 라인은 row_hash 비교)
+        DartFsLineBulkWriter.SyncResult result = lineBulkWriter.sync(filing.getFsFilingId(), companyId, rows);
+        // 원본 JSON 은 공시 단위로 압축 보관 (dart.archive.raw-json=true 일 때만 값이 있음)
+        rawArchiveStore.save(filing.getFsFilingId(), rows);
+        filing.changeContentHash(contentHash);
+        filingRepository.save(filing);
 
-        lineRepository.saveAll(entities);
-        return entities.size();
+        log.debug("재무제표 라인 반영 rceptNo={}, year={} - {}", filing.getRceptNo(), year, result);
+        return result.changedCount();
+    }
+
+    /**
+     * 공시 1건의 원본 라인 JSON 배열 (재파싱/디버깅용, 아카이브에서 압축 해제)
+     */
+    @Transactional(readOnly = true)
+    public JsonNode getRawFilingJson(Long fsFilingId) {
+        String json = rawArchiveStore.loadJson(fsFilingId)
+                .orElseThrow(() -> new CustomException(CrawlingErrorCode.RAW_ARCHIVE_NOT_FOUND));
+        try {
+            return objectMapper.readTree(json);
+        } catch (Exception e) {
+            log.error("[RAW] 원본 JSON 파싱 실패 fsFilingId={}", fsFilingId, e);
+            throw new CustomException(CrawlingErrorCode.JSON_PARSE_FAILED);
+        }
     }
 
     /**
@@ -90,6 +122,12 @@ public class CrawlingService {
 
                     Integer bsnsYear = row.getBsnsYear() != null ? row.getBsnsYear() : year;
 
+                    // (회사, 사업연도, 주식종류) 유니크키 - 이미 있으면 같은 PK 로 덮어씀 (재수집/백필 재실행)
+                    Long existingId = shareStatusRepository
+                            .findByCompany_CompanyIdAndBsnsYearAndSe(companyId, bsnsYear, row.getSe())
+                            .map(StockShareStatus::getStockStatusId)
+                            .orElse(null);
+
                     Long istc  = row.getIstcTotqy();
                     Long self  = row.getTesstkCo();
                     Long distb = row.getDistbStockCo();
@@ -98,6 +136,7 @@ public class CrawlingService {
                     }
 
                     return StockShareStatus.builder()
+                            .stockStatusId(existingId)
                             .company(company)
                             .bsnsYear(bsnsYear)
                             .settlementDate(row.getStlmDt())
@@ -114,6 +153,18 @@ public class CrawlingService {
             log.debug("저장할 주식수 정보: {}", entity);
         }
         shareStatusRepository.saveAll(entities);
+        // 유통주식수가 바뀌었으니 S-RIM 입력 스냅샷 갱신 (JDBC 로 읽으므로 먼저 flush)
+        shareStatusRepository.flush();
+        // 가장 이른 결산일 이후 기간의 BPS 만 재계산 (스냅샷 갱신 포함), 결산일이 없으면 스냅샷만
+        Optional<LocalDate> earliestSettlement = entities.stream()
+                .map(StockShareStatus::getSettlementDate)
+                .filter(Objects::nonNull)
+                .min(LocalDate::compareTo);
+        if (earliestSettlement.isPresent()) {
+            incrementalMetricService.onSharesChanged(companyId, earliestSettlement.get());
+        } else {
+            valuationSnapshotWriter.refreshCompany(companyId);
+        }
 
         log.debug("주식수 {}건 저장 완료 - corpCode={}, companyId={}, year={}",
                 entities.size(), corpCode, companyId, year);
@@ -168,20 +219,7 @@ public class CrawlingService {
 
         List<DaliyPrice> daliyPrices = naverClient.fetchDailyPrices(tickerKrx, start, end);
 
-        List<StockPrice> entities = daliyPrices.stream()
-                .map(price -> StockPrice.builder()
-                        .company(company)
-                        .asOf(LocalDateTime.now())
-                        .price(price.getClose())
-                        .openPrice(price.getOpen())
-                        .highPrice(price.getHigh())
-                        .lowPrice(price.getLow())
-                        .volume(price.getVolume())
-                        .source(StockPrice.MarketSnapshotSource.NAVER)
-                        .build())
-                .toList();
-
-        stockPriceRepository.saveAll(entities);
-        return entities.size();
+        // (company_id, trade_date, source) 기준 upsert - 같은 구간 재수집해도 중복 없음
+        return stockPriceBulkWriter.upsertDaily(companyId, daliyPrices, StockPrice.MarketSnapshotSource.NAVER);
     }
 }
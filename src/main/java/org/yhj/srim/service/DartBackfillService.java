@@ -0,0 +1,206 @@
+package org.yhj.srim.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.yhj.srim.client.DartQuotaManager;
+import org.yhj.srim.client.DartRateLimiter;
+import org.yhj.srim.common.exception.CustomException;
+import org.yhj.srim.common.exception.code.CrawlingErrorCode;
+import org.yhj.srim.repository.StockCodeRepository;
+import org.yhj.srim.repository.StockShareStatusRepository;
+import org.yhj.srim.repository.entity.Company;
+import org.yhj.srim.repository.entity.StockCode;
+import org.yhj.srim.service.dto.DartBackfillResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DART 재무제표/주식수 대량 백필 서비스
+ * - 회사 단위 작업을 고정 크기 워커 풀에 분산
+ * - 호출 간격은 스레드별 sleep 이 아니라 {@link DartRateLimiter} 의 전역 토큰 버킷으로 제어
+ * - 일일 한도 소진 시 워커는 {@link DartQuotaManager#awaitReset()} 으로 초기화까지 대기 후 재개
+ *   (dart.quota.pause-until-reset=false 면 남은 작업 취소)
+ * - 재무제표는 {@link SparseFetchPlanner} 로 3년 간격만 조회, 주식수는 연도별 조회
+ * - 각 호출은 CrawlingService 의 트랜잭션 단위(연도별) 그대로 실행
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DartBackfillService {
+
+    private final StockCodeRepository stockCodeRepository;
+    private final StockShareStatusRepository stockShareStatusRepository;
+    private final FinancialService financialService;
+    private final CrawlingService crawlingService;
+    private final SparseFetchPlanner sparseFetchPlanner;
+    private final DartRateLimiter dartRateLimiter;
+    private final DartQuotaManager dartQuotaManager;
+
+    @Value("${dart.backfill.threads:8}")
+    private int threads;
+
+    @Value("${dart.quota.pause-until-reset:true}")
+    private boolean pauseUntilReset;
+
+    /**
+     * DART 코드가 매핑된 전체 종목 백필 (직전 연도부터 years 년)
+     */
+    public DartBackfillResult backfillMarket(int years) {
+        List<StockCode> targets = stockCodeRepository.findByDartCorpCodeIsNotNull();
+        int endYear = LocalDate.now().getYear() - 1;
+        int startYear = endYear - years + 1;
+        return backfill(targets, startYear, endYear);
+    }
+
+    /**
+     * 지정 종목들의 startYear ~ endYear 재무제표/주식수 백필
+     */
+    public DartBackfillResult backfill(List<StockCode> targets, int startYear, int endYear) {
+        long startedAt = System.currentTimeMillis();
+
+        // 1) Company 확보 (순차) - companyId -> corpCode
+        Map<Long, String> corpCodeByCompanyId = new LinkedHashMap<>();
+        for (StockCode stockCode : targets) {
+            String corpCode = stockCode.getDartCorpCode();
+            if (corpCode == null || corpCode.length() != 8) {
+                continue;
+            }
+            Company company = financialService.getOrCreateCompany(stockCode.getStockId());
+            corpCodeByCompanyId.put(company.getCompanyId(), corpCode);
+        }
+
+        log.info("[BACKFILL] 시작 - companies={}, years={}~{}, threads={}, remainingQuota={}",
+                corpCodeByCompanyId.size(), startYear, endYear, threads, dartRateLimiter.getRemainingToday());
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicLong savedMetrics = new AtomicLong();
+
+        // 2) 회사 단위 작업 분산
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new BackfillThreadFactory());
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (Map.Entry<Long, String> entry : corpCodeByCompanyId.entrySet()) {
+                Long companyId = entry.getKey();
+                String corpCode = entry.getValue();
+
+                futures.add(executor.submit(() -> {
+                    while (true) {
+                        try {
+                            savedMetrics.addAndGet(runTask(corpCode, companyId, startYear, endYear));
+                            succeeded.incrementAndGet();
+                        } catch (CustomException e) {
+                            if (e.getErrorCode() == CrawlingErrorCode.DART_DAILY_LIMIT_EXCEEDED) {
+                                if (pauseUntilReset) {
+                                    // 한도 초기화까지 멈췄다가 같은 회사부터 이어서
+                                    // (재무제표는 planner 가, 주식수는 저장된 연도를 건너뜀)
+                                    dartQuotaManager.awaitReset();
+                                    continue;
+                                }
+                                failed.incrementAndGet();
+                                throw e;
+                            }
+                            failed.incrementAndGet();
+                            log.warn("[BACKFILL] 작업 실패 companyId={}: {}", companyId, e.getMessage());
+                        } catch (Exception e) {
+                            failed.incrementAndGet();
+                            log.warn("[BACKFILL] 작업 실패 companyId={}: {}", companyId, e.getMessage());
+                        }
+                        return null;
+                    }
+                }));
+            }
+
+            awaitAll(futures);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // 3) 회사별 최신 주식수 반영
+        for (Long companyId : corpCodeByCompanyId.keySet()) {
+            try {
+                financialService.updateCompanyShareInfo(companyId);
+            } catch (Exception e) {
+                log.debug("[BACKFILL] 주식수 갱신 생략 companyId={}: {}", companyId, e.getMessage());
+            }
+        }
+
+        DartBackfillResult result = DartBackfillResult.builder()
+                .companyCount(corpCodeByCompanyId.size())
+                .startYear(startYear)
+                .endYear(endYear)
+                .taskCount(futures.size())
+                .succeededCount(succeeded.get())
+                .failedCount(failed.get())
+                .savedMetricCount(savedMetrics.get())
+                .remainingDailyQuota(dartRateLimiter.getRemainingToday())
+                .elapsedMs(System.currentTimeMillis() - startedAt)
+                .build();
+
+        log.info("[BACKFILL] 완료 - {}", result);
+        return result;
+    }
+
+    /**
+     * 회사 1곳 백필: 재무제표 희소 수집 -> 연도별 주식수(없는 연도만) -> 구간 지표 생성
+     */
+    private long runTask(String corpCode, Long companyId, int startYear, int endYear) {
+        sparseFetchPlanner.fetchAnnualFinancials(corpCode, companyId, startYear, endYear);
+
+        for (int year = endYear; year >= startYear; year--) {
+            // 이미 저장된 연도는 재호출하지 않음 (재개/재실행 시 한도 절약)
+            if (!stockShareStatusRepository.existsByCompany_CompanyIdAndBsnsYear(companyId, year)) {
+                crawlingService.crawlAndSaveShareStatus(corpCode, companyId, year);
+            }
+        }
+        // 지표는 구간 한 번에 (저장 + 스냅샷 갱신도 회사당 한 번)
+        long metricCount = 0;
+        FinancialService.AnnualMetrics annual = financialService.getOrBuildAnnualMetrics(companyId, startYear, endYear);
+        for (Map<String, BigDecimal> metrics : annual.metricsByYear().values()) {
+            metricCount += metrics.size();
+        }
+        return metricCount;
+    }
+
+    /**
+     * 모든 작업 완료 대기. 일일 한도 초과가 발생하면 남은 작업은 취소한다.
+     */
+    private void awaitAll(List<Future<?>> futures) {
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                log.warn("[BACKFILL] 일일 호출 한도 소진으로 남은 작업 취소");
+                futures.forEach(f -> f.cancel(false));
+                return;
+            } catch (CancellationException ignored) {
+                // 취소된 작업은 집계하지 않음
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(f -> f.cancel(true));
+                throw new CustomException(CrawlingErrorCode.CRAWLING_INTERRUPTED);
+            }
+        }
+    }
+
+    private static class BackfillThreadFactory implements ThreadFactory {
+        private final AtomicInteger seq = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "dart-backfill-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+}
@@ -7,59 +7,66 @@ import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
-import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
+import org.yhj.srim.repository.entity.StockCode;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
 import java.io.InputStream;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class DartCorpCodeSyncService {
+
+    // INSERT/UPDATE 배치 한 번에 보내는 행 수
+    private static final int CHUNK_SIZE = 1000;
+
     private final JdbcTemplate jdbcTemplate;
+    private final SecondLevelCacheService secondLevelCacheService;
 
     /**
      * classpath:sql/CORPCODE.xml 을 읽어서
-     * 1) dart_corp_map 테이블에 적재하고
-     * 2) stock_code.dart_corp_code 를 대량 UPDATE 한다.
+     * 1) dart_corp_map 테이블에 바뀐 행만 반영하고
+     * 2) 매핑이 달라진 stock_code.dart_corp_code 만 UPDATE 한다.
      */
     @Transactional
     public int syncFromXml(){
         log.info("=== DART corpCode 동기화 시작 ===");
+        long startedAt = System.currentTimeMillis();
 
-        // 1) XML → dart_corp_map 적재
-        int inserted = 0;
+        // 1) XML → dart_corp_map 차분 반영
+        Map<String, String> corpCodeByStockCode;
         try {
-            inserted = loadXmlToTempTable();
+            corpCodeByStockCode = syncCorpMap();
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
-        log.info("dart_corp_map 적재 건수 = {}", inserted);
-
-        // 2) stock_code 갱신
-        int updated = jdbcTemplate.update("""
-            UPDATE stock_code sc
-            JOIN dart_corp_map d ON sc.ticker_krx = d.stock_code
-            SET sc.dart_corp_code = d.corp_code
-        """);
+
+        // 2) stock_code 갱신 (매핑이 없거나 달라진 종목만, PK 단위)
+        int updated = updateStockCodes(corpCodeByStockCode);
         log.info("stock_code.dart_corp_code 갱신 건수 = {}", updated);
+        if (updated > 0) {
+            // JDBC 로 직접 고쳤으므로 Hibernate 가 모름 → 2차 캐시의 StockCode 비우기
+            secondLevelCacheService.evict(List.of(StockCode.class));
+        }
 
-        log.info("=== DART corpCode 동기화 완료 ===");
+        log.info("=== DART corpCode 동기화 완료 ({}ms) ===", System.currentTimeMillis() - startedAt);
 
         return updated;
     }
 
     /**
-     * classpath:sql/CORPCODE.xml 을 읽어서 dart_corp_map 테이블을 채운다.
-     * @return INSERT 건수
+     * CORPCODE.xml 을 StAX 로 한 건씩 읽으면서 기존 dart_corp_map 과 비교해
+     * 신규/변경 행은 UPSERT, XML 에서 사라진 행은 DELETE 한다. (TRUNCATE 없음)
+     * @return 상장사 stock_code → corp_code 전체 매핑
      */
-    private int loadXmlToTempTable() throws Exception {
-        // 기존 데이터 비우기 (초기화용)
-        jdbcTemplate.update("TRUNCATE TABLE dart_corp_map");
+    private Map<String, String> syncCorpMap() throws Exception {
+        Map<String, CorpRow> existing = new HashMap<>();
+        jdbcTemplate.query("SELECT corp_code, corp_name, stock_code FROM dart_corp_map", rs -> {
+            existing.put(rs.getString(1), new CorpRow(rs.getString(1), rs.getString(2), rs.getString(3)));
+        });
 
         // classpath 에서 파일 로드
         Resource resource = new ClassPathResource("sql/CORPCODE.xml");
@@ -67,51 +74,114 @@ public class DartCorpCodeSyncService {
             throw new IllegalStateException("CORPCODE.xml 파일을 찾을 수 없습니다. (classpath:sql/CORPCODE.xml)");
         }
 
-        List<Object[]> batch = new ArrayList<>();
-
-        try (InputStream is = resource.getInputStream()) {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            org.w3c.dom.Document doc = builder.parse(is);
-            doc.getDocumentElement().normalize();
-
-            NodeList list = doc.getElementsByTagName("list");
-            log.info("CORPCODE.xml list 노드 개수 = {}", list.getLength());
-
-            for (int i = 0; i < list.getLength(); i++) {
-                Element e = (Element) list.item(i);
+        Map<String, String> corpCodeByStockCode = new HashMap<>();
+        Set<String> seen = new HashSet<>();
+        List<Object[]> chunk = new ArrayList<>(CHUNK_SIZE);
+        int total = 0;
+        int upserted = 0;
 
-                String corpCode  = getTagText(e, "corp_code");   // 00126380
-                String corpName  = getTagText(e, "corp_name");   // 삼성전자
-                String stockCode = getTagText(e, "stock_code");  // 005930 (상장사만)
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        // 외부 엔티티/DTD 비활성화 (XXE 방지)
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
 
-                // 비상장( stock_code 비어있는 경우 )는 대상이 아니니 스킵
-                if (stockCode == null || stockCode.isBlank()) {
-                    continue;
+        try (InputStream is = resource.getInputStream()) {
+            XMLStreamReader reader = factory.createXMLStreamReader(is);
+            try {
+                String corpCode = null;
+                String corpName = null;
+                String stockCode = null;
+
+                while (reader.hasNext()) {
+                    int event = reader.next();
+                    if (event != XMLStreamConstants.START_ELEMENT) {
+                        if (event == XMLStreamConstants.END_ELEMENT && "list".equals(reader.getLocalName())) {
+                            total++;
+                            // 비상장( stock_code 비어있는 경우 )는 대상이 아니니 스킵
+                            if (corpCode != null && stockCode != null) {
+                                CorpRow row = new CorpRow(corpCode, corpName, stockCode);
+                                seen.add(corpCode);
+                                corpCodeByStockCode.put(stockCode, corpCode);
+                                if (!row.equals(existing.get(corpCode))) {
+                                    chunk.add(new Object[]{corpCode, corpName, stockCode});
+                                    if (chunk.size() >= CHUNK_SIZE) {
+                                        upserted += upsertChunk(chunk);
+                                    }
+                                }
+                            }
+                            corpCode = corpName = stockCode = null;
+                        }
+                        continue;
+                    }
+
+                    switch (reader.getLocalName()) {
+                        case "corp_code" -> corpCode = trimToNull(reader.getElementText());   // 00126380
+                        case "corp_name" -> corpName = trimToNull(reader.getElementText());   // 삼성전자
+                        case "stock_code" -> stockCode = trimToNull(reader.getElementText()); // 005930 (상장사만)
+                        default -> {
+                            // list, result, corp_eng_name, modify_date 등
+                        }
+                    }
                 }
+            } finally {
+                reader.close();
+            }
+        }
+        upserted += upsertChunk(chunk);
+
+        // XML 에서 사라진(상장폐지 등) 매핑 삭제
+        List<Object[]> removed = existing.keySet().stream()
+                .filter(code -> !seen.contains(code))
+                .map(code -> new Object[]{code})
+                .toList();
+        for (int from = 0; from < removed.size(); from += CHUNK_SIZE) {
+            jdbcTemplate.batchUpdate("DELETE FROM dart_corp_map WHERE corp_code = ?",
+                    removed.subList(from, Math.min(from + CHUNK_SIZE, removed.size())));
+        }
 
-                // 혹시 모를 공백 제거
-                corpCode  = corpCode != null  ? corpCode.trim()  : null;
-                corpName  = corpName != null  ? corpName.trim()  : null;
-                stockCode = stockCode != null ? stockCode.trim() : null;
+        log.info("CORPCODE.xml list 노드 {}건 - 상장사 {}건, 신규/변경 {}건, 삭제 {}건",
+                total, seen.size(), upserted, removed.size());
+        return corpCodeByStockCode;
+    }
 
-                batch.add(new Object[]{ corpCode, corpName, stockCode });
-            }
+    private int upsertChunk(List<Object[]> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
         }
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO dart_corp_map (corp_code, corp_name, stock_code) VALUES (?,?,?)
+            ON DUPLICATE KEY UPDATE corp_name = VALUES(corp_name), stock_code = VALUES(stock_code)
+        """, chunk);
+        int size = chunk.size();
+        chunk.clear();
+        return size;
+    }
 
-        if (!batch.isEmpty()) {
-            jdbcTemplate.batchUpdate(
-                    "INSERT INTO dart_corp_map (corp_code, corp_name, stock_code) VALUES (?,?,?)",
-                    batch
-            );
+    /**
+     * 현재 stock_code 를 잠금 없이 읽어 매핑이 없거나 달라진 행만 PK 로 UPDATE
+     */
+    private int updateStockCodes(Map<String, String> corpCodeByStockCode) {
+        List<Object[]> changes = new ArrayList<>();
+        jdbcTemplate.query("SELECT stock_id, ticker_krx, dart_corp_code FROM stock_code", rs -> {
+            String corpCode = corpCodeByStockCode.get(rs.getString(2));
+            if (corpCode != null && !corpCode.equals(rs.getString(3))) {
+                changes.add(new Object[]{corpCode, rs.getLong(1)});
+            }
+        });
+
+        for (int from = 0; from < changes.size(); from += CHUNK_SIZE) {
+            jdbcTemplate.batchUpdate("UPDATE stock_code SET dart_corp_code = ? WHERE stock_id = ?",
+                    changes.subList(from, Math.min(from + CHUNK_SIZE, changes.size())));
         }
+        return changes.size();
+    }
 
-        return batch.size();
+    private static String trimToNull(String value) {
+        if (value == null) return null;
+        String v = value.trim();
+        return v.isEmpty() ? null : v;
     }
 
-    private String getTagText(Element e, String tagName) {
-        NodeList nl = e.getElementsByTagName(tagName);
-        if (nl.getLength() == 0) return null;
-        return nl.item(0).getTextContent();
+    private record CorpRow(String corpCode, String corpName, String stockCode) {
     }
 }
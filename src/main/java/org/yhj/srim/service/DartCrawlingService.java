@@ -8,13 +8,14 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.yhj.srim.client.DartClient;
+import org.yhj.srim.common.exception.CustomException;
+import org.yhj.srim.common.exception.code.CrawlingErrorCode;
 import org.yhj.srim.controller.dto.CompanyMetaDto;
 import org.yhj.srim.repository.*;
 import org.yhj.srim.repository.entity.*;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.*;
 
@@ -28,23 +29,28 @@ import java.util.*;
 @Slf4j
 public class DartCrawlingService {
 
-    @Value("${dart.api.key:**************apikey}")
-    private String dartApiKey;
-
     private final FinPeriodRepository finPeriodRepository;
     private final FinMetricDefRepository finMetricDefRepository;
-    private final FinMetricValueRepository finMetricValueRepository;
+    private final FinMetricValueBulkWriter finMetricValueBulkWriter;
     private final CompanyRepository companyRepository;
     private final StockCodeRepository stockCodeRepository;
     private final StockShareStatusRepository stockShareStatusRepository;
     private final BpsCalculatorService bpsCalculatorService;
-
-    private final WebClient webClient = WebClient.builder()
-            .baseUrl("https://opendart.fss.or.kr/api")
-            .build();
+    private final ValuationSnapshotWriter valuationSnapshotWriter;
+    private final DartClient dartClient;
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    // 결과에 들어가는 금액 지표 (순서 유지, 비율 지표는 MetricKernel.RATIOS)
+    private static final List<MetricKernel.Code> RESULT_AMOUNTS = List.of(
+            MetricKernel.Code.SALES, MetricKernel.Code.OP_INC, MetricKernel.Code.NET_INC,
+            MetricKernel.Code.TOTAL_EQUITY, MetricKernel.Code.TOTAL_EQUITY_OWNER,
+            MetricKernel.Code.EPS, MetricKernel.Code.BPS);
+
+    // true 면 지표 계산마다 BigDecimal 경로로 한 번 더 계산해서 비교
+    @Value("${dart.metric-kernel.verify:false}")
+    private boolean verifyMetricKernel;
+
     // DART 계정과목명 -> 내부 지표 코드 매핑
     private static final Map<String, String> ACCOUNT_TO_METRIC = new LinkedHashMap<>();
     
@@ -96,17 +102,7 @@ public class DartCrawlingService {
         log.info("[SHARE] 주식총수 조회 시작 corpCode={}, year={}", corpCode, bsnsYear);
 
         // https://opendart.fss.or.kr/api/stockTotqySttus.json?crtfc_key=&corp_code=00113410&bsns_year=2024&reprt_code=11011
-        String response = webClient.get()
-                .uri(uriBuilder -> uriBuilder
-                        .path("/stockTotqySttus.json")
-                        .queryParam("crtfc_key", dartApiKey)
-                        .queryParam("corp_code", corpCode)
-                        .queryParam("bsns_year", String.valueOf(bsnsYear))
-                        .queryParam("reprt_code", "11011")   // 사업보고서
-                        .build())
-                .retrieve()
-                .bodyToMono(String.class)
-                .block();
+        String response = dartClient.fetchShareStatusJson(corpCode, bsnsYear);
         JsonNode root;
 
         try {
@@ -276,10 +272,8 @@ public class DartCrawlingService {
                     StockShareStatus shareStatus = fetchAndSaveShareStatus(company, dartCorpCode, year);
                     log.info("{}년 주식총수 저장 완료 - shares={}", year, company.getSharesOutstanding());
                     sharesSaved = true;
-                    
-                    // API 호출 제한 방지
-                    Thread.sleep(1000);
                 } catch (Exception e) {
+                    stopIfQuotaExceeded(e);
                     log.warn("{}년 주식총수 조회 실패: {}", year, e.getMessage());
                 }
             }
@@ -295,6 +289,7 @@ public class DartCrawlingService {
                     savedCount += yearSaved;
                     log.info("{}년 재무 데이터 저장 완료 - {} 건", year, yearSaved);
                 } catch (Exception e) {
+                    stopIfQuotaExceeded(e);
                     log.warn("{}년 재무 데이터 처리 실패: {}", year, e.getMessage());
                 }
             }
@@ -304,6 +299,11 @@ public class DartCrawlingService {
             int bpsUpdated = bpsCalculatorService.recalcAllBpsForCompany(companyId);
             log.info("BPS 재계산 완료 - companyId={}, updated={} rows", companyId, bpsUpdated);
 
+            // BPS 가 바뀌었으면 위에서 이미 스냅샷 갱신, 아니면 지표 저장분만 여기서 한 번
+            if (savedCount > 0 && bpsUpdated == 0) {
+                valuationSnapshotWriter.refreshCompany(companyId);
+            }
+
 
             log.info("DART 재무정보 크롤링 완료 - 총 {} 건 저장", savedCount);
             return savedCount;
@@ -315,7 +315,7 @@ public class DartCrawlingService {
     }
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public int crawlAndSaveFinancialForYear(Company company, String dartCorpCode, int year) throws InterruptedException {
+    public int crawlAndSaveFinancialForYear(Company company, String dartCorpCode, int year) {
         Long companyId = company.getCompanyId();
 
         log.info("{}년 사업보고서 조회 중... (companyId={}, corpCode={})", year, companyId, dartCorpCode);
@@ -336,19 +336,10 @@ public class DartCrawlingService {
         // 이 트랜잭션 안에서만 fin_period / fin_metric_value 저장
         FinPeriod period = saveOrUpdatePeriod(companyId, year, 12, false);
 
-        int yearSaved = 0;
-        for (Map.Entry<String, BigDecimal> entry : financialData.entrySet()) {
-            String metricCode = entry.getKey();
-            BigDecimal value  = entry.getValue();
-            saveOrUpdateMetricValue(companyId, period, metricCode, value);
-            yearSaved++;
-        }
+        int yearSaved = finMetricValueBulkWriter.upsert(companyId, period.getPeriodId(), financialData, "DART");
 
         log.info("{}년 재무 데이터 저장 완료 - {} 건", year, yearSaved);
 
-        // API 호출 제한 방지
-        Thread.sleep(1000);
-
         return yearSaved;
     }
 
@@ -357,25 +348,13 @@ public class DartCrawlingService {
      * 특정 연도의 사업보고서 재무제표 데이터 조회
      */
     private Map<String, BigDecimal> fetchFinancialDataForYear(String corpCode, int year) {
-        // 1) DART에서 가져온 계정과목들을 내부 코드로 모아두는 raw map
-        Map<String, BigDecimal> raw = new LinkedHashMap<>();
-        Map<String, BigDecimal> prevRaw = new LinkedHashMap<>();    // 전기 값들 (ROE용)
+        // 1) DART에서 가져온 계정과목 금액을 내부 지표 ordinal 인덱스로 (당기/전기, MetricKernel)
+        MetricKernel kernel = new MetricKernel();
         Map<String, BigDecimal> result = new LinkedHashMap<>();
 
         try {
-            String response = webClient.get()
-                    // https://opendart.fss.or.kr/api/fnlttSinglAcntAll.json?crtfc_key=&corp_code=00113410&bsns_year=2024&reprt_code=11011&fs_div=CFS
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/fnlttSinglAcntAll.json")
-                            .queryParam("crtfc_key", dartApiKey)
-                            .queryParam("corp_code", corpCode)
-                            .queryParam("bsns_year", String.valueOf(year))
-                            .queryParam("reprt_code", "11011") // 사업보고서
-                            .queryParam("fs_div", "CFS")       // 연결재무제표
-                            .build())
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
+            // https://opendart.fss.or.kr/api/fnlttSinglAcntAll.json?crtfc_key=&corp_code=00113410&bsns_year=2024&reprt_code=11011&fs_div=CFS
+            String response = dartClient.fetchAnnualFinancialStatementsJson(corpCode, year);
 
             JsonNode root = objectMapper.readTree(response);
             String status = root.path("status").asText();
@@ -400,122 +379,57 @@ public class DartCrawlingService {
                             year, sjDiv, accountId, accountNm);
                     continue;
                 }
+                MetricKernel.Code code = MetricKernel.Code.of(metricCode);
+                if (code == null) {
+                    continue;
+                }
 
                 BigDecimal currVal = parseAmount(thstrmAmount);
                 BigDecimal prevVal = parseAmount(frmtrmAmount);
 
                 if (currVal != null) {
                     // NET_INC는 한 번 들어간 값(ProfitLoss)을 우선으로 유지
-                    if ("NET_INC".equals(metricCode) && raw.containsKey("NET_INC")) {
+                    if (code == MetricKernel.Code.NET_INC && kernel.hasCurrent(code)) {
                         log.debug("[FS-MAP][DUP] NET_INC 이미 존재: old={}, new={}, accountId={}, accountNm={}",
-                                raw.get("NET_INC"), currVal, accountId, accountNm);
+                                kernel.current(code), currVal, accountId, accountNm);
                         // 덮어쓰지 않고 스킵
-                    } else if ("NET_INC_OWNER".equals(metricCode) && raw.containsKey("NET_INC_OWNER")) {
+                    } else if (code == MetricKernel.Code.NET_INC_OWNER && kernel.hasCurrent(code)) {
                         log.debug("[FS-MAP][DUP] NET_INC_OWNER 이미 존재: old={}, new={}, accountId={}, accountNm={}",
-                                raw.get("NET_INC_OWNER"), currVal, accountId, accountNm);
+                                kernel.current(code), currVal, accountId, accountNm);
                     } else {
-                        raw.put(metricCode, currVal);
+                        kernel.putCurrent(code, currVal);
                     }
                 }
 
                 if (prevVal != null) {
-                    prevRaw.put(metricCode, prevVal);
+                    kernel.putPrevious(code, prevVal);
                 }
             }
 
-            log.info("=== {}년 DART 재무 데이터 RAW ({}개 지표) ===", year, raw.size());
-            raw.forEach((k, v) -> log.info("   • raw[{}] = {}", k, v));
-
-            if (!raw.containsKey("NET_INC")) {
-                BigDecimal cont = raw.getOrDefault("CONT_NET_INC", BigDecimal.ZERO);
-                BigDecimal disc = raw.getOrDefault("DISC_NET_INC", BigDecimal.ZERO);
+            if (!kernel.hasCurrent(MetricKernel.Code.NET_INC)) {
+                BigDecimal cont = kernel.hasCurrent(MetricKernel.Code.CONT_NET_INC)
+                        ? kernel.current(MetricKernel.Code.CONT_NET_INC) : BigDecimal.ZERO;
+                BigDecimal disc = kernel.hasCurrent(MetricKernel.Code.DISC_NET_INC)
+                        ? kernel.current(MetricKernel.Code.DISC_NET_INC) : BigDecimal.ZERO;
 
                 if (cont.compareTo(BigDecimal.ZERO) != 0 ||
                         disc.compareTo(BigDecimal.ZERO) != 0) {
                     BigDecimal netIncCalc = cont.add(disc);
-                    raw.put("NET_INC", netIncCalc);
+                    kernel.putCurrent(MetricKernel.Code.NET_INC, netIncCalc);
                     log.info(">>> 조립된 NET_INC (당기순이익) = {}", netIncCalc);
                 }
             }
-            // 2) raw 값을 이용해서 DB 기준 metric_code들 계산/매핑
-
-            BigDecimal sales             = raw.get("SALES");
-            BigDecimal opInc             = raw.get("OP_INC");
-            BigDecimal netInc            = raw.get("NET_INC");          // 전체 당기순이익
-            BigDecimal netIncOwner       = raw.get("NET_INC_OWNER");    // 지배주주 당기순이익
-            BigDecimal totalAssets       = raw.get("TOTAL_ASSETS");
-            BigDecimal totalLiab         = raw.get("TOTAL_LIABILITIES");
-            BigDecimal equityTotalCurr   = raw.get("TOTAL_EQUITY");         // 전체 자본
-            BigDecimal equityTotalPrev   = prevRaw.get("TOTAL_EQUITY");
-            BigDecimal equityOwnerCurr   = raw.get("TOTAL_EQUITY_OWNER");   // 지배 기준 자본
-            BigDecimal equityOwnerPrev   = prevRaw.get("TOTAL_EQUITY_OWNER");
-            BigDecimal currentAssets     = raw.get("CURRENT_ASSETS");
-            BigDecimal currentLiab       = raw.get("CURRENT_LIABILITIES");
-            BigDecimal eps               = raw.get("EPS");
-            BigDecimal bps               = raw.get("BPS"); // 나중에 DART에서 주당순자산 매핑하면 사용
-
-            // (1) 기본 재무지표: SALES / OP_INC / NET_INC / EPS / BPS
-            // ---------- 3단계: 기본 재무지표 결과 맵에 저장 ----------
-            putIfNotNull(result, "SALES",        sales);
-            putIfNotNull(result, "OP_INC",       opInc);
-            putIfNotNull(result, "NET_INC",      netInc);
-            putIfNotNull(result, "TOTAL_EQUITY", equityTotalCurr);
-            putIfNotNull(result, "TOTAL_EQUITY_OWNER", equityOwnerCurr);
-            putIfNotNull(result, "EPS",          eps);
-            putIfNotNull(result, "BPS",          bps);
-
-            // (2) 비율 지표 계산
-
-            // (1) 영업이익률 OPM = 영업이익 / 매출 * 100
-            BigDecimal opm = raw.get("OPM");
-            if (opm == null) {
-                opm = toPercent(safeDivide(opInc, sales));
-            }
-            putIfNotNull(result, "OPM", opm);
 
-            // (2) 순이익률 NET_MARGIN = 당기순이익 / 매출 * 100
-            BigDecimal netMargin = raw.get("NET_MARGIN");
-            if (netMargin == null) {
-                netMargin = toPercent(safeDivide(netInc, sales));
-            }
-            putIfNotNull(result, "NET_MARGIN", netMargin);
-
-            // (3) 부채비율 DEBT_RATIO = 부채총계 / 자본총계(전체) * 100
-            BigDecimal equityForDebt = (equityTotalCurr != null ? equityTotalCurr : equityOwnerCurr);
-            BigDecimal debtRatio = toPercent(safeDivide(totalLiab, equityForDebt));
-            putIfNotNull(result, "DEBT_RATIO", debtRatio);
-
-            // (4) ROE (네이버 방식) = 지배주주 당기순이익 / 평균 지배주주자본 * 100
-            BigDecimal roeSourceNetInc  = (netIncOwner != null ? netIncOwner : netInc); // 지배 없으면 전체로 fallback
-            BigDecimal roeEquityCurr    = (equityOwnerCurr != null ? equityOwnerCurr : equityTotalCurr);
-            BigDecimal roeEquityPrev    = (equityOwnerPrev != null ? equityOwnerPrev : equityTotalPrev);
-
-            // ROE = 당기순이익 / 평균 자기자본 * 100
-            if (roeSourceNetInc != null && roeEquityCurr != null && roeEquityPrev != null) {
-                BigDecimal avgEquity = roeEquityCurr.add(roeEquityPrev)
-                        .divide(BigDecimal.valueOf(2), 8, RoundingMode.HALF_UP);
-
-                if (avgEquity.compareTo(BigDecimal.ZERO) != 0) {
-                    BigDecimal roe = toPercent(roeSourceNetInc.divide(avgEquity, 8, RoundingMode.HALF_UP));
-                    putIfNotNull(result, "ROE", roe);
-
-                    log.debug("[ROE] year={} / netInc(used)={} / equity_curr={} / equity_prev={} / avgEquity={} / ROE={}",
-                            year, roeSourceNetInc, roeEquityCurr, roeEquityPrev, avgEquity, roe);
-                } else {
-                    log.debug("[FS-METRIC][ROE] 평균 자기자본이 0이어서 계산 불가: year={}", year);
+            // 2) 기본 재무지표(SALES / OP_INC / NET_INC / EPS / BPS 등) + 비율 지표(OPM / NET_MARGIN / DEBT_RATIO / ROE / ROA / QUICK_RATIO)
+            result = kernel.toMap(RESULT_AMOUNTS);
+            if (verifyMetricKernel) {
+                Map<String, BigDecimal> reference = kernel.toReferenceMap(RESULT_AMOUNTS);
+                if (!MetricKernel.sameValues(result, reference)) {
+                    log.warn("[METRIC-KERNEL] BigDecimal 경로와 불일치 - corpCode={}, year={}, kernel={}, reference={}",
+                            corpCode, year, result, reference);
                 }
-            } else {
-                log.debug("[FS-METRIC][ROE] netIncOwner/equityOwnerCurr/equityOwnerPrev 중 null 존재: year={}", year);
             }
 
-            // ROA = 당기순이익 / 자산총계 * 100
-            BigDecimal roa = toPercent(safeDivide(netInc, totalAssets));
-            putIfNotNull(result, "ROA", roa);
-
-            // QUICK_RATIO = 유동자산 / 유동부채 * 100 (단순 유동비율 정의 사용)
-            BigDecimal quickRatio = toPercent(safeDivide(currentAssets, currentLiab));
-            putIfNotNull(result, "QUICK_RATIO", quickRatio);
-
             // (3) 배당/주가 관련 지표 (DPS / DIVIDEND_YIELD / PER / PBR / PAYOUT_RATIO / RETENTION_RATIO)
             //  -> DART fnlttSinglAcntAll 만으로는 계산이 어려움 (주가/배당 정보 필요)
             //  -> 이 값들은 나중에 KRX/네이버/FnGuide 크롤러에서 별도로 채우거나,
@@ -529,11 +443,21 @@ public class DartCrawlingService {
             result.forEach((k, v) -> log.info("   • metricCode='{}', value={}", k, v));
 
         } catch (Exception e) {
+            stopIfQuotaExceeded(e);
             log.error("{}년 재무제표 조회 실패", year, e);
         }
 
         return result;
     }
+
+    /**
+     * 일일 호출 한도 소진이면 다음 연도로 넘어가지 않고 즉시 중단 (남은 호출 낭비 방지)
+     */
+    private void stopIfQuotaExceeded(Exception e) {
+        if (e instanceof CustomException ce && ce.getErrorCode() == CrawlingErrorCode.DART_DAILY_LIMIT_EXCEEDED) {
+            throw ce;
+        }
+    }
     private String normalizeAccountName(String name) {
         if (name == null) return "";
         String n = name;
@@ -698,24 +622,6 @@ public class DartCrawlingService {
         return null;
     }
 
-    private void putIfNotNull(Map<String, BigDecimal> map, String key, BigDecimal value) {
-        if (value != null) {
-            map.put(key, value);
-        }
-    }
-
-    private BigDecimal safeDivide(BigDecimal numerator, BigDecimal denominator) {
-        if (numerator == null || denominator == null || BigDecimal.ZERO.compareTo(denominator) == 0) {
-            return null;
-        }
-        // 적당한 scale과 RoundingMode는 원하는 대로 조정
-        return numerator.divide(denominator, 8, RoundingMode.HALF_UP);
-    }
-
-    private BigDecimal toPercent(BigDecimal ratio) {
-        if (ratio == null) return null;
-        return ratio.multiply(BigDecimal.valueOf(100));
-    }
     /**
      * 금액 문자열을 BigDecimal로 변환
      */
@@ -771,33 +677,4 @@ public class DartCrawlingService {
         log.debug("새 기간 저장: {}년", fiscalYear);
         return saved;
     }
-
-    /**
-     * 지표 값 저장 또는 업데이트
-     */
-    private void saveOrUpdateMetricValue(Long companyId, FinPeriod period, String metricCode, BigDecimal value) {
-        log.debug("지표 값 저장 - company={}, period={}, metric={}, value={}",
-                companyId, period, metricCode, value);
-
-        Optional<FinMetricValue> existing = finMetricValueRepository
-                .findByCompanyIdAndPeriodAndMetricCode(companyId, period, metricCode);
-
-        if (existing.isPresent()) {
-            FinMetricValue metricValue = existing.get();
-            metricValue.setValueNum(value);
-            metricValue.setSource("DART");
-            finMetricValueRepository.save(metricValue);
-            log.debug("지표 값 업데이트: {} = {}", metricCode, value);
-        } else {
-            FinMetricValue metricValue = FinMetricValue.builder()
-                    .companyId(companyId)
-                    .period(period)
-                    .metricCode(metricCode)
-                    .valueNum(value)
-                    .source("DART")
-                    .build();
-            finMetricValueRepository.save(metricValue);
-            log.debug("지표 값 저장: {} = {}", metricCode, value);
-        }
-    }
 }
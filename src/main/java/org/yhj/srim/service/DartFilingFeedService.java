@@ -0,0 +1,316 @@
+package org.yhj.srim.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.yhj.srim.client.DartDisclosureClient;
+import org.yhj.srim.client.DartEmptyResultCache;
+import org.yhj.srim.client.DartQuotaManager;
+import org.yhj.srim.client.DartRateLimiter;
+import org.yhj.srim.client.dto.DartDisclosure;
+import org.yhj.srim.client.dto.DartDisclosurePage;
+import org.yhj.srim.common.exception.CustomException;
+import org.yhj.srim.common.exception.code.CrawlingErrorCode;
+import org.yhj.srim.repository.DartFeedPendingStore;
+import org.yhj.srim.repository.DartFeedStateRepository;
+import org.yhj.srim.repository.StockCodeRepository;
+import org.yhj.srim.repository.entity.Company;
+import org.yhj.srim.repository.entity.DartFeedState;
+import org.yhj.srim.repository.entity.StockCode;
+import org.yhj.srim.service.dto.DartFeedPollResult;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DART 신규 정기공시 감지 서비스
+ * - 공시검색(list.json)을 정기공시 상세유형(A001 사업 / A002 반기 / A003 분기)별로 폴링
+ * - 피드별 마지막 접수번호(high-water mark)를 dart_feed_state 에 저장하고 그 이후 공시만 처리
+ * - 신규 사업보고서는 해당 회사+사업연도를 dart_feed_pending 에 먼저 기록한 뒤 mark 전진,
+ *   CrawlingService.crawlAndSaveAnnualFinancial 로 수집 성공 시 삭제 / 실패 시 retry-delay 배수로 재시도
+ *   (재시작해도 대기열이 남아 있어 mark 를 넘긴 공시가 버려지지 않음)
+ *   (반기/분기 보고서는 연간 재무제표 수집 경로가 없으므로 감지 후 위치만 전진)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DartFilingFeedService {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final String ANNUAL_REPORT = "A001";
+    // corp_code 없이 검색할 때 DART 가 허용하는 최대 기간(3개월)
+    private static final int MAX_SEARCH_DAYS = 89;
+
+    private final DartDisclosureClient dartDisclosureClient;
+    private final DartFeedStateRepository dartFeedStateRepository;
+    private final DartFeedPendingStore dartFeedPendingStore;
+    private final StockCodeRepository stockCodeRepository;
+    private final FinancialService financialService;
+    private final CrawlingService crawlingService;
+    private final IncrementalMetricService incrementalMetricService;
+    private final DartRateLimiter dartRateLimiter;
+    private final DartQuotaManager dartQuotaManager;
+    private final DartEmptyResultCache dartEmptyResultCache;
+
+    @Value("${dart.feed.enabled:false}")
+    private boolean enabled;
+
+    @Value("${dart.feed.detail-types:A001,A002,A003}")
+    private List<String> detailTypes;
+
+    @Value("${dart.feed.initial-lookback-days:7}")
+    private int initialLookbackDays;
+
+    @Value("${dart.feed.threads:2}")
+    private int threads;
+
+    @Value("${dart.feed.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${dart.feed.retry-delay:PT10M}")
+    private Duration retryDelay;
+
+    @Value("${dart.quota.pause-until-reset:true}")
+    private boolean pauseUntilReset;
+
+    private ExecutorService executor;
+
+    // 수집 중인 대상 (같은 대상이 다음 폴링에서 중복 등록되지 않도록)
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void init() {
+        AtomicInteger seq = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread t = new Thread(r, "dart-feed-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 주기적 폴링 (dart.feed.enabled=true 일 때만)
+     */
+    @Scheduled(fixedDelayString = "${dart.feed.poll-interval:PT10M}", initialDelayString = "PT1M")
+    public void scheduledPoll() {
+        if (!enabled) {
+            return;
+        }
+        if (dartQuotaManager.isExhausted()) {
+            log.debug("[DART-FEED] 일일 한도 소진 - 폴링 생략");
+            return;
+        }
+        try {
+            poll();
+        } catch (CustomException e) {
+            log.warn("[DART-FEED] 폴링 중단: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 피드별로 high-water mark 이후 공시를 조회해 신규 사업보고서를 대기열에 기록하고,
+     * 대기열에서 수집 시각이 된 대상(이전 실패/재시작 전 미처리 포함)을 수집 작업으로 등록
+     */
+    public synchronized DartFeedPollResult poll() {
+        long startedAt = System.currentTimeMillis();
+        LocalDate today = LocalDate.now(KST);
+
+        int requestCount = 0;
+        int newFilingCount = 0;
+        int skippedCount = 0;
+
+        for (String detailType : detailTypes) {
+            String feedKey = "list.json:" + detailType;
+            DartFeedState state = dartFeedStateRepository.findById(feedKey)
+                    .orElseGet(() -> DartFeedState.builder().feedKey(feedKey).build());
+            String highWaterMark = state.getLastRceptNo();
+
+            List<DartDisclosure> fresh = new ArrayList<>();
+            LocalDate from = searchStart(highWaterMark, today);
+            int pageNo = 1;
+            DartDisclosurePage page;
+            do {
+                page = dartDisclosureClient.fetchPeriodicReports(detailType, from, today, pageNo++);
+                requestCount++;
+                for (DartDisclosure item : page.getItems()) {
+                    String rceptNo = item.getRceptNo();
+                    if (rceptNo != null && (highWaterMark == null || rceptNo.compareTo(highWaterMark) > 0)) {
+                        fresh.add(item);
+                    }
+                }
+            } while (page.hasNext());
+
+            fresh.sort(Comparator.comparing(DartDisclosure::getRceptNo));
+            newFilingCount += fresh.size();
+
+            // 같은 회사+연도는 정정공시가 여러 건이어도 한 번만 수집 (대기열 PK)
+            LocalDateTime now = LocalDateTime.now();
+
+            for (DartDisclosure item : fresh) {
+                if (!ANNUAL_REPORT.equals(detailType)) {
+                    log.debug("[DART-FEED] {} 감지(수집 대상 아님) - {} {}", detailType, item.getCorpName(), item.getReportNm());
+                    skippedCount++;
+                    continue;
+                }
+                FeedTarget target = toTarget(item);
+                if (target == null) {
+                    skippedCount++;
+                    continue;
+                }
+                dartFeedPendingStore.enqueue(target.corpCode(), target.year(), target.stockId(), target.rceptNo(), now);
+            }
+
+            // 대기열 기록이 끝난 뒤에만 mark 전진
+            state.advance(fresh.isEmpty() ? null : fresh.get(fresh.size() - 1).getRceptNo(), LocalDateTime.now());
+            dartFeedStateRepository.save(state);
+
+            log.info("[DART-FEED] {} - from={}, hwm={} -> {}, 신규={}",
+                    detailType, from, highWaterMark, state.getLastRceptNo(), fresh.size());
+        }
+
+        int enqueuedCount = dispatchPending();
+
+        DartFeedPollResult result = DartFeedPollResult.builder()
+                .requestCount(requestCount)
+                .newFilingCount(newFilingCount)
+                .enqueuedCount(enqueuedCount)
+                .skippedCount(skippedCount)
+                .remainingDailyQuota(dartRateLimiter.getRemainingToday())
+                .elapsedMs(System.currentTimeMillis() - startedAt)
+                .build();
+
+        log.info("[DART-FEED] 폴링 완료 - {}", result);
+        return result;
+    }
+
+    /**
+     * 대기열에서 수집 시각이 된 대상을 수집 작업으로 등록
+     * @return 등록한 작업 수
+     */
+    private int dispatchPending() {
+        int dispatched = 0;
+        for (DartFeedPendingStore.Pending pending : dartFeedPendingStore.findDue(LocalDateTime.now(), maxAttempts)) {
+            FeedTarget target = new FeedTarget(pending.stockId(), pending.corpCode(), pending.bsnsYear(), pending.rceptNo());
+            if (!inFlight.add(target.key())) {
+                continue;
+            }
+            try {
+                // Company 생성은 등록 시점에 순차로 (동시 생성 방지)
+                Company company = financialService.getOrCreateCompany(target.stockId());
+                Long companyId = company.getCompanyId();
+                executor.submit(() -> fetch(target, companyId, pending.attempts()));
+                dispatched++;
+            } catch (Exception e) {
+                inFlight.remove(target.key());
+                recordFailure(target, pending.attempts(), e);
+            }
+        }
+        return dispatched;
+    }
+
+    /**
+     * 신규 사업보고서 1건 수집: 해당 연도 재무제표 -> 연간 지표
+     * 성공하면 대기열에서 삭제, 실패하면 시도 횟수를 늘려 다음 폴링 이후 재시도
+     */
+    private void fetch(FeedTarget target, Long companyId, int attempts) {
+        // 이전에 "데이터 없음"으로 기록된 연도라도 새 공시가 나왔으므로 마커 제거
+        dartEmptyResultCache.invalidate(target.corpCode(), target.year());
+        try {
+            while (true) {
+                try {
+                    int saved = crawlingService.crawlAndSaveAnnualFinancial(target.corpCode(), companyId, target.year());
+                    // 라인이 그대로여도(content_hash 동일 → 0) 이전 지표 계산이 실패해 지표가 없으면 다시 계산
+                    if (saved > 0 || financialService.loadAnnualMetricsFromDb(companyId, target.year()).isEmpty()) {
+                        // 보고서가 담는 3개 연도 중 바뀐 지표와 그 하위 지표(다음 해 ROE, BPS)만
+                        incrementalMetricService.onFilingChanged(companyId, target.year());
+                    }
+                    dartFeedPendingStore.complete(target.corpCode(), target.year(), target.rceptNo());
+                    log.info("[DART-FEED] 수집 완료 - corpCode={}, year={}, rceptNo={}, lines={}",
+                            target.corpCode(), target.year(), target.rceptNo(), saved);
+                } catch (CustomException e) {
+                    if (e.getErrorCode() == CrawlingErrorCode.DART_DAILY_LIMIT_EXCEEDED && pauseUntilReset) {
+                        // 한도 소진은 대상 실패가 아니므로 시도 횟수를 늘리지 않고 초기화 후 재시도
+                        dartQuotaManager.awaitReset();
+                        continue;
+                    }
+                    recordFailure(target, attempts, e);
+                } catch (Exception e) {
+                    recordFailure(target, attempts, e);
+                }
+                return;
+            }
+        } finally {
+            inFlight.remove(target.key());
+        }
+    }
+
+    // 실패 기록 - retry-delay × 2^attempts 뒤 재시도, max-attempts 도달 시 대기열에 남겨두고 중단
+    private void recordFailure(FeedTarget target, int attempts, Exception e) {
+        LocalDateTime nextAttemptAt = LocalDateTime.now().plus(retryDelay.multipliedBy(1L << Math.min(attempts, 10)));
+        try {
+            dartFeedPendingStore.fail(target.corpCode(), target.year(), e.getMessage(), nextAttemptAt);
+        } catch (Exception storeError) {
+            log.warn("[DART-FEED] 실패 기록 실패 - corpCode={}, year={}: {}",
+                    target.corpCode(), target.year(), storeError.getMessage());
+        }
+        if (attempts + 1 >= maxAttempts) {
+            log.error("[DART-FEED] 수집 재시도 중단 ({}회 실패, dart_feed_pending 확인 필요) - corpCode={}, year={}: {}",
+                    attempts + 1, target.corpCode(), target.year(), e.getMessage());
+        } else {
+            log.warn("[DART-FEED] 수집 실패 ({}회, {} 이후 재시도) - corpCode={}, year={}: {}",
+                    attempts + 1, nextAttemptAt, target.corpCode(), target.year(), e.getMessage());
+        }
+    }
+
+    private FeedTarget toTarget(DartDisclosure item) {
+        Integer year = item.periodYear();
+        if (year == null || item.getCorpCode() == null) {
+            log.debug("[DART-FEED] 결산기 판별 불가 - {}", item);
+            return null;
+        }
+        Optional<StockCode> stockCode = stockCodeRepository.findByDartCorpCode(item.getCorpCode());
+        if (stockCode.isEmpty()) {
+            log.debug("[DART-FEED] 미등록 종목 - corpCode={}, {}", item.getCorpCode(), item.getCorpName());
+            return null;
+        }
+        return new FeedTarget(stockCode.get().getStockId(), item.getCorpCode(), year, item.getRceptNo());
+    }
+
+    /**
+     * 검색 시작일: 마지막 접수번호의 접수일 (없으면 initial-lookback-days 전), 최대 3개월 전까지
+     */
+    private LocalDate searchStart(String highWaterMark, LocalDate today) {
+        LocalDate from = highWaterMark != null
+                ? LocalDate.parse(highWaterMark.substring(0, 8), DateTimeFormatter.BASIC_ISO_DATE)
+                : today.minusDays(initialLookbackDays);
+        LocalDate earliest = today.minusDays(MAX_SEARCH_DAYS);
+        if (from.isBefore(earliest)) {
+            log.warn("[DART-FEED] 마지막 폴링 이후 3개월 초과 - {} 이전 공시는 백필로 보완 필요", earliest);
+            return earliest;
+        }
+        return from;
+    }
+
+    private record FeedTarget(Long stockId, String corpCode, int year, String rceptNo) {
+        String key() {
+            return corpCode + ":" + year;
+        }
+    }
+}
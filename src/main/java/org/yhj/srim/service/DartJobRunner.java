@@ -0,0 +1,127 @@
+package org.yhj.srim.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.yhj.srim.common.exception.CustomException;
+import org.yhj.srim.common.exception.code.CrawlingErrorCode;
+import org.yhj.srim.service.dto.DartJobStatus;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * DART 대량 작업 백그라운드 실행기
+ * - 백필 / 주요계정 갱신 / 지표 재계산처럼 분~시간 단위(한도 소진 시 자정까지) 걸리는 작업을 요청 스레드 밖에서 실행
+ * - 작업 ID 를 바로 돌려주고 상태는 {@link #getStatus(String)} 로 조회
+ * - 같은 종류의 작업이 실행 중이면 새로 시작하지 않고 실행 중인 작업 상태를 돌려줌
+ * 상태는 메모리에만 보관 (최근 MAX_HISTORY 건), 재시작 시 사라진다.
+ */
+@Service
+@Slf4j
+public class DartJobRunner {
+
+    private static final int MAX_HISTORY = 50;
+
+    private final Map<String, DartJobStatus> jobs = new LinkedHashMap<>();
+    private final AtomicInteger seq = new AtomicInteger();
+    private final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "dart-job-" + seq.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 작업 시작 (같은 종류가 실행 중이면 그 작업 상태)
+     */
+    public synchronized DartJobStatus submit(String type, String params, Supplier<?> task) {
+        for (DartJobStatus job : jobs.values()) {
+            if (job.getType().equals(type) && job.getState() == DartJobStatus.State.RUNNING) {
+                log.info("[DART-JOB] {} 이미 실행 중 - jobId={}", type, job.getJobId());
+                return copyOf(job);
+            }
+        }
+
+        String jobId = UUID.randomUUID().toString();
+        DartJobStatus job = DartJobStatus.builder()
+                .jobId(jobId)
+                .type(type)
+                .params(params)
+                .state(DartJobStatus.State.RUNNING)
+                .startedAt(LocalDateTime.now())
+                .build();
+        jobs.put(jobId, job);
+        trimHistory();
+
+        executor.submit(() -> run(job, task));
+        log.info("[DART-JOB] {} 시작 - jobId={}, params={}", type, jobId, params);
+        return copyOf(job);
+    }
+
+    public synchronized DartJobStatus getStatus(String jobId) {
+        DartJobStatus job = jobs.get(jobId);
+        if (job == null) {
+            throw new CustomException(CrawlingErrorCode.JOB_NOT_FOUND);
+        }
+        return copyOf(job);
+    }
+
+    /**
+     * 최근 작업 상태 (최신순)
+     */
+    public synchronized List<DartJobStatus> getRecent() {
+        List<DartJobStatus> recent = new ArrayList<>();
+        jobs.values().forEach(job -> recent.add(0, copyOf(job)));
+        return recent;
+    }
+
+    private void run(DartJobStatus job, Supplier<?> task) {
+        Object result = null;
+        String error = null;
+        try {
+            result = task.get();
+        } catch (Exception e) {
+            error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            log.warn("[DART-JOB] {} 실패 - jobId={}: {}", job.getType(), job.getJobId(), error, e);
+        }
+        synchronized (this) {
+            job.setResult(result);
+            job.setError(error);
+            job.setState(error == null ? DartJobStatus.State.SUCCEEDED : DartJobStatus.State.FAILED);
+            job.setFinishedAt(LocalDateTime.now());
+        }
+        log.info("[DART-JOB] {} 종료 - jobId={}, state={}", job.getType(), job.getJobId(), job.getState());
+    }
+
+    // 오래된 종료 작업부터 삭제 (실행 중인 작업은 유지)
+    private void trimHistory() {
+        Iterator<DartJobStatus> it = jobs.values().iterator();
+        while (jobs.size() > MAX_HISTORY && it.hasNext()) {
+            if (it.next().getState() != DartJobStatus.State.RUNNING) {
+                it.remove();
+            }
+        }
+    }
+
+    private static DartJobStatus copyOf(DartJobStatus job) {
+        return DartJobStatus.builder()
+                .jobId(job.getJobId())
+                .type(job.getType())
+                .params(job.getParams())
+                .state(job.getState())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .result(job.getResult())
+                .error(job.getError())
+                .build();
+    }
+}
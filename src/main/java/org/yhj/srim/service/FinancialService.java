@@ -2,6 +2,7 @@ package org.yhj.srim.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -10,12 +11,13 @@ import org.yhj.srim.common.exception.code.StockErrorCode;
 import org.yhj.srim.repository.*;
 import org.yhj.srim.repository.entity.*;
 import org.yhj.srim.service.dto.FinancialTableDto;
+import org.yhj.srim.service.dto.FsAmountColumn;
 import org.yhj.srim.service.dto.PeriodType;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,10 +29,24 @@ public class FinancialService {
     private final FinPeriodRepository finPeriodRepository;
     private final FinMetricDefRepository finMetricDefRepository;
     private final FinMetricValueRepository finMetricValueRepository;
+    private final FinMetricValueBulkWriter finMetricValueBulkWriter;
+    private final ValuationSnapshotWriter valuationSnapshotWriter;
     private final CompanyRepository companyRepository;
     private final StockCodeRepository stockCodeRepository;
     private final DartFsLineRepository dartFsLineRepository;
     private final StockShareStatusRepository stockShareStatusRepository;
+    private final AccountMetricMatcher accountMetricMatcher;
+
+    // 결과에 들어가는 금액 지표 (순서 유지, 비율 지표는 MetricKernel.RATIOS)
+    private static final List<MetricKernel.Code> RESULT_AMOUNTS = List.of(
+            MetricKernel.Code.SALES, MetricKernel.Code.OP_INC, MetricKernel.Code.NET_INC,
+            MetricKernel.Code.NET_INC_OWNER, MetricKernel.Code.NET_INC_NONCONT,
+            MetricKernel.Code.TOTAL_EQUITY, MetricKernel.Code.TOTAL_EQUITY_OWNER,
+            MetricKernel.Code.EPS, MetricKernel.Code.BPS);
+
+    // true 면 지표 계산마다 BigDecimal 경로로 한 번 더 계산해서 비교
+    @Value("${dart.metric-kernel.verify:false}")
+    private boolean verifyMetricKernel;
 
     /**
      * stockId로 연간 재무 테이블 조회
@@ -87,14 +103,7 @@ public class FinancialService {
         //   - 연간정보는 월에 12, isEstimate=false
         FinPeriod period = saveOrUpdatePeriod(companyId, year, 12, false);
 
-        int yearSaved = 0;
-        for (Map.Entry<String, BigDecimal> entry : financialData.entrySet()) {
-            String metricCode = entry.getKey();
-            BigDecimal value  = entry.getValue();
-
-            saveOrUpdateMetricValue(companyId, period, metricCode, value);
-            yearSaved++;
-        }
+        int yearSaved = finMetricValueBulkWriter.upsert(companyId, period.getPeriodId(), financialData, "DART");
 
         log.info("[FS-DB] {}년 재무 데이터 저장 완료 - {}건 (companyId={})",
                 year, yearSaved, companyId);
@@ -134,32 +143,6 @@ public class FinancialService {
         return saved;
     }
 
-    private void saveOrUpdateMetricValue(Long companyId, FinPeriod period, String metricCode, BigDecimal value) {
-        log.debug("지표 값 저장 - company={}, period={}, metric={}, value={}",
-                companyId, period, metricCode, value);
-
-        Optional<FinMetricValue> existing = finMetricValueRepository
-                .findByCompanyIdAndPeriodAndMetricCode(companyId, period, metricCode);
-
-        if (existing.isPresent()) {
-            FinMetricValue metricValue = existing.get();
-            metricValue.setValueNum(value);
-            metricValue.setSource("DART");
-            finMetricValueRepository.save(metricValue);
-            log.debug("지표 값 업데이트: {} = {}", metricCode, value);
-        } else {
-            FinMetricValue metricValue = FinMetricValue.builder()
-                    .companyId(companyId)
-                    .period(period)
-                    .metricCode(metricCode)
-                    .valueNum(value)
-                    .source("DART")
-                    .build();
-            finMetricValueRepository.save(metricValue);
-            log.debug("지표 값 저장: {} = {}", metricCode, value);
-        }
-    }
-
     /**
      * market-ticker로 연간 재무 테이블 조회
      */
@@ -353,19 +336,33 @@ public class FinancialService {
      * 한 해 주요 값들을 추출 및 계산
      */
     public Map<String, BigDecimal> buildFinancialMetrics(Long companyId, int currentYear) {
+        return buildFinancialMetrics(companyId, currentYear,
+                filingYear -> dartFsLineRepository.findByFiling_CompanyIdAndFiling_BsnsYear(companyId, filingYear));
+    }
 
-        Map<String, BigDecimal> raw = new LinkedHashMap<>();
-        Map<String, BigDecimal> prevRaw = new LinkedHashMap<>();
-        Map<String, BigDecimal> result = new LinkedHashMap<>();
+    /**
+     * linesOfFiling : 보고서 연도 -> 그 보고서의 라인 (여러 연도를 한 번에 읽어둔 경우 메모리 조회)
+     */
+    private Map<String, BigDecimal> buildFinancialMetrics(Long companyId, int currentYear,
+                                                          IntFunction<List<DartFsLine>> linesOfFiling) {
 
-        List<DartFsLine> lines = dartFsLineRepository.findByFiling_CompanyIdAndFiling_BsnsYear(companyId, currentYear);
+        // 해당 연도 보고서 -> 없으면 다음 해 보고서의 전기 -> 다다음 해 보고서의 전전기 컬럼 순으로 사용
+        FsColumnSource source = resolveColumnSource(currentYear, linesOfFiling);
 
-        if (lines.isEmpty()) {
+        if (source == null) {
             log.warn("buildFinancialMetrics - 재무제표 라인 데이터가 없습니다. companyId={}, year={}", companyId, currentYear);
-            return result;
+            return new LinkedHashMap<>();
         }
 
-        log.debug("==== {}년 조회된 재무제표 라인 수 : {}",currentYear, lines.size());
+        List<DartFsLine> lines = source.lines();
+        FsAmountColumn currColumn = source.column();
+        FsAmountColumn prevColumn = currColumn.previous();
+
+        log.debug("==== {}년 조회된 재무제표 라인 수 : {} (보고서 연도={}, 컬럼={})",
+                currentYear, lines.size(), source.filingYear(), currColumn);
+
+        // 당기/전기 금액은 지표 ordinal 인덱스의 long[] 에 (MetricKernel)
+        MetricKernel kernel = new MetricKernel();
 
         for(DartFsLine line : lines) {
             String sjDiv = line.getSjDiv();                 // 재무제표 구분
@@ -373,8 +370,8 @@ public class FinancialService {
             String accountNm = line.getAccountNm();         // 계정설명
             String accountDetail = line.getAccountDetail(); // 구성요소 [member] 등
 
-            BigDecimal currVal = line.getThstrmAmount();    // 당기금액
-            BigDecimal prevVal = line.getFrmtrmAmount();    // 전기금액
+            BigDecimal currVal = currColumn.amountOf(line);                                // 당기금액
+            BigDecimal prevVal = prevColumn != null ? prevColumn.amountOf(line) : null;    // 전기금액
 
 
 
@@ -388,284 +385,227 @@ public class FinancialService {
 
             log.debug(" O [FS-DB][UNMAPPED] year={}, sjDiv={}, accountId={}, accountNm={}, metricCode={}, accountDetail={}",
                     currentYear, sjDiv, accountId, accountNm, metricCode, accountDetail);
+
+            MetricKernel.Code code = MetricKernel.Code.of(metricCode);
+            if (code == null) {
+                continue; // 계산에 쓰지 않는 지표
+            }
             // 당기
             if (currVal != null) {
-                BigDecimal old = raw.get(metricCode);
-                if (old != null && old.compareTo(currVal) != 0) {
+                if (!kernel.hasCurrent(code)) {
+                    kernel.putCurrent(code, currVal);
+                } else if (kernel.current(code).compareTo(currVal) != 0) {
                     log.debug("[FS-DB][DUP] metric={} old={} new={} (accountId={}, accountNm={})",
-                            metricCode, old, currVal, accountId, accountNm);
-                } else if (old == null) {
-                    raw.put(metricCode, currVal);
+                            metricCode, kernel.current(code), currVal, accountId, accountNm);
                 }
             }
             // 전기
             if (prevVal != null) {
-                prevRaw.put(metricCode, prevVal);
+                kernel.putPrevious(code, prevVal);
             }
 
 
         }
-        log.info("=== {}년 FS-DB RAW ({}개 지표) ===", currentYear, raw.size());
-        raw.forEach((k, v) -> log.info("raw[{}] = {}", k, v));
-
-        // 지배/비지배 당기순이익
-        BigDecimal netIncOwnerRaw   = raw.get("NET_INC_OWNER");
-        BigDecimal netIncNonContRaw = raw.get("NET_INC_NONCONT");
-
-        // NET_INC(당기순이익) 없으면 CONT_NET_INC + DISC_NET_INC
-        if (!raw.containsKey("NET_INC") && netIncOwnerRaw != null && netIncNonContRaw != null) {
-            BigDecimal netIncCalc = netIncOwnerRaw.add(netIncNonContRaw);
-            raw.put("NET_INC", netIncCalc);
-            log.info(">>> FS-DB 계산된 NET_INC (지배+비지배 합산) = {}", netIncCalc);
-        }
-
-        BigDecimal sales             = raw.get("SALES");
-        BigDecimal opInc             = raw.get("OP_INC");
-        BigDecimal netInc            = raw.get("NET_INC");          // 전체 당기순이익
-        BigDecimal netIncOwner       = raw.get("NET_INC_OWNER");    // 지배주주 당기순이익
-        BigDecimal netIncNonCont     = raw.get("NET_INC_NONCONT");  // 비지배 당기순이익
-        BigDecimal totalAssets       = raw.get("TOTAL_ASSETS");
-        BigDecimal totalLiab         = raw.get("TOTAL_LIABILITIES");
-        BigDecimal equityTotalCurr   = raw.get("TOTAL_EQUITY");         // 전체 자본
-        BigDecimal equityTotalPrev   = prevRaw.get("TOTAL_EQUITY");
-        BigDecimal equityOwnerCurr   = raw.get("TOTAL_EQUITY_OWNER");   // 지배 기준 자본
-        BigDecimal equityOwnerPrev   = prevRaw.get("TOTAL_EQUITY_OWNER");
-        BigDecimal currentAssets     = raw.get("CURRENT_ASSETS");
-        BigDecimal currentLiab       = raw.get("CURRENT_LIABILITIES");
-        BigDecimal eps               = raw.get("EPS");
-        BigDecimal bps               = raw.get("BPS");
-
-        putIfNotNull(result, "SALES",               sales);
-        putIfNotNull(result, "OP_INC",              opInc);
-        putIfNotNull(result, "NET_INC",             netInc);
-        putIfNotNull(result, "NET_INC_OWNER",       netIncOwner);
-        putIfNotNull(result, "NET_INC_NONCONT",     netIncNonCont);
-        putIfNotNull(result, "TOTAL_EQUITY",        equityTotalCurr);
-        putIfNotNull(result, "TOTAL_EQUITY_OWNER",  equityOwnerCurr);
-        putIfNotNull(result, "EPS",                 eps);
-        putIfNotNull(result, "BPS",                 bps);
-
-
-        // 영업이익률 OPM
-        BigDecimal opm = raw.get("OPM");
-        if (opm == null) {
-            opm = toPercent(safeDivide(opInc, sales));
+        // 전전기 컬럼을 당기로 쓴 경우 같은 보고서에 전기가 없으므로 직전 연도 값을 전기로 사용 (ROE 평균자본용)
+        if (prevColumn == null) {
+            FsColumnSource prevSource = resolveColumnSource(currentYear - 1, linesOfFiling);
+            if (prevSource != null) {
+                for (DartFsLine line : prevSource.lines()) {
+                    BigDecimal val = prevSource.column().amountOf(line);
+                    if (val == null) continue;
+                    MetricKernel.Code code = MetricKernel.Code.of(mapAccountToMetric(line.getSjDiv(),
+                            line.getAccountId(), line.getAccountNm(), line.getAccountDetail()));
+                    if (code != null && !kernel.hasPrevious(code)) {
+                        kernel.putPrevious(code, val);
+                    }
+                }
+            }
         }
-        putIfNotNull(result, "OPM", opm);
-
 
-        // 순이익률 NET_MARGIN
-        BigDecimal netMargin = raw.get("NET_MARGIN");
-        if (netMargin == null) {
-            netMargin = toPercent(safeDivide(netInc, sales));
+        // NET_INC(당기순이익) 없으면 지배 + 비지배
+        if (!kernel.hasCurrent(MetricKernel.Code.NET_INC)
+                && kernel.hasCurrent(MetricKernel.Code.NET_INC_OWNER)
+                && kernel.hasCurrent(MetricKernel.Code.NET_INC_NONCONT)) {
+            BigDecimal netIncCalc = kernel.current(MetricKernel.Code.NET_INC_OWNER)
+                    .add(kernel.current(MetricKernel.Code.NET_INC_NONCONT));
+            kernel.putCurrent(MetricKernel.Code.NET_INC, netIncCalc);
+            log.info(">>> FS-DB 계산된 NET_INC (지배+비지배 합산) = {}", netIncCalc);
         }
-        putIfNotNull(result, "NET_MARGIN", netMargin);
-
-        // 부채비율 DEBT_RATIO = 부채총계 / 자본총계 * 100
-        BigDecimal equityForDebt = (equityTotalCurr != null ? equityTotalCurr : equityOwnerCurr);
-        BigDecimal debtRatio = toPercent(safeDivide(totalLiab, equityForDebt));
-        putIfNotNull(result, "DEBT_RATIO", debtRatio);
-
-        // ROE = (지배주주 당기순이익 or 전체) / 평균 지배주주자본(or 전체) * 100
-        BigDecimal roeSourceNetInc  = (netIncOwner != null ? netIncOwner : netInc);
-        BigDecimal roeEquityCurr    = (equityOwnerCurr != null ? equityOwnerCurr : equityTotalCurr);
-        BigDecimal roeEquityPrev    = (equityOwnerPrev != null ? equityOwnerPrev : equityTotalPrev);
-
-        if (roeSourceNetInc != null && roeEquityCurr != null && roeEquityPrev != null) {
-            BigDecimal avgEquity = roeEquityCurr.add(roeEquityPrev)
-                    .divide(BigDecimal.valueOf(2), 8, RoundingMode.HALF_UP);
 
-            if (avgEquity.compareTo(BigDecimal.ZERO) != 0) {
-                BigDecimal roe = toPercent(
-                        roeSourceNetInc.divide(avgEquity, 8, RoundingMode.HALF_UP)
-                );
-                putIfNotNull(result, "ROE", roe);
-
-                log.debug("[ROE] year={} / netInc(used)={} / equity_curr={} / equity_prev={} / avgEquity={} / ROE={}",
-                        currentYear, roeSourceNetInc, roeEquityCurr, roeEquityPrev, avgEquity, roe);
-            } else {
-                log.debug("[FS-DB][ROE] 평균 자기자본 0 - year={}", currentYear);
+        // 금액 지표 + OPM / NET_MARGIN / DEBT_RATIO / ROE / ROA / QUICK_RATIO
+        Map<String, BigDecimal> result = kernel.toMap(RESULT_AMOUNTS);
+        if (verifyMetricKernel) {
+            Map<String, BigDecimal> reference = kernel.toReferenceMap(RESULT_AMOUNTS);
+            if (!MetricKernel.sameValues(result, reference)) {
+                log.warn("[METRIC-KERNEL] BigDecimal 경로와 불일치 - companyId={}, year={}, kernel={}, reference={}",
+                        companyId, currentYear, result, reference);
             }
-        } else {
-            log.debug("[FS-DB][ROE] netIncOwner/equityOwnerCurr/equityOwnerPrev 중 null 존재 - year={}", currentYear);
         }
 
-        // ROA = 당기순이익 / 자산총계 * 100
-        BigDecimal roa = toPercent(safeDivide(netInc, totalAssets));
-        putIfNotNull(result, "ROA", roa);
-
-        // 유동비율(단순) = 유동자산 / 유동부채 * 100
-        BigDecimal quickRatio = toPercent(safeDivide(currentAssets, currentLiab));
-        putIfNotNull(result, "QUICK_RATIO", quickRatio);
-
         log.info("=== {}년 FS-DB 기반 FIN_METRIC 결과 ({}개 지표) ===", currentYear, result.size());
         result.forEach((k, v) -> log.info("   • metricCode='{}', value={}", k, v));
 
         return result;
     }
 
-    private String mapAccountToMetric(String sjDiv, String accountId, String accountNm, String accountDetail) {
-        if (accountId == null && accountNm == null) {
-            return null;
-        }
-
-        String sj = sjDiv != null ? sjDiv.trim() : "";
-        String id = accountId != null ? accountId.trim() : "";
-        String nm = accountNm != null ? accountNm.trim() : "";
-        String detail = accountDetail != null ? accountDetail.trim() : "";
-
-        if ("SCE".equalsIgnoreCase(sj)) {
-
-            // 전체 당기순이익
-            if (id.equals("ifrs-full_ProfitLoss") && nm.equals("당기순이익") && detail.contains("연결재무제표")) {
-                // 전체 당기순이익
-                return "NET_INC";
-            }
-
-            // 지배주주 귀속 당기순이익
-            if (id.equals("ifrs-full_ProfitLoss") && nm.contains("당기순이익") && detail.contains("지배기업")) {
-                return "NET_INC_OWNER";
+    /**
+     * fiscalYear 값을 담고 있는 재무제표 라인과 컬럼 결정
+     * - 해당 연도 사업보고서(당기)가 있으면 우선 사용
+     * - 없으면 이후 보고서의 전기/전전기 컬럼을 사용 (희소 수집된 연도)
+     * 이후 보고서의 컬럼은 금액이 하나도 없으면 사용하지 않는다.
+     */
+    private FsColumnSource resolveColumnSource(int fiscalYear, IntFunction<List<DartFsLine>> linesOfFiling) {
+        for (FsAmountColumn column : FsAmountColumn.values()) {
+            int filingYear = column.filingYearFor(fiscalYear);
+            List<DartFsLine> lines = linesOfFiling.apply(filingYear);
+            if (lines.isEmpty()) {
+                continue;
             }
-
-            // 비지배주주 귀속 당기순이익
-            if (id.equals("ifrs-full_ProfitLoss") && nm.contains("당기순이익") && detail.contains("비지배")) {
-                return "NET_INC_NONCONT";
+            boolean hasAmount = lines.stream().anyMatch(line -> column.amountOf(line) != null);
+            if (hasAmount) {
+                return new FsColumnSource(lines, column, filingYear);
             }
-
-            // 2018년 이전에는 ifrs_ProfitLoss id를 사용하였음. 이후 참고 데이터
-
-            // 그 외 SCE 항목은 무시
-            return null;
         }
+        return null;
+    }
 
-        // 1) 손익계산서 / 포괄손익계산서 (CIS, IS 등)
-        if ("CIS".equalsIgnoreCase(sj) || "IS".equalsIgnoreCase(sj)) {
-
-            // 매출액 / 영업수익
-            if (id.equals("ifrs-full_Revenue")
-                    || id.equals("ifrs_Revenue")
-                    || nm.contains("매출액")
-                    || nm.contains("영업수익")) {
-                return "SALES";
-            }
+    private record FsColumnSource(List<DartFsLine> lines, FsAmountColumn column, int filingYear) {
+    }
 
-            // 영업이익
-            if (id.equals("ifrs-full_ProfitLossFromOperatingActivities")
-                    || id.equals("ifrs_ProfitLossFromOperatingActivities")
-                    || nm.contains("영업이익")) {
-                return "OP_INC";
-            }
+    // 매핑 규칙은 fs_account_map / fs_account_name_rule (AccountMetricMatcher)
+    private String mapAccountToMetric(String sjDiv, String accountId, String accountNm, String accountDetail) {
+        return accountMetricMatcher.match(sjDiv, accountId, accountNm, accountDetail);
+    }
 
+    @Transactional
+    public Map<String, BigDecimal> getOrBuildAnnualMetrics(Long companyId, int fiscalYear) {
 
-            // EPS (기본주당순이익 등)
-            if (id.contains("EarningsPerShare") || nm.contains("주당순이익")) {
-                return "EPS";
-            }
+        // DB 조회
+        Map<String, BigDecimal> result = loadAnnualMetricsFromDb(companyId, fiscalYear);
+        if (!result.isEmpty()) {
+            log.debug("[FIN_METRIC] cached 사용 - companyId={}, year={}", companyId, fiscalYear);
+            return result;
         }
 
-        // 2) 재무상태표 (BS 등)
-        if ("BS".equalsIgnoreCase(sj) || "BIS".equalsIgnoreCase(sj)) {
-
-            // "부채와자본총계"는 자본으로 보지 않고 무시
-            // (자산총계와 같은 값)
-            if (id.equals("ifrs-full_EquityAndLiabilities")
-                    || nm.contains("부채와자본총계")) {
-                return null;
-            }
-
-
-            // 자산총계
-            if (id.equals("ifrs-full_Assets")
-                    || nm.contains("자산총계")) {
-                return "TOTAL_ASSETS";
-            }
-
-            // 부채총계
-            if (id.equals("ifrs-full_Liabilities")
-                    || nm.contains("부채총계")) {
-                return "TOTAL_LIABILITIES";
-            }
+        // 없으면 계산
+        Map<String, BigDecimal> calculated = buildFinancialMetrics(companyId, fiscalYear);
 
-            // 자본총계 (지배 + 비지배 포함)
-            if (id.equals("ifrs-full_Equity")) {
-                return "TOTAL_EQUITY";
-            }
-            if ((id.isEmpty() || "-".equals(id)) && nm.equals("자본총계")) {
-                return "TOTAL_EQUITY";
-            }
+        if (calculated.isEmpty()) {
+            log.warn("[FIN_METRIC] 계산 결과 없음 - companyId={}, year={}", companyId, fiscalYear);
+            return calculated;
+        }
 
+        // 계산 결과 DB 저장
+        saveAnnualMetricsToDb(companyId, fiscalYear, calculated);
+        valuationSnapshotWriter.refreshCompany(companyId);
 
+        return calculated;
+    }
 
-            // 지배주주지분 / 지배기업 소유주 지분
-            if (id.equals("ifrs-full_EquityAttributableToOwnersOfParent")
-                    || nm.contains("지배기업의 소유주에게 귀속되는 자본")
-                    || nm.contains("지배주주지분")) {
-                return "TOTAL_EQUITY_OWNER";
-            }
+    /**
+     * 여러 연도 조회/계산 (getOrBuildAnnualMetrics 의 구간 버전)
+     * - 기간 + 지표 값은 구간 전체를 쿼리 2번으로 로드 (화면은 돌려준 기간으로 헤더 구성, 기간 재조회 없음)
+     * - 값이 없는 연도만 계산 : 필요한 보고서 라인을 한 번에 읽어 메모리에서 연도별 계산
+     * - 없는 fin_period 생성 후 계산 결과는 upsertMatrix 한 번으로 저장, 스냅샷도 회사 단위로 한 번 갱신
+     * @return 구간의 연간 기간(새로 만든 것 포함, 연도 내림차순) + fiscalYear(내림차순) -> (metricCode -> value), 값이 없는 연도는 제외
+     */
+    @Transactional
+    public AnnualMetrics getOrBuildAnnualMetrics(Long companyId, int fromYear, int toYear) {
+        List<FinPeriod> periods = finPeriodRepository
+                .findByCompany_CompanyIdAndPeriodTypeAndFiscalYearBetweenAndIsEstimateOrderByFiscalYearDesc(
+                        companyId, "YEAR", fromYear, toYear, false);
+        Map<Integer, FinPeriod> periodByYear = new HashMap<>();
+        Map<Long, Integer> yearByPeriodId = new HashMap<>();
+        for (FinPeriod period : periods) {
+            periodByYear.put(period.getFiscalYear(), period);
+            yearByPeriodId.put(period.getPeriodId(), period.getFiscalYear());
+        }
 
-            // 유동자산
-            if (id.equals("ifrs-full_CurrentAssets")
-                    || nm.contains("유동자산")) {
-                return "CURRENT_ASSETS";
+        Map<Integer, Map<String, BigDecimal>> stored = new HashMap<>();
+        if (!periods.isEmpty()) {
+            List<FinMetricValue> values = finMetricValueRepository
+                    .findByCompanyIdAndPeriod_PeriodIdIn(companyId, new ArrayList<>(yearByPeriodId.keySet()));
+            for (FinMetricValue v : values) {
+                if (v.getValueNum() != null) {
+                    stored.computeIfAbsent(yearByPeriodId.get(v.getPeriod().getPeriodId()), k -> new LinkedHashMap<>())
+                            .put(v.getMetricCode(), v.getValueNum());
+                }
             }
+        }
 
-            // 유동부채
-            if (id.equals("ifrs-full_CurrentLiabilities")
-                    || nm.contains("유동부채")) {
-                return "CURRENT_LIABILITIES";
+        List<Integer> missingYears = new ArrayList<>();
+        for (int year = toYear; year >= fromYear; year--) {
+            if (!stored.containsKey(year)) {
+                missingYears.add(year);
             }
+        }
 
-            // BPS (주당순자산) - BS나 기타 주당지표에서 나올 수 있음
-            if (id.contains("EquityPerShare") || nm.contains("주당순자산")) {
-                return "BPS";
+        Map<Integer, Map<String, BigDecimal>> result = new LinkedHashMap<>();
+        Map<Integer, Map<String, BigDecimal>> built = missingYears.isEmpty()
+                ? Map.of()
+                : buildAndSaveAnnualMetrics(companyId, missingYears, periodByYear);
+        for (int year = toYear; year >= fromYear; year--) {
+            Map<String, BigDecimal> metrics = stored.containsKey(year) ? stored.get(year) : built.get(year);
+            if (metrics != null && !metrics.isEmpty()) {
+                result.put(year, metrics);
             }
         }
 
-        // 기타 필요한 매핑 (나중에 케이스 생길 때마다 추가)
-        // 예: 계속/중단영업 당기순이익(분리) -> CONT_NET_INC / DISC_NET_INC 등
+        List<FinPeriod> allPeriods = new ArrayList<>(periodByYear.values());
+        allPeriods.sort(Comparator.comparing(FinPeriod::getFiscalYear).reversed());
 
-        return null; // 사용하지 않는 계정
+        log.debug("[FIN_METRIC] 구간 조회 - companyId={}, years={}~{}, cached={}, built={}",
+                companyId, fromYear, toYear, stored.keySet(), built.keySet());
+        return new AnnualMetrics(allPeriods, result);
     }
 
-    private BigDecimal toPercent(BigDecimal ratio) {
-        if (ratio == null) return null;
-        return ratio.multiply(BigDecimal.valueOf(100));
+    /**
+     * 구간 조회 결과 - 연간 기간 목록(연도 내림차순) + 연도별 지표
+     */
+    public record AnnualMetrics(List<FinPeriod> periods, Map<Integer, Map<String, BigDecimal>> metricsByYear) {
     }
-    private void putIfNotNull(Map<String, BigDecimal> map, String key, BigDecimal value) {
-        if (value != null) {
-            map.put(key, value);
+
+    // missingYears(내림차순) 계산 - 라인은 (가장 이른 연도 - 1) ~ (가장 늦은 연도 + 2) 보고서를 한 번에
+    private Map<Integer, Map<String, BigDecimal>> buildAndSaveAnnualMetrics(Long companyId, List<Integer> missingYears,
+                                                                            Map<Integer, FinPeriod> periodByYear) {
+        int minYear = missingYears.get(missingYears.size() - 1);
+        int maxYear = missingYears.get(0);
+        Map<Integer, List<DartFsLine>> linesByFilingYear = dartFsLineRepository
+                .findWithFilingByCompanyIdAndBsnsYearBetween(companyId,
+                        minYear - 1, maxYear + FsAmountColumn.values().length - 1)
+                .stream()
+                .collect(Collectors.groupingBy(line -> line.getFiling().getBsnsYear()));
+        IntFunction<List<DartFsLine>> linesOfFiling = filingYear -> linesByFilingYear.getOrDefault(filingYear, List.of());
+
+        Map<Integer, Map<String, BigDecimal>> built = new LinkedHashMap<>();
+        List<FinPeriod> newPeriods = new ArrayList<>();
+        for (int year : missingYears) {
+            Map<String, BigDecimal> calculated = buildFinancialMetrics(companyId, year, linesOfFiling);
+            if (calculated.isEmpty()) {
+                continue;
+            }
+            built.put(year, calculated);
+            if (!periodByYear.containsKey(year)) {
+                newPeriods.add(newAnnualPeriod(companyId, year));
+            }
         }
-    }
-    private BigDecimal safeDivide(BigDecimal numerator, BigDecimal denominator) {
-        if (numerator == null || denominator == null || BigDecimal.ZERO.compareTo(denominator) == 0) {
-            return null;
+        if (built.isEmpty()) {
+            return built;
         }
-        // scale과 RoundingMode 조정가능
-        return numerator.divide(denominator, 8, RoundingMode.HALF_UP);
-    }
 
-    @Transactional
-    public Map<String, BigDecimal> getOrBuildAnnualMetrics(Long companyId, int fiscalYear) {
-
-        // DB 조회
-        Map<String, BigDecimal> result = loadAnnualMetricsFromDb(companyId, fiscalYear);
-        if (!result.isEmpty()) {
-            log.debug("[FIN_METRIC] cached 사용 - companyId={}, year={}", companyId, fiscalYear);
-            return result;
+        for (FinPeriod period : finPeriodRepository.saveAll(newPeriods)) {
+            periodByYear.put(period.getFiscalYear(), period);
         }
-
-        // 없으면 계산
-        Map<String, BigDecimal> calculated = buildFinancialMetrics(companyId, fiscalYear);
-
-        if (calculated.isEmpty()) {
-            log.warn("[FIN_METRIC] 계산 결과 없음 - companyId={}, year={}", companyId, fiscalYear);
-            return calculated;
+        Map<Long, Map<String, BigDecimal>> valuesByPeriod = new LinkedHashMap<>();
+        built.forEach((year, metrics) -> valuesByPeriod.put(periodByYear.get(year).getPeriodId(), metrics));
+        int saved = finMetricValueBulkWriter.upsertMatrix(companyId, valuesByPeriod, "DART");
+        if (saved > 0) {
+            valuationSnapshotWriter.refreshCompany(companyId);
         }
 
-        // 계산 결과 DB 저장
-        saveAnnualMetricsToDb(companyId, fiscalYear, calculated);
-
-        return calculated;
+        log.info("[FIN_METRIC] 구간 저장 완료 - companyId={}, years={}, metricCount={}",
+                companyId, built.keySet(), saved);
+        return built;
     }
 
     // ------------------ DB에서 연간 지표 로드 ------------------
@@ -697,7 +637,7 @@ public class FinancialService {
         return result;
     }
 
-    // ------------------ 연간 지표를 fin테이블에 저장 ------------------
+    // ------------------ 연간 지표를 fin테이블에 저장 (스냅샷 갱신은 호출하는 쪽에서) ------------------
     @Transactional
     public void saveAnnualMetricsToDb(Long companyId, int fiscalYear,
                                       Map<String, BigDecimal> metrics) {
@@ -707,50 +647,30 @@ public class FinancialService {
                 .findByCompany_CompanyIdAndPeriodTypeAndFiscalYearAndIsEstimate(
                         companyId, "YEAR", fiscalYear, false
                 )
-                .orElseGet(() -> {
-                    Company companyRef = companyRepository.getReferenceById(companyId);
-
-                    FinPeriod p = new FinPeriod();
-
-                    p.setCompany(companyRef);
-                    p.setPeriodType("YEAR");
-                    p.setFiscalYear(fiscalYear);
-                    p.setFiscalQuarter(null);
-                    p.setIsEstimate(false);
-                    p.setLabel(fiscalYear + "/12");
-                    p.setPeriodStart(null);
-                    p.setPeriodEnd(LocalDate.of(fiscalYear, 12, 31));
-                    return finPeriodRepository.save(p);
-                });
+                .orElseGet(() -> finPeriodRepository.save(newAnnualPeriod(companyId, fiscalYear)));
 
-        // metricCode → value 저장 (fin_metric_def에 정의된 것만)
-        for (Map.Entry<String, BigDecimal> entry : metrics.entrySet()) {
-            String metricCode = entry.getKey();
-            BigDecimal value = entry.getValue();
-
-            Optional<FinMetricDef> optDef = finMetricDefRepository.findById(metricCode);
-            if (optDef.isEmpty()) {
-                log.debug("[FIN_METRIC] fin_metric_def에 정의 안된 코드 스킵: {}", metricCode);
-                continue;
-            }
-
-            FinMetricValue fmv = finMetricValueRepository
-                    .findByCompanyIdAndPeriodAndMetricCode(companyId, period, metricCode)
-                    .orElseGet(FinMetricValue::new);
-
-            fmv.setCompanyId(companyId);
-            fmv.setPeriod(period);
-            fmv.setMetricCode(metricCode);
-            fmv.setValueNum(value);
-            fmv.setSource("DART"); // CK_FMV_SOURCE 에 맞춤
-
-            finMetricValueRepository.save(fmv);
-        }
+        // metricCode → value 일괄 저장 (fin_metric_def에 정의된 것만)
+        int saved = finMetricValueBulkWriter.upsert(companyId, period.getPeriodId(), metrics, "DART"); // CK_FMV_SOURCE 에 맞춤
 
         log.info("[FIN_METRIC] 저장 완료 - companyId={}, year={}, metricCount={}",
-                companyId, fiscalYear, metrics.size());
+                companyId, fiscalYear, saved);
+    }
+
+    private FinPeriod newAnnualPeriod(Long companyId, int fiscalYear) {
+        FinPeriod p = new FinPeriod();
+
+        p.setCompany(companyRepository.getReferenceById(companyId));
+        p.setPeriodType("YEAR");
+        p.setFiscalYear(fiscalYear);
+        p.setFiscalQuarter(null);
+        p.setIsEstimate(false);
+        p.setLabel(fiscalYear + "/12");
+        p.setPeriodStart(null);
+        p.setPeriodEnd(LocalDate.of(fiscalYear, 12, 31));
+        return p;
     }
 
+    @Transactional
     public void updateCompanyShareInfo(Long companyId) {
 
         // to-do exception 수정
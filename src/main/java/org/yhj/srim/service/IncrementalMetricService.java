@@ -0,0 +1,172 @@
+package org.yhj.srim.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.yhj.srim.repository.BpsBulkWriter;
+import org.yhj.srim.repository.ValuationSnapshotWriter;
+import org.yhj.srim.service.dto.FsAmountColumn;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * 원본 값 변경 시 영향받는 지표만 다시 계산 (MetricDependencyGraph 기준)
+ * - 새 공시 : 그 보고서가 값을 담는 연도(당기/전기/전전기)를 라인에서 다시 계산해 바뀐 값만 저장하고,
+ *             바뀐 지표의 하위 지표 중 다른 연도에 걸린 것(다음 해 ROE 등)은 저장된 값으로 계산,
+ *             BPS 는 바뀐 연도 기간만 BpsBulkWriter 로
+ * - 새 주식수 : 결산일 이후에 끝나는 기간의 BPS 만
+ * recalcAndSaveFinancialForYearFromDb / recalcAllBpsForCompany 같은 전체 재계산 대신 사용.
+ * 지표 저장은 JDBC(FinMetricValueBulkWriter) 라 같은 트랜잭션의 JPA 재조회는 영속성 컨텍스트의 이전 값을 돌려준다.
+ * 그래서 연도별 값은 처음 한 번만 DB 에서 읽고, 이후엔 이번 호출에서 저장한 값을 덮어쓴 사본(known)으로만 본다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IncrementalMetricService {
+
+    // fin_metric_value.value_num 소수 자릿수 (변경 비교용)
+    private static final int VALUE_SCALE = 6;
+
+    private final FinancialService financialService;
+    private final BpsBulkWriter bpsBulkWriter;
+    private final ValuationSnapshotWriter valuationSnapshotWriter;
+
+    /**
+     * 사업연도 filingYear 보고서의 라인이 바뀐 경우
+     * @return 저장한 지표 수 (BPS 제외)
+     */
+    @Transactional
+    public int onFilingChanged(Long companyId, int filingYear) {
+        int fromYear = filingYear - (FsAmountColumn.values().length - 1);
+        NavigableMap<Integer, Set<String>> pending = new TreeMap<>();
+        Set<Integer> bpsYears = new TreeSet<>();
+        // 연도 -> 저장된 지표 (+ 이번 호출에서 저장한 값)
+        Map<Integer, Map<String, BigDecimal>> known = new HashMap<>();
+        int written = 0;
+
+        // 1) 보고서 금액 컬럼이 담는 연도는 라인에서 전체 계산 (파생 지표 포함), 바뀐 값만 저장
+        for (int year = fromYear; year <= filingYear; year++) {
+            Map<String, BigDecimal> fresh = financialService.buildFinancialMetrics(companyId, year);
+            Map<String, BigDecimal> changed = changedValues(fresh, known(known, companyId, year));
+            if (changed.isEmpty()) {
+                continue;
+            }
+            financialService.saveAnnualMetricsToDb(companyId, year, changed);
+            known.get(year).putAll(changed);
+            written += changed.size();
+            collectDownstream(year, changed.keySet(), pending, bpsYears);
+        }
+
+        // 2) 다른 연도에 걸린 파생 지표 (올해 자본 → 내년 ROE), 저장된 값으로 계산
+        while (!pending.isEmpty()) {
+            Map.Entry<Integer, Set<String>> entry = pending.pollFirstEntry();
+            int year = entry.getKey();
+            if (year >= fromYear && year <= filingYear) {
+                continue; // 1) 에서 이미 전체 계산
+            }
+            Map<String, BigDecimal> stored = known(known, companyId, year);
+            if (stored.isEmpty()) {
+                continue; // 아직 수집 안 된 연도
+            }
+            Map<String, BigDecimal> recomputed = recomputeFromStored(stored, known(known, companyId, year - 1), entry.getValue());
+            Map<String, BigDecimal> changed = changedValues(recomputed, stored);
+            if (changed.isEmpty()) {
+                continue;
+            }
+            financialService.saveAnnualMetricsToDb(companyId, year, changed);
+            stored.putAll(changed);
+            written += changed.size();
+            collectDownstream(year, changed.keySet(), pending, bpsYears);
+        }
+
+        // 3) BPS = 지배주주지분 / 주식수 (바뀐 연도만)
+        int bpsUpdated = 0;
+        for (int year : bpsYears) {
+            bpsUpdated += bpsBulkWriter.recalcCompanyYear(companyId, "YEAR", year);
+        }
+        // 스냅샷은 연도 루프가 끝난 뒤 회사 단위로 한 번
+        if (written > 0 || bpsUpdated > 0) {
+            valuationSnapshotWriter.refreshCompany(companyId);
+        }
+
+        log.info("[FIN_METRIC] 증분 재계산 - companyId={}, filingYear={}, 저장 지표={}, BPS 연도={}, BPS 영향 행={}",
+                companyId, filingYear, written, bpsYears, bpsUpdated);
+        return written;
+    }
+
+    /**
+     * 주식수(stock_share_status) 가 새로 들어온 경우 - 결산일 이후에 끝나는 기간의 주식수 하위 지표만
+     * @return BPS 영향 행 수
+     */
+    @Transactional
+    public int onSharesChanged(Long companyId, LocalDate settlementDate) {
+        int updated = 0;
+        for (MetricDependencyGraph.Affected affected : MetricDependencyGraph.downstream(Set.of(MetricDependencyGraph.SHARES))) {
+            if ("BPS".equals(affected.metricCode())) {
+                updated += bpsBulkWriter.recalcCompanySince(companyId, "YEAR", settlementDate);
+            }
+        }
+        // 스냅샷의 shares_outstanding 도 바뀌므로 BPS 변경과 무관하게 갱신
+        valuationSnapshotWriter.refreshCompany(companyId);
+
+        log.info("[BPS] 주식수 변경 재계산 - companyId={}, 결산일={} 이후, updated={}", companyId, settlementDate, updated);
+        return updated;
+    }
+
+    private static void collectDownstream(int year, Set<String> changedCodes,
+                                          Map<Integer, Set<String>> pending, Set<Integer> bpsYears) {
+        for (MetricDependencyGraph.Affected affected : MetricDependencyGraph.downstream(changedCodes)) {
+            int targetYear = year + affected.yearOffset();
+            if ("BPS".equals(affected.metricCode())) {
+                bpsYears.add(targetYear);
+            } else if (affected.yearOffset() != 0) {
+                pending.computeIfAbsent(targetYear, k -> new LinkedHashSet<>()).add(affected.metricCode());
+            }
+        }
+    }
+
+    // 연도별 지표는 처음 한 번만 DB 에서 (이후엔 저장한 값이 반영된 사본)
+    private Map<String, BigDecimal> known(Map<Integer, Map<String, BigDecimal>> known, Long companyId, int year) {
+        return known.computeIfAbsent(year, y -> new LinkedHashMap<>(financialService.loadAnnualMetricsFromDb(companyId, y)));
+    }
+
+    /**
+     * 금액 지표(해당 연도 + 직전 연도 자본)로 codes 비율 지표만 계산
+     */
+    private static Map<String, BigDecimal> recomputeFromStored(Map<String, BigDecimal> stored,
+                                                               Map<String, BigDecimal> previous, Set<String> codes) {
+        MetricKernel kernel = new MetricKernel();
+        stored.forEach((metricCode, value) -> {
+            MetricKernel.Code code = MetricKernel.Code.of(metricCode);
+            if (code != null && !code.isRatio()) {
+                kernel.putCurrent(code, value);
+            }
+        });
+        for (MetricKernel.Code code : List.of(MetricKernel.Code.TOTAL_EQUITY, MetricKernel.Code.TOTAL_EQUITY_OWNER)) {
+            BigDecimal value = previous.get(code.name());
+            if (value != null) {
+                kernel.putPrevious(code, value);
+            }
+        }
+
+        Map<String, BigDecimal> result = kernel.toMap(List.of());
+        result.keySet().retainAll(codes);
+        return result;
+    }
+
+    // fresh 중 저장값과 다른 것 (DB 소수 자릿수로 맞춰 비교)
+    private static Map<String, BigDecimal> changedValues(Map<String, BigDecimal> fresh, Map<String, BigDecimal> stored) {
+        Map<String, BigDecimal> changed = new LinkedHashMap<>();
+        fresh.forEach((metricCode, value) -> {
+            BigDecimal old = stored.get(metricCode);
+            if (old == null || old.compareTo(value.setScale(VALUE_SCALE, RoundingMode.HALF_UP)) != 0) {
+                changed.put(metricCode, value);
+            }
+        });
+        return changed;
+    }
+}
@@ -2,7 +2,6 @@ package org.yhj.srim.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.jsoup.Connection;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
@@ -11,6 +10,8 @@ import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.yhj.srim.client.OutboundHttpClient;
+import org.yhj.srim.client.dto.OutboundResponse;
 import org.yhj.srim.repository.StockCodeRepository;
 import org.yhj.srim.repository.entity.StockCode;
 
@@ -36,6 +37,8 @@ import java.util.stream.Collectors;
 public class KrxStockCrawlingService {
 
     private final StockCodeRepository stockCodeRepository;
+    private final OutboundHttpClient outboundHttpClient;
+    private final SecondLevelCacheService secondLevelCacheService;
 
     private static final String KRX_CORP_LIST_URL = "https://kind.krx.co.kr/corpgeneral/corpList.do";
     private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36";
@@ -70,19 +73,14 @@ public class KrxStockCrawlingService {
 
             log.info("요청 URL: {}", fullUrl);
 
-            Connection.Response response = Jsoup.connect(fullUrl)
-                    .method(Connection.Method.GET)
-                    .userAgent(USER_AGENT)
-                    .header("Accept", "text/html,application/xhtml+xml,application/xml")
-                    .header("Accept-Language", "ko-KR,ko;q=0.9")
-                    .header("Referer", "https://kind.krx.co.kr/")
-                    .ignoreContentType(true)
-                    .timeout(30000)
-                    .maxBodySize(0)   // 무제한 크기 허용
-                    .execute();
+            OutboundResponse response = outboundHttpClient.get(fullUrl, Map.of(
+                    "User-Agent", USER_AGENT,
+                    "Accept", "text/html,application/xhtml+xml,application/xml",
+                    "Accept-Language", "ko-KR,ko;q=0.9",
+                    "Referer", "https://kind.krx.co.kr/"));
 
             // EUC-KR 인코딩 처리
-            byte[] bodyBytes = response.bodyAsBytes();
+            byte[] bodyBytes = response.body();
             String content = new String(bodyBytes, "EUC-KR");
             String contentType = response.contentType();
 
@@ -131,6 +129,7 @@ public class KrxStockCrawlingService {
                 }
             }
 
+            secondLevelCacheService.evict(List.of(StockCode.class));
             log.info("KRX 크롤링 완료 - {} 건 처리", savedCount);
             return savedCount;
 
@@ -0,0 +1,249 @@
+package org.yhj.srim.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.yhj.srim.client.DartMultiAccountClient;
+import org.yhj.srim.client.dto.DartMultiAccountRow;
+import org.yhj.srim.repository.DartFsLineRepository;
+import org.yhj.srim.repository.StockCodeRepository;
+import org.yhj.srim.repository.entity.StockCode;
+import org.yhj.srim.service.dto.MarketKeyAccountResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * 다중회사 주요계정(fnlttMultiAcnt) 기반 시장 전체 지표 갱신 서비스
+ * - DART 코드가 매핑된 종목을 100개씩 묶어 한 번에 조회
+ * - 매출액/영업이익/당기순이익/자산총계/자본총계 등으로 기본 지표를 바로 계산, 저장
+ * - 연결재무제표 회사는 지배주주 지분/순이익 구분이 없으므로, 당기순이익은 있는데 지배주주 순이익이 저장돼 있지 않은
+ *   회사만 전체 재무제표로 보완 : 이미 수집된 라인이 있으면 DART 호출 없이 라인으로 계산,
+ *   없으면 fnlttSinglAcntAll 호출 (실행당 detail-fallback-max 건까지, 나머지는 다음 실행/백필에서)
+ * - 비율 계산은 MetricKernel (FinancialService 와 같은 계산)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MarketKeyAccountService {
+
+    // 주요계정명(공백 제거) -> 내부 지표 코드
+    private static final Map<String, String> ACCOUNT_TO_METRIC = Map.of(
+            "매출액", "SALES",
+            "영업이익", "OP_INC",
+            "당기순이익", "NET_INC",
+            "자산총계", "TOTAL_ASSETS",
+            "부채총계", "TOTAL_LIABILITIES",
+            "자본총계", "TOTAL_EQUITY",
+            "유동자산", "CURRENT_ASSETS",
+            "유동부채", "CURRENT_LIABILITIES"
+    );
+
+    private final DartMultiAccountClient dartMultiAccountClient;
+    private final StockCodeRepository stockCodeRepository;
+    private final DartFsLineRepository dartFsLineRepository;
+    private final FinancialService financialService;
+    private final CrawlingService crawlingService;
+    private final BpsCalculatorService bpsCalculatorService;
+
+    // 주요계정으로 저장하는 금액 지표 (개별재무제표 회사는 지배주주 지표도)
+    private static final List<MetricKernel.Code> CONSOLIDATED_AMOUNTS = List.of(
+            MetricKernel.Code.SALES, MetricKernel.Code.OP_INC, MetricKernel.Code.NET_INC, MetricKernel.Code.TOTAL_EQUITY);
+    private static final List<MetricKernel.Code> SEPARATE_AMOUNTS = List.of(
+            MetricKernel.Code.SALES, MetricKernel.Code.OP_INC, MetricKernel.Code.NET_INC, MetricKernel.Code.TOTAL_EQUITY,
+            MetricKernel.Code.NET_INC_OWNER, MetricKernel.Code.TOTAL_EQUITY_OWNER);
+
+    @Value("${dart.key-account.detail-fallback:true}")
+    private boolean detailFallback;
+
+    // 실행 1회당 fnlttSinglAcntAll 보완 호출 상한
+    @Value("${dart.key-account.detail-fallback-max:300}")
+    private int detailFallbackMax;
+
+    @Value("${dart.key-account.nightly-enabled:false}")
+    private boolean nightlyEnabled;
+
+    /**
+     * 야간 시장 전체 갱신 (직전 사업연도)
+     */
+    @Scheduled(cron = "${dart.key-account.cron:0 0 3 * * *}", zone = "Asia/Seoul")
+    public void nightlyRefresh() {
+        if (!nightlyEnabled) {
+            return;
+        }
+        refreshMarket(LocalDate.now().getYear() - 1);
+    }
+
+    /**
+     * 시장 전체 주요계정 지표 갱신
+     */
+    public MarketKeyAccountResult refreshMarket(int year) {
+        long startedAt = System.currentTimeMillis();
+
+        Map<String, StockCode> stockByCorpCode = new LinkedHashMap<>();
+        for (StockCode stockCode : stockCodeRepository.findByDartCorpCodeIsNotNull()) {
+            String corpCode = stockCode.getDartCorpCode();
+            if (corpCode != null && corpCode.length() == 8) {
+                stockByCorpCode.putIfAbsent(corpCode, stockCode);
+            }
+        }
+
+        List<String> corpCodes = new ArrayList<>(stockByCorpCode.keySet());
+        int batchCount = 0;
+        int savedCount = 0;
+        int fallbackCount = 0;
+        int fallbackRequestCount = 0;
+        int fallbackDeferredCount = 0;
+
+        for (int from = 0; from < corpCodes.size(); from += DartMultiAccountClient.MAX_CORP_CODES_PER_CALL) {
+            List<String> batch = corpCodes.subList(from,
+                    Math.min(from + DartMultiAccountClient.MAX_CORP_CODES_PER_CALL, corpCodes.size()));
+
+            List<DartMultiAccountRow> rows;
+            try {
+                rows = dartMultiAccountClient.fetchAnnualKeyAccounts(batch, year);
+                batchCount++;
+            } catch (Exception e) {
+                log.warn("[KEY-ACCOUNT] 배치 조회 실패 year={}, from={}: {}", year, from, e.getMessage());
+                continue;
+            }
+
+            Map<String, List<DartMultiAccountRow>> rowsByCorp = groupByCorp(rows, stockByCorpCode);
+
+            for (Map.Entry<String, List<DartMultiAccountRow>> entry : rowsByCorp.entrySet()) {
+                String corpCode = entry.getKey();
+                StockCode stockCode = stockByCorpCode.get(corpCode);
+                try {
+                    Long companyId = financialService.getOrCreateCompany(stockCode.getStockId()).getCompanyId();
+                    Map<String, BigDecimal> saved = new LinkedHashMap<>();
+                    boolean consolidated = saveKeyAccountMetrics(companyId, year, entry.getValue(), saved);
+                    savedCount++;
+
+                    if (!consolidated || !detailFallback || !needsOwnerSplit(companyId, year, saved)) {
+                        continue;
+                    }
+                    boolean hasLines = dartFsLineRepository
+                            .countByFiling_CompanyIdAndFiling_BsnsYearAndThstrmAmountIsNotNull(companyId, year) > 0;
+                    if (!hasLines) {
+                        if (fallbackRequestCount >= detailFallbackMax) {
+                            fallbackDeferredCount++;
+                            continue;
+                        }
+                        crawlingService.crawlAndSaveAnnualFinancial(corpCode, companyId, year);
+                        fallbackRequestCount++;
+                    }
+                    Map<String, BigDecimal> detailed = financialService.buildFinancialMetrics(companyId, year);
+                    if (!detailed.isEmpty()) {
+                        financialService.saveAnnualMetricsToDb(companyId, year, detailed);
+                    }
+                    fallbackCount++;
+                } catch (Exception e) {
+                    log.warn("[KEY-ACCOUNT] 저장 실패 corpCode={}, year={}: {}", corpCode, year, e.getMessage());
+                }
+            }
+        }
+
+        // 자본(지배) 이 바뀐 회사가 많으므로 BPS 는 시장 전체를 한 번에 (스냅샷도 refreshAll 한 번으로)
+        if (savedCount > 0) {
+            bpsCalculatorService.recalcBpsForMarket();
+        }
+
+        MarketKeyAccountResult result = MarketKeyAccountResult.builder()
+                .year(year)
+                .companyCount(corpCodes.size())
+                .batchRequestCount(batchCount)
+                .savedCompanyCount(savedCount)
+                .fallbackCompanyCount(fallbackCount)
+                .fallbackRequestCount(fallbackRequestCount)
+                .fallbackDeferredCount(fallbackDeferredCount)
+                .elapsedMs(System.currentTimeMillis() - startedAt)
+                .build();
+
+        log.info("[KEY-ACCOUNT] 시장 전체 갱신 완료 - {}", result);
+        return result;
+    }
+
+    /**
+     * corp_code 기준 그룹핑 (응답에 corp_code 가 없으면 종목코드로 역매핑)
+     */
+    private Map<String, List<DartMultiAccountRow>> groupByCorp(List<DartMultiAccountRow> rows,
+                                                               Map<String, StockCode> stockByCorpCode) {
+        Map<String, String> corpCodeByTicker = new HashMap<>();
+        stockByCorpCode.forEach((corpCode, stock) -> corpCodeByTicker.put(stock.getTickerKrx(), corpCode));
+
+        Map<String, List<DartMultiAccountRow>> grouped = new LinkedHashMap<>();
+        for (DartMultiAccountRow row : rows) {
+            String corpCode = row.getCorpCode();
+            if (corpCode == null || !stockByCorpCode.containsKey(corpCode)) {
+                corpCode = row.getStockCode() != null ? corpCodeByTicker.get(row.getStockCode().trim()) : null;
+            }
+            if (corpCode == null) {
+                continue;
+            }
+            grouped.computeIfAbsent(corpCode, k -> new ArrayList<>()).add(row);
+        }
+        return grouped;
+    }
+
+    /**
+     * 회사 1곳의 주요계정으로 지표 계산 후 저장
+     * @param saved : 저장한 지표 (출력)
+     * @return 연결재무제표(CFS) 기준 여부
+     */
+    private boolean saveKeyAccountMetrics(Long companyId, int year, List<DartMultiAccountRow> rows,
+                                          Map<String, BigDecimal> saved) {
+        // 연결재무제표가 있으면 연결 기준, 없으면 개별 기준
+        boolean consolidated = rows.stream().anyMatch(r -> "CFS".equals(r.getFsDiv()));
+        String fsDiv = consolidated ? "CFS" : "OFS";
+
+        MetricKernel kernel = new MetricKernel();
+        for (DartMultiAccountRow row : rows) {
+            if (!fsDiv.equals(row.getFsDiv())) continue;
+            MetricKernel.Code code = MetricKernel.Code.of(mapAccountToMetric(row.getAccountNm()));
+            if (code == null) continue;
+            if (row.getThstrmAmount() != null && !kernel.hasCurrent(code)) {
+                kernel.putCurrent(code, row.getThstrmAmount());
+            }
+            // 연결은 지배주주 구분이 없어 ROE 를 계산하지 않으므로 전기 값 불필요
+            if (!consolidated && code == MetricKernel.Code.TOTAL_EQUITY
+                    && row.getFrmtrmAmount() != null && !kernel.hasPrevious(code)) {
+                kernel.putPrevious(code, row.getFrmtrmAmount());
+            }
+        }
+
+        // 개별재무제표만 있는 회사는 전체 = 지배주주 기준
+        if (!consolidated) {
+            if (kernel.hasCurrent(MetricKernel.Code.NET_INC)) {
+                kernel.putCurrent(MetricKernel.Code.NET_INC_OWNER, kernel.current(MetricKernel.Code.NET_INC));
+            }
+            if (kernel.hasCurrent(MetricKernel.Code.TOTAL_EQUITY)) {
+                kernel.putCurrent(MetricKernel.Code.TOTAL_EQUITY_OWNER, kernel.current(MetricKernel.Code.TOTAL_EQUITY));
+            }
+        }
+
+        Map<String, BigDecimal> metrics = kernel.toMap(consolidated ? CONSOLIDATED_AMOUNTS : SEPARATE_AMOUNTS);
+        if (!metrics.isEmpty()) {
+            financialService.saveAnnualMetricsToDb(companyId, year, metrics);
+            saved.putAll(metrics);
+        }
+        return consolidated;
+    }
+
+    /**
+     * 지배주주 구분이 필요한 회사 : 주요계정으로 당기순이익은 저장했는데 지배주주 순이익이 아직 없음
+     * (당기순이익 자체가 없는 회사는 전체 재무제표를 받아도 ROE 를 만들 수 없으므로 보완하지 않음)
+     */
+    private boolean needsOwnerSplit(Long companyId, int year, Map<String, BigDecimal> saved) {
+        return saved.containsKey("NET_INC")
+                && !financialService.loadAnnualMetricsFromDb(companyId, year).containsKey("NET_INC_OWNER");
+    }
+
+    private String mapAccountToMetric(String accountNm) {
+        if (accountNm == null) return null;
+        String nm = accountNm.replaceAll("\\s", "").replace("(손실)", "");
+        return ACCOUNT_TO_METRIC.get(nm);
+    }
+}
@@ -0,0 +1,67 @@
+package org.yhj.srim.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.yhj.srim.common.exception.CustomException;
+import org.yhj.srim.common.exception.code.CommonErrorCode;
+import org.yhj.srim.repository.FinMetricPivotWriter;
+import org.yhj.srim.service.dto.MarketMetricRebuildResult;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 시장 전체 연간 지표 일괄 재계산
+ * - 회사마다 dart_fs_line 을 읽어 Java 로 매핑/계산하는 FinancialService.buildFinancialMetrics 대신
+ *   FinMetricPivotWriter 의 사업연도당 SQL 한 문장(매핑 조인 + 피벗 + 비율)으로 전체 회사를 다시 계산
+ * - 매핑 규칙(fs_account_map / fs_account_name_rule) 수정 후 과거 연도 전체 재반영용
+ * - 지표 저장 후 BPS / valuation_input_snapshot 도 시장 전체 기준으로 다시 계산
+ * 사업연도마다 따로 커밋 (전체를 한 트랜잭션으로 묶지 않음) - 잠금은 한 해 분량만, 중간 실패 시 앞 연도는 반영된 상태.
+ * 분 단위 작업이라 컨트롤러에서는 DartJobRunner 로 백그라운드 실행.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MarketMetricRebuildService {
+
+    private final FinMetricPivotWriter finMetricPivotWriter;
+    private final BpsCalculatorService bpsCalculatorService;
+
+    public MarketMetricRebuildResult rebuild(int fromYear, int toYear) {
+        if (fromYear > toYear) {
+            throw new CustomException(CommonErrorCode.INVALID_INPUT);
+        }
+        long startedAt = System.currentTimeMillis();
+
+        int createdPeriods = 0;
+        int metricRows = 0;
+        Map<Integer, Long> yearElapsedMs = new LinkedHashMap<>();
+        for (int year = fromYear; year <= toYear; year++) {
+            long yearStartedAt = System.currentTimeMillis();
+            FinMetricPivotWriter.YearRebuild rebuilt = finMetricPivotWriter.rebuildYearInNewTransaction(year);
+            long elapsed = System.currentTimeMillis() - yearStartedAt;
+            createdPeriods += rebuilt.createdPeriods();
+            metricRows += rebuilt.affectedRows();
+            yearElapsedMs.put(year, elapsed);
+            log.info("[FIN_METRIC] 시장 전체 재계산 - year={}, 신규 기간={}, 영향 행={}, {}ms (커밋)",
+                    year, rebuilt.createdPeriods(), rebuilt.affectedRows(), elapsed);
+        }
+
+        long bpsStartedAt = System.currentTimeMillis();
+        int bpsRows = bpsCalculatorService.recalcBpsForMarket();
+
+        MarketMetricRebuildResult result = MarketMetricRebuildResult.builder()
+                .fromYear(fromYear)
+                .toYear(toYear)
+                .createdPeriodCount(createdPeriods)
+                .metricAffectedRows(metricRows)
+                .bpsAffectedRows(bpsRows)
+                .yearElapsedMs(yearElapsedMs)
+                .bpsElapsedMs(System.currentTimeMillis() - bpsStartedAt)
+                .elapsedMs(System.currentTimeMillis() - startedAt)
+                .build();
+        log.info("[FIN_METRIC] 시장 전체 재계산 완료 - {}", result);
+        return result;
+    }
+}
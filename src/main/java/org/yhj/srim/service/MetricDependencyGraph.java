@@ -0,0 +1,131 @@
+package org.yhj.srim.service;
+
+import java.util.*;
+
+/**
+ * 파생 지표 의존 그래프 (DAG)
+ * - 파생 지표마다 입력 (지표 코드, 연도 차이) 를 선언 : 0 = 같은 기간, -1 = 직전 연도
+ *   예) ROE 는 같은 해 지배주주 순이익/자본 + 직전 연도 자본 → 올해 자본이 바뀌면 내년 ROE 도 영향
+ * - SHARES 는 지표가 아닌 주식수 입력 (stock_share_status → company.shares_outstanding)
+ * 원본 값이 바뀐 지표에서 영향받는 파생 지표를 (지표, 연도 차이) 로, 연도 → 위상 순서로 돌려준다.
+ * 클래스 로딩 시 순환이 있으면 IllegalStateException.
+ */
+public final class MetricDependencyGraph {
+
+    public static final String SHARES = "SHARES";
+
+    /** 파생 지표의 입력 (yearOffset: 0 = 같은 기간, -1 = 직전 연도) */
+    public record Input(String metricCode, int yearOffset) {
+    }
+
+    /** 영향받는 파생 지표 (yearOffset: 바뀐 기간 기준 0 = 같은 해, 1 = 다음 해) */
+    public record Affected(String metricCode, int yearOffset) {
+    }
+
+    private static final Map<String, List<Input>> INPUTS = declare();
+    private static final Map<String, List<Affected>> DEPENDENTS = reverse(INPUTS);
+    private static final Map<String, Integer> TOPOLOGICAL_INDEX = topologicalIndex(INPUTS);
+
+    private MetricDependencyGraph() {
+    }
+
+    private static Map<String, List<Input>> declare() {
+        Map<String, List<Input>> inputs = new LinkedHashMap<>();
+        // NET_INC 는 보고서 값이 없을 때만 지배 + 비지배
+        inputs.put("NET_INC", List.of(same("NET_INC_OWNER"), same("NET_INC_NONCONT")));
+        inputs.put("OPM", List.of(same("OP_INC"), same("SALES")));
+        inputs.put("NET_MARGIN", List.of(same("NET_INC"), same("SALES")));
+        inputs.put("DEBT_RATIO", List.of(same("TOTAL_LIABILITIES"), same("TOTAL_EQUITY"), same("TOTAL_EQUITY_OWNER")));
+        inputs.put("ROE", List.of(
+                same("NET_INC_OWNER"), same("NET_INC"),
+                same("TOTAL_EQUITY_OWNER"), same("TOTAL_EQUITY"),
+                previousYear("TOTAL_EQUITY_OWNER"), previousYear("TOTAL_EQUITY")));
+        inputs.put("ROA", List.of(same("NET_INC"), same("TOTAL_ASSETS")));
+        inputs.put("QUICK_RATIO", List.of(same("CURRENT_ASSETS"), same("CURRENT_LIABILITIES")));
+        inputs.put("BPS", List.of(same("TOTAL_EQUITY_OWNER"), same(SHARES)));
+        return Collections.unmodifiableMap(inputs);
+    }
+
+    public static boolean isDerived(String metricCode) {
+        return INPUTS.containsKey(metricCode);
+    }
+
+    public static List<Input> inputsOf(String metricCode) {
+        return INPUTS.getOrDefault(metricCode, List.of());
+    }
+
+    /**
+     * changedCodes 가 바뀐 기간 기준으로 다시 계산해야 하는 파생 지표 (전이 포함, 자기 자신 제외)
+     * 정렬: 연도 차이 → 위상 순서 (입력이 먼저)
+     */
+    public static List<Affected> downstream(Collection<String> changedCodes) {
+        Set<Affected> visited = new HashSet<>();
+        Deque<Affected> queue = new ArrayDeque<>();
+        for (String code : changedCodes) {
+            queue.add(new Affected(code, 0));
+        }
+        while (!queue.isEmpty()) {
+            Affected node = queue.poll();
+            for (Affected dependent : DEPENDENTS.getOrDefault(node.metricCode(), List.of())) {
+                Affected next = new Affected(dependent.metricCode(), node.yearOffset() + dependent.yearOffset());
+                if (visited.add(next)) {
+                    queue.add(next);
+                }
+            }
+        }
+
+        List<Affected> result = new ArrayList<>(visited);
+        result.sort(Comparator.comparingInt(Affected::yearOffset)
+                .thenComparingInt(a -> TOPOLOGICAL_INDEX.get(a.metricCode())));
+        return result;
+    }
+
+    private static Input same(String metricCode) {
+        return new Input(metricCode, 0);
+    }
+
+    private static Input previousYear(String metricCode) {
+        return new Input(metricCode, -1);
+    }
+
+    // 입력 → 그 입력을 쓰는 파생 지표 (연도 차이는 부호 반대: 직전 연도 입력이면 다음 해 지표)
+    private static Map<String, List<Affected>> reverse(Map<String, List<Input>> inputs) {
+        Map<String, List<Affected>> dependents = new HashMap<>();
+        inputs.forEach((metricCode, list) -> {
+            for (Input input : list) {
+                dependents.computeIfAbsent(input.metricCode(), k -> new ArrayList<>())
+                        .add(new Affected(metricCode, -input.yearOffset()));
+            }
+        });
+        dependents.replaceAll((k, v) -> List.copyOf(v));
+        return Map.copyOf(dependents);
+    }
+
+    // Kahn 알고리즘 (파생 지표끼리의 간선만), 순환이면 실패
+    private static Map<String, Integer> topologicalIndex(Map<String, List<Input>> inputs) {
+        Map<String, Integer> inDegree = new LinkedHashMap<>();
+        inputs.forEach((metricCode, list) -> inDegree.put(metricCode,
+                (int) list.stream().map(Input::metricCode).filter(inputs::containsKey).distinct().count()));
+
+        Deque<String> ready = new ArrayDeque<>();
+        inDegree.forEach((metricCode, degree) -> {
+            if (degree == 0) ready.add(metricCode);
+        });
+
+        Map<String, Integer> index = new HashMap<>();
+        while (!ready.isEmpty()) {
+            String metricCode = ready.poll();
+            index.put(metricCode, index.size());
+            inputs.forEach((dependent, list) -> {
+                if (list.stream().anyMatch(input -> input.metricCode().equals(metricCode))
+                        && inDegree.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            });
+        }
+        if (index.size() != inputs.size()) {
+            throw new IllegalStateException("지표 의존 그래프에 순환이 있습니다: " + inputs.keySet());
+        }
+        return Map.copyOf(index);
+    }
+}
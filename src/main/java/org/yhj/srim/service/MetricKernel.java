@@ -0,0 +1,336 @@
+package org.yhj.srim.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+
+/**
+ * 재무제표 한 회사-연도의 비율 지표 계산 커널 (long 고정소수점)
+ * - 당기/전기 금액을 지표 ordinal 인덱스의 long[] 에 보관 (DART 금액은 원 단위 정수라 long 에 들어감)
+ * - 비율은 1e-6 % 단위 long (ratioMicros) 으로 계산
+ *     BigDecimal 경로의 num.divide(den, 8, HALF_UP) × 100 과 같은 값:
+ *     소수 8자리 몫을 자릿수 나눗셈으로 구하고, 나머지 × 2 >= 제수면 절댓값 올림 (HALF_UP)
+ *     ×100 한 결과의 소수 8자리 중 끝 두 자리는 항상 0 이므로 소수 6자리 long 로 손실 없이 표현된다.
+ * - ROE 평균자본 (당기+전기)/2 는 scale 8 에서 항상 정확하므로 2×순이익 / (당기+전기) 로 계산
+ * - 정수가 아닌 금액, long 범위를 넘는 값/중간값이 나오면 BigDecimal 기준 경로(toReferenceMap)로 계산
+ * 인스턴스는 스레드 하나에서 reset() 후 재사용한다.
+ */
+public final class MetricKernel {
+
+    public enum Code {
+        SALES, OP_INC, NET_INC, NET_INC_OWNER, NET_INC_NONCONT, CONT_NET_INC, DISC_NET_INC,
+        TOTAL_ASSETS, TOTAL_LIABILITIES, TOTAL_EQUITY, TOTAL_EQUITY_OWNER,
+        CURRENT_ASSETS, CURRENT_LIABILITIES, EPS, BPS,
+        OPM(true), NET_MARGIN(true), DEBT_RATIO(true), ROE(true), ROA(true), QUICK_RATIO(true);
+
+        private static final Map<String, Code> BY_NAME = new HashMap<>();
+
+        static {
+            for (Code code : values()) {
+                BY_NAME.put(code.name(), code);
+            }
+        }
+
+        private final boolean ratio;
+
+        Code() {
+            this(false);
+        }
+
+        Code(boolean ratio) {
+            this.ratio = ratio;
+        }
+
+        public boolean isRatio() {
+            return ratio;
+        }
+
+        /**
+         * @return 커널이 쓰지 않는 지표 코드면 null
+         */
+        public static Code of(String metricCode) {
+            return metricCode == null ? null : BY_NAME.get(metricCode);
+        }
+    }
+
+    /** 계산 결과에 항상 붙는 비율 지표 (순서 유지) */
+    public static final List<Code> RATIOS = List.of(
+            Code.OPM, Code.NET_MARGIN, Code.DEBT_RATIO, Code.ROE, Code.ROA, Code.QUICK_RATIO);
+
+    /** ratioMicros 의 소수 자릿수 (1e-6 %) */
+    public static final int RATIO_SCALE = 6;
+
+    private static final Code[] CODES = Code.values();
+    private static final int SIZE = CODES.length;
+    private static final long FRACTION_UNIT = 100_000_000L;    // 소수 8자리
+    private static final long PERCENT_MICROS = 1_000_000L;      // 정수 % → 1e-6 %
+    private static final long MAX_DIVISOR = Long.MAX_VALUE / 10; // 자릿수 나눗셈에서 나머지 × 10 이 넘치지 않는 범위
+
+    private final long[] current = new long[SIZE];
+    private final long[] previous = new long[SIZE];
+    private final BigDecimal[] currentDecimal = new BigDecimal[SIZE];
+    private final BigDecimal[] previousDecimal = new BigDecimal[SIZE];
+    private final long[] ratio = new long[SIZE];
+    private long currentMask;
+    private long previousMask;
+    private long ratioMask;
+    private boolean exact = true;
+
+    public void reset() {
+        Arrays.fill(currentDecimal, null);
+        Arrays.fill(previousDecimal, null);
+        currentMask = 0;
+        previousMask = 0;
+        ratioMask = 0;
+        exact = true;
+    }
+
+    public boolean hasCurrent(Code code) {
+        return (currentMask & bit(code)) != 0;
+    }
+
+    public BigDecimal current(Code code) {
+        return currentDecimal[code.ordinal()];
+    }
+
+    public void putCurrent(Code code, BigDecimal value) {
+        int i = code.ordinal();
+        currentDecimal[i] = value;
+        current[i] = toLong(value);
+        currentMask |= bit(code);
+    }
+
+    public boolean hasPrevious(Code code) {
+        return (previousMask & bit(code)) != 0;
+    }
+
+    public void putPrevious(Code code, BigDecimal value) {
+        int i = code.ordinal();
+        previousDecimal[i] = value;
+        previous[i] = toLong(value);
+        previousMask |= bit(code);
+    }
+
+    /**
+     * 모든 입력이 long 정수인지 (아니면 toMap 이 BigDecimal 경로로 계산)
+     */
+    public boolean isExact() {
+        return exact;
+    }
+
+    /**
+     * 비율 지표를 long 으로 계산
+     * @return false 면 long 으로 계산할 수 없는 입력/중간값이 있음 (hasRatio 결과는 의미 없음)
+     */
+    public boolean computeRatios() {
+        ratioMask = 0;
+        if (!exact) {
+            return false;
+        }
+        try {
+            // 영업이익률 / 순이익률 : 보고서 값이 있으면 그대로
+            if (hasCurrent(Code.OPM)) {
+                putRatio(Code.OPM, Math.multiplyExact(current[Code.OPM.ordinal()], PERCENT_MICROS));
+            } else if (hasCurrent(Code.OP_INC) && hasCurrent(Code.SALES)) {
+                putRatio(Code.OPM, current[Code.OP_INC.ordinal()], current[Code.SALES.ordinal()]);
+            }
+            if (hasCurrent(Code.NET_MARGIN)) {
+                putRatio(Code.NET_MARGIN, Math.multiplyExact(current[Code.NET_MARGIN.ordinal()], PERCENT_MICROS));
+            } else if (hasCurrent(Code.NET_INC) && hasCurrent(Code.SALES)) {
+                putRatio(Code.NET_MARGIN, current[Code.NET_INC.ordinal()], current[Code.SALES.ordinal()]);
+            }
+
+            // 부채비율 = 부채총계 / (자본총계 or 지배주주지분)
+            Code equityForDebt = hasCurrent(Code.TOTAL_EQUITY) ? Code.TOTAL_EQUITY : Code.TOTAL_EQUITY_OWNER;
+            if (hasCurrent(Code.TOTAL_LIABILITIES) && hasCurrent(equityForDebt)) {
+                putRatio(Code.DEBT_RATIO, current[Code.TOTAL_LIABILITIES.ordinal()], current[equityForDebt.ordinal()]);
+            }
+
+            // ROE = (지배 or 전체) 순이익 / 평균 (지배 or 전체) 자본
+            Code roeNetInc = hasCurrent(Code.NET_INC_OWNER) ? Code.NET_INC_OWNER : Code.NET_INC;
+            Code roeEquityCurr = hasCurrent(Code.TOTAL_EQUITY_OWNER) ? Code.TOTAL_EQUITY_OWNER : Code.TOTAL_EQUITY;
+            Code roeEquityPrev = hasPrevious(Code.TOTAL_EQUITY_OWNER) ? Code.TOTAL_EQUITY_OWNER : Code.TOTAL_EQUITY;
+            if (hasCurrent(roeNetInc) && hasCurrent(roeEquityCurr) && hasPrevious(roeEquityPrev)) {
+                long equitySum = Math.addExact(current[roeEquityCurr.ordinal()], previous[roeEquityPrev.ordinal()]);
+                putRatio(Code.ROE, Math.multiplyExact(current[roeNetInc.ordinal()], 2L), equitySum);
+            }
+
+            if (hasCurrent(Code.NET_INC) && hasCurrent(Code.TOTAL_ASSETS)) {
+                putRatio(Code.ROA, current[Code.NET_INC.ordinal()], current[Code.TOTAL_ASSETS.ordinal()]);
+            }
+            if (hasCurrent(Code.CURRENT_ASSETS) && hasCurrent(Code.CURRENT_LIABILITIES)) {
+                putRatio(Code.QUICK_RATIO, current[Code.CURRENT_ASSETS.ordinal()], current[Code.CURRENT_LIABILITIES.ordinal()]);
+            }
+            return true;
+        } catch (ArithmeticException e) {
+            ratioMask = 0;
+            return false;
+        }
+    }
+
+    public boolean hasRatio(Code code) {
+        return (ratioMask & bit(code)) != 0;
+    }
+
+    /**
+     * computeRatios() 결과 (1e-6 % 단위)
+     */
+    public long ratioMicros(Code code) {
+        return ratio[code.ordinal()];
+    }
+
+    /**
+     * 결과 맵: rawOutputs 순서의 금액 지표 + RATIOS
+     * long 으로 계산할 수 없으면 toReferenceMap 과 같은 BigDecimal 계산
+     */
+    public Map<String, BigDecimal> toMap(List<Code> rawOutputs) {
+        if (!computeRatios()) {
+            return toReferenceMap(rawOutputs);
+        }
+        Map<String, BigDecimal> result = new LinkedHashMap<>();
+        putRawOutputs(result, rawOutputs);
+        for (Code code : RATIOS) {
+            if (hasRatio(code)) {
+                result.put(code.name(), BigDecimal.valueOf(ratio[code.ordinal()], RATIO_SCALE));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * BigDecimal 기준 경로 (divide scale 8, HALF_UP 후 ×100) - 검증 / long 범위 밖 입력용
+     */
+    public Map<String, BigDecimal> toReferenceMap(List<Code> rawOutputs) {
+        Map<String, BigDecimal> result = new LinkedHashMap<>();
+        putRawOutputs(result, rawOutputs);
+
+        BigDecimal opm = currentDecimal[Code.OPM.ordinal()];
+        if (opm == null) {
+            opm = toPercent(safeDivide(current(Code.OP_INC), current(Code.SALES)));
+        }
+        putIfNotNull(result, Code.OPM, opm);
+
+        BigDecimal netMargin = currentDecimal[Code.NET_MARGIN.ordinal()];
+        if (netMargin == null) {
+            netMargin = toPercent(safeDivide(current(Code.NET_INC), current(Code.SALES)));
+        }
+        putIfNotNull(result, Code.NET_MARGIN, netMargin);
+
+        BigDecimal equityForDebt = firstNonNull(current(Code.TOTAL_EQUITY), current(Code.TOTAL_EQUITY_OWNER));
+        putIfNotNull(result, Code.DEBT_RATIO, toPercent(safeDivide(current(Code.TOTAL_LIABILITIES), equityForDebt)));
+
+        BigDecimal roeNetInc = firstNonNull(current(Code.NET_INC_OWNER), current(Code.NET_INC));
+        BigDecimal roeEquityCurr = firstNonNull(current(Code.TOTAL_EQUITY_OWNER), current(Code.TOTAL_EQUITY));
+        BigDecimal roeEquityPrev = firstNonNull(previousDecimal[Code.TOTAL_EQUITY_OWNER.ordinal()],
+                previousDecimal[Code.TOTAL_EQUITY.ordinal()]);
+        if (roeNetInc != null && roeEquityCurr != null && roeEquityPrev != null) {
+            BigDecimal avgEquity = roeEquityCurr.add(roeEquityPrev)
+                    .divide(BigDecimal.valueOf(2), 8, RoundingMode.HALF_UP);
+            putIfNotNull(result, Code.ROE, toPercent(safeDivide(roeNetInc, avgEquity)));
+        }
+
+        putIfNotNull(result, Code.ROA, toPercent(safeDivide(current(Code.NET_INC), current(Code.TOTAL_ASSETS))));
+        putIfNotNull(result, Code.QUICK_RATIO,
+                toPercent(safeDivide(current(Code.CURRENT_ASSETS), current(Code.CURRENT_LIABILITIES))));
+        return result;
+    }
+
+    /**
+     * 두 결과 맵이 같은 지표 / 같은 값(compareTo, scale 무시)인지
+     */
+    public static boolean sameValues(Map<String, BigDecimal> a, Map<String, BigDecimal> b) {
+        if (!a.keySet().equals(b.keySet())) {
+            return false;
+        }
+        for (Map.Entry<String, BigDecimal> entry : a.entrySet()) {
+            if (entry.getValue().compareTo(b.get(entry.getKey())) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * num / den 을 소수 8자리 HALF_UP 으로 나눈 뒤 ×100 한 값의 1e-6 % 단위 정수
+     * (= num.divide(den, 8, HALF_UP) 의 unscaled value)
+     * @throws ArithmeticException long 범위를 넘는 경우
+     */
+    static long ratioMicros(long num, long den) {
+        if (num == Long.MIN_VALUE || den == Long.MIN_VALUE) {
+            throw new ArithmeticException("long overflow");
+        }
+        boolean negative = (num < 0) != (den < 0);
+        long n = Math.abs(num);
+        long d = Math.abs(den);
+        if (d > MAX_DIVISOR) {
+            throw new ArithmeticException("divisor out of range");
+        }
+
+        long quotient = Math.multiplyExact(n / d, FRACTION_UNIT);
+        long remainder = n % d;
+        long fraction = 0;
+        for (int digit = 0; digit < 8; digit++) {
+            remainder *= 10;
+            fraction = fraction * 10 + remainder / d;
+            remainder %= d;
+        }
+        long result = Math.addExact(quotient, fraction);
+        if (remainder * 2 >= d) {
+            result = Math.addExact(result, 1);
+        }
+        return negative ? -result : result;
+    }
+
+    private void putRatio(Code code, long num, long den) {
+        if (den != 0) {
+            putRatio(code, ratioMicros(num, den));
+        }
+    }
+
+    private void putRatio(Code code, long micros) {
+        ratio[code.ordinal()] = micros;
+        ratioMask |= bit(code);
+    }
+
+    private void putRawOutputs(Map<String, BigDecimal> result, List<Code> rawOutputs) {
+        for (Code code : rawOutputs) {
+            putIfNotNull(result, code, currentDecimal[code.ordinal()]);
+        }
+    }
+
+    private long toLong(BigDecimal value) {
+        if (exact) {
+            try {
+                return value.longValueExact();
+            } catch (ArithmeticException e) {
+                exact = false; // 소수 / long 범위 밖 → BigDecimal 경로
+            }
+        }
+        return 0L;
+    }
+
+    private static long bit(Code code) {
+        return 1L << code.ordinal();
+    }
+
+    private static void putIfNotNull(Map<String, BigDecimal> map, Code code, BigDecimal value) {
+        if (value != null) {
+            map.put(code.name(), value);
+        }
+    }
+
+    private static BigDecimal firstNonNull(BigDecimal first, BigDecimal second) {
+        return first != null ? first : second;
+    }
+
+    private static BigDecimal toPercent(BigDecimal ratio) {
+        return ratio == null ? null : ratio.multiply(BigDecimal.valueOf(100));
+    }
+
+    private static BigDecimal safeDivide(BigDecimal numerator, BigDecimal denominator) {
+        if (numerator == null || denominator == null || BigDecimal.ZERO.compareTo(denominator) == 0) {
+            return null;
+        }
+        return numerator.divide(denominator, 8, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,93 @@
+package org.yhj.srim.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.yhj.srim.service.dto.CacheRegionStatsDto;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hibernate 2차 캐시 무효화 / 통계
+ * - JPA 로 저장한 엔티티는 Hibernate 가 알아서 갱신하지만,
+ *   JDBC 로 직접 고친 행(DartCorpCodeSyncService 의 stock_code 등)이나 대량 재수집 뒤에는 영역을 통째로 비운다.
+ * - 트랜잭션 안에서 호출하면 커밋 후에 비운다 (커밋 전에 비우면 다른 요청이 옛 값을 다시 올릴 수 있음).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SecondLevelCacheService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * 엔티티 영역 + 같은 테이블을 보는 쿼리 결과 영역 무효화
+     */
+    public void evict(List<Class<?>> entityClasses, String... queryRegions) {
+        runAfterCommit(() -> {
+            Cache cache = sessionFactory().getCache();
+            entityClasses.forEach(cache::evictEntityData);
+            Arrays.stream(queryRegions).forEach(cache::evictQueryRegion);
+            log.info("[L2-CACHE] 무효화 - entities={}, queryRegions={}",
+                    entityClasses.stream().map(Class::getSimpleName).toList(), Arrays.toString(queryRegions));
+        });
+    }
+
+    public void evictAll() {
+        Cache cache = sessionFactory().getCache();
+        cache.evictAllRegions();
+        log.info("[L2-CACHE] 전체 영역 무효화");
+    }
+
+    /**
+     * 영역별 적중 통계 (hibernate.generate_statistics=true 일 때만 집계됨)
+     */
+    public List<CacheRegionStatsDto> getStats() {
+        Statistics statistics = sessionFactory().getStatistics();
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(region -> toDto(region, statistics.getCacheRegionStatistics(region)))
+                .toList();
+    }
+
+    private static CacheRegionStatsDto toDto(String region, CacheRegionStatistics stats) {
+        if (stats == null) {
+            return CacheRegionStatsDto.builder().region(region).elementCountInMemory(-1).build();
+        }
+        long hit = stats.getHitCount();
+        long miss = stats.getMissCount();
+        return CacheRegionStatsDto.builder()
+                .region(region)
+                .hitCount(hit)
+                .missCount(miss)
+                .putCount(stats.getPutCount())
+                .elementCountInMemory(stats.getElementCountInMemory())
+                .hitRatio(hit + miss == 0 ? 0 : (double) hit / (hit + miss))
+                .build();
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    private static void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,82 @@
+package org.yhj.srim.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.yhj.srim.repository.DartFsFilingRepository;
+import org.yhj.srim.repository.DartFsLineRepository;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 사업보고서 희소 수집 계획기
+ * 사업보고서 한 건에는 당기/전기/전전기 3개 연도 금액이 들어 있으므로
+ * 최근 연도부터 3년 간격으로만 조회하고, 사이 연도는 전기/전전기 컬럼으로 채운다.
+ * - 보고서가 없는 연도(미공시, 상장 전 등)는 바로 아래 연도를 다시 조회
+ * - 전기/전전기 컬럼이 비어 있거나 당기 대비 절반 미만이면 해당 연도를 개별 조회
+ * 채워진 연도의 지표는 FinancialService.buildFinancialMetrics 에서 컬럼을 골라 계산한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SparseFetchPlanner {
+
+    private final CrawlingService crawlingService;
+    private final DartFsFilingRepository dartFsFilingRepository;
+    private final DartFsLineRepository dartFsLineRepository;
+
+    /**
+     * startYear ~ endYear 재무제표를 최소 호출로 수집
+     * @return 실제 DART 를 조회한 연도 목록
+     */
+    public List<Integer> fetchAnnualFinancials(String corpCode, Long companyId, int startYear, int endYear) {
+        Set<Integer> covered = new HashSet<>();
+        List<Integer> fetchedYears = new ArrayList<>();
+
+        for (int year = endYear; year >= startYear; year--) {
+            if (covered.contains(year)) {
+                continue;
+            }
+            covered.add(year);
+
+            // 이미 저장된 보고서는 다시 조회하지 않고 앵커로만 사용
+            if (!dartFsFilingRepository.existsByCompanyIdAndBsnsYear(companyId, year)) {
+                int saved = crawlingService.crawlAndSaveAnnualFinancial(corpCode, companyId, year);
+                fetchedYears.add(year);
+                if (saved == 0) {
+                    log.debug("[SPARSE] {}년 보고서 없음 - 직전 연도 개별 조회", year);
+                    continue;
+                }
+            }
+
+            long thstrm = dartFsLineRepository.countByFiling_CompanyIdAndFiling_BsnsYearAndThstrmAmountIsNotNull(companyId, year);
+            long frmtrm = dartFsLineRepository.countByFiling_CompanyIdAndFiling_BsnsYearAndFrmtrmAmountIsNotNull(companyId, year);
+            long bfefrmtrm = dartFsLineRepository.countByFiling_CompanyIdAndFiling_BsnsYearAndBfefrmtrmAmountIsNotNull(companyId, year);
+
+            if (isCovered(frmtrm, thstrm)) {
+                covered.add(year - 1);
+                if (isCovered(bfefrmtrm, thstrm)) {
+                    covered.add(year - 2);
+                }
+            }
+
+            log.debug("[SPARSE] {}년 보고서 컬럼 커버리지 thstrm={}, frmtrm={}, bfefrmtrm={}",
+                    year, thstrm, frmtrm, bfefrmtrm);
+        }
+
+        log.info("[SPARSE] 재무제표 수집 완료 - companyId={}, years={}~{}, 조회 연도={}",
+                companyId, startYear, endYear, fetchedYears);
+        return fetchedYears;
+    }
+
+    /**
+     * 이전 연도 컬럼이 당기 컬럼의 절반 이상 채워져 있으면 그 연도를 따로 조회하지 않는다.
+     * (재작성/계정 재분류로 이전 연도 컬럼이 비는 보고서는 개별 조회로 보완)
+     */
+    private boolean isCovered(long columnCount, long thstrmCount) {
+        return thstrmCount > 0 && columnCount * 2 >= thstrmCount;
+    }
+}
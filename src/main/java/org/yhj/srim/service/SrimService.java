@@ -13,6 +13,7 @@ import org.yhj.srim.repository.entity.Company;
 import org.yhj.srim.repository.entity.FinMetricValue;
 import org.yhj.srim.repository.entity.FinPeriod;
 import org.yhj.srim.repository.entity.StockShareStatus;
+import org.yhj.srim.repository.entity.ValuationInputSnapshot;
 import org.yhj.srim.service.dto.SrimResultDto;
 
 import java.math.BigDecimal;
@@ -49,6 +50,7 @@ public class SrimService {
         new BigDecimal("-0.50")
     };
     private final StockShareStatusRepository stockShareStatusRepository;
+    private final ValuationInputSnapshotRepository valuationInputSnapshotRepository;
 
     /**
      * S-RIM 계산
@@ -68,20 +70,38 @@ public class SrimService {
         if (tenorMonths == null) tenorMonths = (int) DEFAULT_TENOR_MONTHS;
         if (basis == null) basis = "YEAR";
 
-        // 1. 연도별 주식 수 조회,
         int baseYear = year == null ? LocalDate.now().getYear() -1 : year;
         log.debug("기준연도 : year = {}", baseYear);
-        Long sharesOutStanding = getShareOutStanding(companyId, baseYear, SE);
-        log.debug("{}연도 유통주식수 : {}",baseYear, sharesOutStanding);
 
+        Long sharesOutStanding;
+        BigDecimal roe;
+        BigDecimal equityOwner;
+
+        // 연간 기준은 valuation_input_snapshot PK 조회 1회로 입력값 확보
+        Optional<ValuationInputSnapshot> snapshot = "YEAR".equals(basis)
+                ? valuationInputSnapshotRepository.findById(new ValuationInputSnapshot.Key(companyId, baseYear))
+                        .filter(ValuationInputSnapshot::isComplete)
+                : Optional.empty();
+
+        if (snapshot.isPresent()) {
+            ValuationInputSnapshot s = snapshot.get();
+            sharesOutStanding = s.getSharesOutstanding();
+            roe = weightedAverageRoe(List.of(s.getRoe(), s.getRoePrev1(), s.getRoePrev2()));
+            equityOwner = s.getEquityOwner();
+            log.debug("스냅샷 사용 - 유통주식수 : {}, ROE : {}, 자기자본 : {}", sharesOutStanding, roe, equityOwner);
+        } else {
+            // 1. 연도별 주식 수 조회,
+            sharesOutStanding = getShareOutStanding(companyId, baseYear, SE);
+            log.debug("{}연도 유통주식수 : {}",baseYear, sharesOutStanding);
 
-        // 2. ROE 가중평균 계산 (최근 3개, 가중치 3:2:1)
-        BigDecimal roe = calculateWeightedAverageRoe(companyId, baseYear , basis);
-        log.debug("ROE: {}", roe);
+            // 2. ROE 가중평균 계산 (최근 3개, 가중치 3:2:1)
+            roe = calculateWeightedAverageRoe(companyId, baseYear , basis);
+            log.debug("ROE: {}", roe);
 
-        // 3. 연도 기준 지배주주지분 조회
-        BigDecimal equityOwner = getEquityOwner(companyId, baseYear);
-        log.debug("자기자본(지배주주지분) : {}", equityOwner);
+            // 3. 연도 기준 지배주주지분 조회
+            equityOwner = getEquityOwner(companyId, baseYear);
+            log.debug("자기자본(지배주주지분) : {}", equityOwner);
+        }
 
         // 4. Ke (할인율) 조회 - 회사채 수익률
         BigDecimal ke = getDiscountRate(rating, tenorMonths.shortValue());
@@ -208,7 +228,14 @@ public class SrimService {
             log.debug("YEAR : {}, ROE: {} (idx={})", period.getFiscalYear(), roe, idx++);
             roeValues.add(roe);
         }
-        
+
+        return weightedAverageRoe(roeValues);
+    }
+
+    /**
+     * ROE(%) 3개(최신순) → 가중평균 비율
+     */
+    private BigDecimal weightedAverageRoe(List<BigDecimal> roeValues) {
         // 가중평균 계산 (최신 = 3, 두번째 = 2, 세번째 = 1)
         BigDecimal weightedSum = roeValues.get(0).multiply(new BigDecimal("3"))
                 .add(roeValues.get(1).multiply(new BigDecimal("2")))
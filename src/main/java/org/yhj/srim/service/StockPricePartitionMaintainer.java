@@ -0,0 +1,65 @@
+package org.yhj.srim.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * stock_price 연도별 파티션 관리
+ * - stock_price 는 trade_date 기준 RANGE COLUMNS 파티션 (p2010 ... pYYYY, pmax)
+ * - 기동 시 / 매월 1일에 올해, 내년 파티션이 없으면 pmax 를 쪼개서 만든다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StockPricePartitionMaintainer {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        ensureYearPartitions();
+    }
+
+    @Scheduled(cron = "0 0 5 1 * *", zone = "Asia/Seoul")
+    public void ensureYearPartitions() {
+        int year = LocalDate.now(KST).getYear();
+        try {
+            Set<String> partitions = new HashSet<>(jdbcTemplate.queryForList("""
+                SELECT PARTITION_NAME
+                FROM information_schema.PARTITIONS
+                WHERE TABLE_SCHEMA = DATABASE()
+                  AND TABLE_NAME = 'stock_price'
+                  AND PARTITION_NAME IS NOT NULL
+            """, String.class));
+            if (!partitions.contains("pmax")) {
+                log.warn("[PRICE-PARTITION] stock_price 가 연도 파티션 구조가 아님 - 마이그레이션 필요");
+                return;
+            }
+
+            for (int y = year; y <= year + 1; y++) {
+                String name = "p" + y;
+                if (partitions.contains(name)) {
+                    continue;
+                }
+                jdbcTemplate.execute("ALTER TABLE stock_price REORGANIZE PARTITION pmax INTO ("
+                        + "PARTITION " + name + " VALUES LESS THAN ('" + (y + 1) + "-01-01'), "
+                        + "PARTITION pmax VALUES LESS THAN (MAXVALUE))");
+                log.info("[PRICE-PARTITION] 파티션 추가 - {}", name);
+            }
+        } catch (Exception e) {
+            log.warn("[PRICE-PARTITION] 파티션 점검 실패: {}", e.getMessage());
+        }
+    }
+}
@@ -5,12 +5,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.yhj.srim.repository.StockPriceRepository;
+import org.yhj.srim.repository.entity.StockPrice;
 import org.yhj.srim.service.dto.StockPriceDto;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * 주가 서비스
@@ -134,4 +136,30 @@ public class StockPriceService {
     public boolean hasAnyPrice(Long companyId) {
         return stockPriceRepository.existsByCompany_CompanyId(companyId);
     }
+
+    /**
+     * 저장된 마지막 거래일 (네이버 일별 시세 기준)
+     */
+    public Optional<LocalDate> getLastTradeDate(Long companyId) {
+        return stockPriceRepository.findLastTradeDate(companyId, StockPrice.MarketSnapshotSource.NAVER);
+    }
+
+    /**
+     * 차트용 일별 시세 (요청 기간만, 거래일 오름차순)
+     */
+    public List<StockPriceDto.PriceData> getPriceData(Long companyId, LocalDate start, LocalDate end) {
+        return stockPriceRepository
+                .findByCompany_CompanyIdAndSourceAndTradeDateBetweenOrderByTradeDateAsc(
+                        companyId, StockPrice.MarketSnapshotSource.NAVER, start, end)
+                .stream()
+                .map(p -> StockPriceDto.PriceData.builder()
+                        .date(p.getTradeDate())
+                        .open(p.getOpenPrice())
+                        .high(p.getHighPrice())
+                        .low(p.getLowPrice())
+                        .close(p.getPrice())
+                        .volume(p.getVolume())
+                        .build())
+                .toList();
+    }
 }
@@ -6,11 +6,22 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.yhj.srim.common.exception.CustomException;
+import org.yhj.srim.common.exception.code.StockErrorCode;
 import org.yhj.srim.repository.CompanyRepository;
 import org.yhj.srim.repository.StockCodeRepository;
+import org.yhj.srim.repository.StockCodeSearchRepository;
 import org.yhj.srim.repository.entity.Company;
 import org.yhj.srim.repository.entity.StockCode;
 import org.yhj.srim.service.dto.StockDto;
+import org.yhj.srim.service.dto.StockSearchSlice;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -20,6 +31,11 @@ public class StockService {
 
     private final StockCodeRepository stockCodeRepository;
     private final CompanyRepository companyRepository;
+    private final StockCodeSearchRepository stockCodeSearchRepository;
+
+    // 커서 = Base64url("회사명\u0000stock_id")
+    private static final char CURSOR_SEPARATOR = '\u0000';
+    private static final int MAX_SEARCH_SIZE = 100;
 
     /**
      * 키워드로 종목 검색 (회사명 또는 티커)
@@ -36,6 +52,56 @@ public class StockService {
                 .map(this::toDto);
     }
 
+    /**
+     * 키워드로 종목 검색 (keyset 페이징)
+     * - 티커 앞부분 일치 + 회사명 ngram FULLTEXT, (company_name, stock_id) 순
+     * @param cursor 이전 응답의 nextCursor (첫 페이지면 null)
+     */
+    public StockSearchSlice searchKeyset(String keyword, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_SEARCH_SIZE));
+        String afterName = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String decoded = decodeCursor(cursor);
+            int sep = decoded.lastIndexOf(CURSOR_SEPARATOR);
+            afterName = decoded.substring(0, sep);
+            afterId = parseCursorId(decoded.substring(sep + 1));
+        }
+        log.debug("종목 검색(keyset): keyword={}, after=({}, {}), size={}", keyword, afterName, afterId, pageSize);
+
+        List<StockCodeSearchRepository.SearchKey> keys =
+                stockCodeSearchRepository.search(keyword, afterName, afterId, pageSize + 1);
+        boolean hasNext = keys.size() > pageSize;
+        if (hasNext) {
+            keys = keys.subList(0, pageSize);
+        }
+
+        // 엔티티는 PK 조회 (2차 캐시), 순서는 검색 결과 순서 유지
+        Map<Long, StockCode> byId = stockCodeRepository.findAllById(
+                        keys.stream().map(StockCodeSearchRepository.SearchKey::stockId).toList())
+                .stream()
+                .collect(Collectors.toMap(StockCode::getStockId, Function.identity()));
+        List<StockDto> content = keys.stream()
+                .map(key -> byId.get(key.stockId()))
+                .filter(stockCode -> stockCode != null)
+                .map(this::toDto)
+                .toList();
+
+        String nextCursor = null;
+        if (hasNext) {
+            StockCodeSearchRepository.SearchKey last = keys.get(keys.size() - 1);
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                    (last.companyName() + CURSOR_SEPARATOR + last.stockId()).getBytes(StandardCharsets.UTF_8));
+        }
+
+        return StockSearchSlice.builder()
+                .content(content)
+                .size(pageSize)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
     /**
      * 시장과 티커로 종목 상세 조회
      */
@@ -69,6 +135,26 @@ public class StockService {
         return stockCodeRepository.count();
     }
 
+    private static String decodeCursor(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (decoded.indexOf(CURSOR_SEPARATOR) < 0) {
+                throw new CustomException(StockErrorCode.INVALID_SEARCH_CURSOR);
+            }
+            return decoded;
+        } catch (IllegalArgumentException e) {
+            throw new CustomException(StockErrorCode.INVALID_SEARCH_CURSOR);
+        }
+    }
+
+    private static Long parseCursorId(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new CustomException(StockErrorCode.INVALID_SEARCH_CURSOR);
+        }
+    }
+
     /**
      * Entity를 DTO로 변환
      */
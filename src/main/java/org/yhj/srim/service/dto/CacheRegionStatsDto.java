@@ -0,0 +1,22 @@
+package org.yhj.srim.service.dto;
+
+import lombok.*;
+
+/**
+ * Hibernate 2차 캐시 영역별 통계 DTO
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class CacheRegionStatsDto {
+
+    private String region;           // 영역 이름 (엔티티 FQCN 또는 query.*)
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    private long elementCountInMemory; // 힙 적재 건수 (제공자가 모르면 -1)
+    private double hitRatio;         // hit / (hit + miss), 조회 없으면 0
+}
@@ -0,0 +1,27 @@
+package org.yhj.srim.service.dto;
+
+import lombok.*;
+
+/**
+ * DART 대량 백필 실행 결과 DTO
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class DartBackfillResult {
+
+    private int companyCount;        // 대상 회사 수
+    private int startYear;           // 조회 시작 연도
+    private int endYear;             // 조회 종료 연도
+
+    private int taskCount;           // 회사 단위 작업 수
+    private int succeededCount;      // 성공 작업 수
+    private int failedCount;         // 실패 작업 수
+    private long savedMetricCount;   // 생성/조회된 연간 지표 건수
+
+    private long remainingDailyQuota; // 작업 종료 시점 남은 일일 호출 가능 건수
+    private long elapsedMs;          // 소요 시간(ms)
+}
@@ -0,0 +1,23 @@
+package org.yhj.srim.service.dto;
+
+import lombok.*;
+
+/**
+ * DART 신규 정기공시 폴링 결과 DTO
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class DartFeedPollResult {
+
+    private int requestCount;        // list.json 호출 수
+    private int newFilingCount;      // high-water mark 이후 신규 공시 수
+    private int enqueuedCount;       // 재무제표 수집 작업으로 넣은 건수 (회사+연도 단위)
+    private int skippedCount;        // 미등록 종목/결산기 판별 불가/분기·반기 보고서
+
+    private long remainingDailyQuota; // 폴링 종료 시점 남은 일일 호출 가능 건수
+    private long elapsedMs;          // 소요 시간(ms)
+}
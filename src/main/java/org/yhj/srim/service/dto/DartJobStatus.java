@@ -0,0 +1,30 @@
+package org.yhj.srim.service.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * DART 대량 작업(백필 / 주요계정 갱신 / 지표 재계산) 실행 상태 DTO
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class DartJobStatus {
+
+    public enum State { RUNNING, SUCCEEDED, FAILED }
+
+    private String jobId;                // 작업 ID
+    private String type;                 // 작업 종류 (BACKFILL, KEY_ACCOUNT, METRIC_REBUILD)
+    private String params;               // 요청 파라미터 요약
+    private State state;                 // 실행 상태
+
+    private LocalDateTime startedAt;     // 시작 시각
+    private LocalDateTime finishedAt;    // 종료 시각 (실행 중이면 null)
+
+    private Object result;               // 완료 시 결과 DTO
+    private String error;                // 실패 사유
+}
@@ -0,0 +1,53 @@
+package org.yhj.srim.service.dto;
+
+import lombok.Getter;
+import org.yhj.srim.repository.entity.DartFsLine;
+
+import java.math.BigDecimal;
+
+/**
+ * 사업보고서 한 건에 담긴 금액 컬럼 구분
+ * - THSTRM    : 당기 (보고서 사업연도)
+ * - FRMTRM    : 전기 (사업연도 - 1)
+ * - BFEFRMTRM : 전전기 (사업연도 - 2)
+ */
+@Getter
+public enum FsAmountColumn {
+
+    THSTRM(0),
+    FRMTRM(1),
+    BFEFRMTRM(2);
+
+    /** 보고서 사업연도 기준 몇 년 전 값인지 */
+    private final int yearsBack;
+
+    FsAmountColumn(int yearsBack) {
+        this.yearsBack = yearsBack;
+    }
+
+    public BigDecimal amountOf(DartFsLine line) {
+        return switch (this) {
+            case THSTRM -> line.getThstrmAmount();
+            case FRMTRM -> line.getFrmtrmAmount();
+            case BFEFRMTRM -> line.getBfefrmtrmAmount();
+        };
+    }
+
+    /**
+     * 같은 보고서 안에서 한 해 전 컬럼 (전전기는 같은 보고서 안에 없음)
+     */
+    public FsAmountColumn previous() {
+        return switch (this) {
+            case THSTRM -> FRMTRM;
+            case FRMTRM -> BFEFRMTRM;
+            case BFEFRMTRM -> null;
+        };
+    }
+
+    /**
+     * 사업연도 fiscalYear 값을 담고 있는 보고서 연도
+     */
+    public int filingYearFor(int fiscalYear) {
+        return fiscalYear + yearsBack;
+    }
+}
@@ -0,0 +1,24 @@
+package org.yhj.srim.service.dto;
+
+import lombok.*;
+
+/**
+ * 다중회사 주요계정 기반 시장 전체 갱신 결과 DTO
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class MarketKeyAccountResult {
+
+    private int year;                  // 사업연도
+    private int companyCount;          // 대상 회사 수
+    private int batchRequestCount;     // fnlttMultiAcnt 호출 수
+    private int savedCompanyCount;     // 주요계정 지표 저장 회사 수
+    private int fallbackCompanyCount;  // 전체 재무제표로 보완한 회사 수
+    private int fallbackRequestCount;  // 보완에 쓴 fnlttSinglAcntAll 호출 수 (나머지는 저장된 라인으로 계산)
+    private int fallbackDeferredCount; // 호출 상한(detail-fallback-max)으로 다음 실행으로 미룬 회사 수
+    private long elapsedMs;            // 소요 시간(ms)
+}
@@ -0,0 +1,26 @@
+package org.yhj.srim.service.dto;
+
+import lombok.*;
+
+import java.util.Map;
+
+/**
+ * 시장 전체 연간 지표 일괄 재계산(SQL 피벗) 결과 DTO
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class MarketMetricRebuildResult {
+
+    private int fromYear;              // 시작 사업연도
+    private int toYear;                // 종료 사업연도
+    private int createdPeriodCount;    // 새로 만든 fin_period 수
+    private int metricAffectedRows;    // fin_metric_value 영향 행 수 (신규 1, 변경 2)
+    private int bpsAffectedRows;       // BPS 재계산 영향 행 수
+    private Map<Integer, Long> yearElapsedMs; // 사업연도별 소요 시간(ms, 연도별 커밋 포함)
+    private long bpsElapsedMs;         // BPS / 스냅샷 재계산 소요 시간(ms)
+    private long elapsedMs;            // 전체 소요 시간(ms)
+}
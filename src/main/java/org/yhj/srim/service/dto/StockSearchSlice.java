@@ -0,0 +1,27 @@
+package org.yhj.srim.service.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * 종목 검색 결과 (keyset 페이징)
+ * - 전체 건수/페이지 번호 없이 다음 페이지 커서만 돌려준다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class StockSearchSlice {
+
+    private List<StockDto> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;       // 다음 페이지 요청 시 cursor 파라미터 (마지막 페이지면 null)
+
+    public boolean isEmpty() {
+        return content == null || content.isEmpty();
+    }
+}
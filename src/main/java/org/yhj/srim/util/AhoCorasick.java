@@ -0,0 +1,125 @@
+package org.yhj.srim.util;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * 다중 패턴 부분 문자열 검색 (Aho-Corasick)
+ * - 빌드 후 불변. 텍스트를 한 번 훑으면서 포함된 모든 패턴의 값을 돌려준다 (패턴 수와 무관하게 O(텍스트 길이 + 일치 수))
+ * - 상태 전이는 상태별 정렬된 char[] + 이진 탐색 (한글 계정명이라 배열 전이표는 너무 큼)
+ * 여러 스레드에서 동시에 검색해도 된다.
+ */
+public final class AhoCorasick<T> {
+
+    private static final char[] NO_CHARS = new char[0];
+    private static final int[] NO_STATES = new int[0];
+
+    private final char[][] edgeChars;   // 상태별 전이 문자 (정렬)
+    private final int[][] edgeTargets;  // 상태별 전이 대상
+    private final int[] fail;
+    private final Object[][] outputs;   // 상태에서 끝나는 패턴 값 (fail 링크 쪽 출력 포함)
+
+    private AhoCorasick(char[][] edgeChars, int[][] edgeTargets, int[] fail, Object[][] outputs) {
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.fail = fail;
+        this.outputs = outputs;
+    }
+
+    /**
+     * @param patterns 패턴 → 값 목록 (빈 패턴은 무시)
+     */
+    public static <T> AhoCorasick<T> build(Map<String, ? extends Collection<T>> patterns) {
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<List<T>> out = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        out.add(new ArrayList<>());
+
+        // 1) trie
+        patterns.forEach((pattern, values) -> {
+            if (pattern == null || pattern.isEmpty()) {
+                return;
+            }
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                Integer next = trie.get(state).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.get(state).put(c, next);
+                    trie.add(new TreeMap<>());
+                    out.add(new ArrayList<>());
+                }
+                state = next;
+            }
+            out.get(state).addAll(values);
+        });
+
+        // 2) fail 링크 (BFS), 출력은 fail 쪽 것을 이어 붙인다
+        int size = trie.size();
+        int[] fail = new int[size];
+        Deque<Integer> queue = new ArrayDeque<>();
+        trie.get(0).values().forEach(queue::add);
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (Map.Entry<Character, Integer> edge : trie.get(state).entrySet()) {
+                int child = edge.getValue();
+                int f = fail[state];
+                while (f != 0 && !trie.get(f).containsKey(edge.getKey())) {
+                    f = fail[f];
+                }
+                Integer target = trie.get(f).get(edge.getKey());
+                fail[child] = target != null && target != child ? target : 0;
+                out.get(child).addAll(out.get(fail[child]));
+                queue.add(child);
+            }
+        }
+
+        // 3) 배열로 고정
+        char[][] edgeChars = new char[size][];
+        int[][] edgeTargets = new int[size][];
+        Object[][] outputs = new Object[size][];
+        for (int s = 0; s < size; s++) {
+            TreeMap<Character, Integer> edges = trie.get(s);
+            if (edges.isEmpty()) {
+                edgeChars[s] = NO_CHARS;
+                edgeTargets[s] = NO_STATES;
+            } else {
+                edgeChars[s] = new char[edges.size()];
+                edgeTargets[s] = new int[edges.size()];
+                int i = 0;
+                for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                    edgeChars[s][i] = edge.getKey();
+                    edgeTargets[s][i] = edge.getValue();
+                    i++;
+                }
+            }
+            outputs[s] = out.get(s).toArray();
+        }
+        return new AhoCorasick<>(edgeChars, edgeTargets, fail, outputs);
+    }
+
+    /**
+     * text 안에 나오는 모든 패턴의 값 (같은 패턴이 여러 번 나오면 여러 번)
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachMatch(String text, Consumer<T> consumer) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int next;
+            while ((next = transition(state, c)) < 0 && state != 0) {
+                state = fail[state];
+            }
+            state = Math.max(next, 0);
+            for (Object value : outputs[state]) {
+                consumer.accept((T) value);
+            }
+        }
+    }
+
+    private int transition(int state, char c) {
+        int idx = Arrays.binarySearch(edgeChars[state], c);
+        return idx >= 0 ? edgeTargets[state][idx] : -1;
+    }
+}
@@ -22,8 +22,12 @@ CREATE TABLE `stock_code` (
     `created_at`             DATETIME      NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '행 생성시각',
     `updated_at`             DATETIME      NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '행 수정시각',
     CONSTRAINT `PK_STOCK_CODE`             PRIMARY KEY (`stock_id`),
-    CONSTRAINT `UN_STOCK_CODE_MARKET_TICKER` UNIQUE (`market`, `ticker_krx`),
-    CONSTRAINT `CK_STOCK_FYEND`            CHECK (`fiscal_year_end_month` BETWEEN 1 AND 12)
+    -- ticker_krx 선두: (시장, 티커) 조회와 티커 앞부분 검색을 같은 유니크 인덱스로 처리
+    CONSTRAINT `UN_STOCK_CODE_TICKER_MARKET` UNIQUE (`ticker_krx`, `market`),
+    CONSTRAINT `CK_STOCK_FYEND`            CHECK (`fiscal_year_end_month` BETWEEN 1 AND 12),
+    -- 종목 검색 keyset 정렬 (company_name, stock_id) / 회사명 부분 일치 (ngram, 한글 2글자 토큰)
+    INDEX `IX_STOCK_CODE_NAME_ID` (`company_name`, `stock_id`),
+    FULLTEXT INDEX `FT_STOCK_CODE_NAME` (`company_name`) WITH PARSER ngram
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='KRX 종목코드 마스터(기업 식별 기본정보)';
 
 /* 2) 회사 메타 */
@@ -41,10 +45,11 @@ CREATE TABLE `company` (
     CONSTRAINT `FK_COMPANY_STOCK_CODE`    FOREIGN KEY (`stock_id`) REFERENCES `stock_code`(`stock_id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='회사 메타(상장주식수/액면가/통화 등)';
 
-/* 3) 시세 스냅샷 */
+/* 3) 일별 시세 (trade_date 연도별 RANGE 파티션, 다음 연도 파티션은 StockPricePartitionMaintainer 가 추가) */
 CREATE TABLE `stock_price` (
-    `price_id`    BIGINT         NOT NULL AUTO_INCREMENT COMMENT 'PK: 스냅샷 ID',
-    `company_id`     BIGINT         NOT NULL COMMENT 'FK → company.company_id',
+    `price_id`       BIGINT         NOT NULL AUTO_INCREMENT COMMENT 'PK: 시세 ID',
+    `company_id`     BIGINT         NOT NULL COMMENT 'company.company_id (파티션 테이블이라 FK 없음)',
+    `trade_date`     DATE           NOT NULL COMMENT '거래일',
     `as_of`          DATETIME       NOT NULL COMMENT '수집 시각(현지시간)',
     `price`          DECIMAL(18,2)  NULL COMMENT '현재가/종가(원)',
     `open_price`     DECIMAL(18,2)  NULL COMMENT '시가(원)',
@@ -57,10 +62,33 @@ CREATE TABLE `stock_price` (
     `div_yield`      DECIMAL(10,4)  NULL COMMENT '현금배당수익률(소수, 0.045 = 4.5%)',
     `source`         VARCHAR(20)    NOT NULL COMMENT '수집원(NAVER/KRX/FNG/CSV/MANUAL)',
     `created_at`     DATETIME       NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '행 생성시각',
-    CONSTRAINT `PK_STOCK_PRICE` PRIMARY KEY (`price_id`),
-    CONSTRAINT `FK_MS_COMPANY`      FOREIGN KEY (`company_id`) REFERENCES `company`(`company_id`),
+    /* 파티션 키(trade_date)가 모든 유니크키에 포함돼야 함 */
+    CONSTRAINT `PK_STOCK_PRICE` PRIMARY KEY (`price_id`, `trade_date`),
+    CONSTRAINT `UN_STOCK_PRICE_TRADE` UNIQUE (`company_id`, `trade_date`, `source`),
     CONSTRAINT `CK_MS_SOURCE`       CHECK (`source` IN ('NAVER','KRX','FNG','CSV','MANUAL'))
-) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='시세 스냅샷(가격/시총/밸류 지표 히스토리)';
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='일별 시세 시계열(가격/시총/밸류 지표 히스토리)'
+PARTITION BY RANGE COLUMNS (`trade_date`) (
+    PARTITION p2009 VALUES LESS THAN ('2010-01-01'),
+    PARTITION p2010 VALUES LESS THAN ('2011-01-01'),
+    PARTITION p2011 VALUES LESS THAN ('2012-01-01'),
+    PARTITION p2012 VALUES LESS THAN ('2013-01-01'),
+    PARTITION p2013 VALUES LESS THAN ('2014-01-01'),
+    PARTITION p2014 VALUES LESS THAN ('2015-01-01'),
+    PARTITION p2015 VALUES LESS THAN ('2016-01-01'),
+    PARTITION p2016 VALUES LESS THAN ('2017-01-01'),
+    PARTITION p2017 VALUES LESS THAN ('2018-01-01'),
+    PARTITION p2018 VALUES LESS THAN ('2019-01-01'),
+    PARTITION p2019 VALUES LESS THAN ('2020-01-01'),
+    PARTITION p2020 VALUES LESS THAN ('2021-01-01'),
+    PARTITION p2021 VALUES LESS THAN ('2022-01-01'),
+    PARTITION p2022 VALUES LESS THAN ('2023-01-01'),
+    PARTITION p2023 VALUES LESS THAN ('2024-01-01'),
+    PARTITION p2024 VALUES LESS THAN ('2025-01-01'),
+    PARTITION p2025 VALUES LESS THAN ('2026-01-01'),
+    PARTITION p2026 VALUES LESS THAN ('2027-01-01'),
+    PARTITION p2027 VALUES LESS THAN ('2028-01-01'),
+    PARTITION pmax  VALUES LESS THAN (MAXVALUE)
+);
 
 /* 4) 재무 기간 */
 CREATE TABLE `fin_period` (
@@ -207,6 +235,7 @@ CREATE TABLE `dart_fs_filing` (
                                   `rcept_dt`       DATE          NULL COMMENT '접수일(YYYY-MM-DD)',
                                   `currency`       VARCHAR(3)    NULL COMMENT '표시 통화(KRW 등)',
                                   `note`           VARCHAR(300)  NULL COMMENT '비고(파싱 옵션/특이사항 메모용)',
+                                  `content_hash`   VARCHAR(64)   NULL COMMENT '라인 전체 내용 해시(SHA-256, 재수집 변경 감지)',
                                   `created_at`     DATETIME      NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '행 생성시각',
                                   `updated_at`     DATETIME      NOT NULL DEFAULT CURRENT_TIMESTAMP
                                       ON UPDATE CURRENT_TIMESTAMP COMMENT '행 수정시각',
@@ -258,8 +287,7 @@ CREATE TABLE `dart_fs_line` (
                                 `bfefrmtrm_amount`   DECIMAL(28,0) NULL COMMENT '전전기 금액(bfefrmtrm_amount)',
 
                                 `currency`           VARCHAR(3)    NULL COMMENT '통화(KRW, currency)',
-                                `row_hash`           VARCHAR(64)   NULL COMMENT '원본 라인 해시(중복 방지/변경감지 등 선택)',
-                                `raw_json`           TEXT          NULL COMMENT '원본 JSON 라인 전체(디버깅/재파싱용, 선택)',
+                                `row_hash`           VARCHAR(64)   NULL COMMENT '라인 내용 해시(SHA-256, 재수집 시 변경감지)',
 
                                 `created_at`         DATETIME      NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '행 생성시각',
 
@@ -287,22 +315,23 @@ CREATE TABLE `dart_fs_line` (
  *   - dart_fs_line.account_id → fin_metric_def.metric_code 매핑용
  *   - SALES, NET_INC, TOTAL_EQUITY_OWNER, CFO, CFI, CFF 등으로 연결
  *   - 비즈니스 룰/매핑을 SQL로 관리하고 싶을 때 유용
+ *   - AccountMetricMatcher 가 컴파일해서 사용 (변경 시 재배포 없이 자동 반영)
+ *   - metric_code = 'IGNORE' 는 매핑 제외, 지표 정의 밖 중간값(TOTAL_ASSETS 등)도 있어 FK 없음
  * =============================================================== */
 CREATE TABLE `fs_account_map` (
       `account_id`   VARCHAR(200)  NOT NULL COMMENT 'DART account_id (ifrs-full_Revenue 등)',
       `sj_div`       VARCHAR(4)    NOT NULL COMMENT '재무제표 양식 구분(BS/CIS/CF 등)',
       `metric_code`  VARCHAR(32)   NOT NULL COMMENT 'FK: fin_metric_def.metric_code',
       `priority`     TINYINT       NOT NULL DEFAULT 1 COMMENT '여러 매핑 존재 시 우선순위(1=기본)',
+      `account_nm_pattern`     VARCHAR(200) NULL COMMENT '계정명에 이 문자열이 있을 때만 (공백 무시, 선택)',
+      `account_detail_pattern` VARCHAR(200) NULL COMMENT '구성요소(account_detail)에 이 문자열이 있을 때만 (선택)',
       `notes`        VARCHAR(300)  NULL COMMENT '비고/매핑 기준 설명',
       `created_at`   DATETIME      NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '생성시각',
       `updated_at`   DATETIME      NOT NULL DEFAULT CURRENT_TIMESTAMP
           ON UPDATE CURRENT_TIMESTAMP COMMENT '수정시각',
 
       CONSTRAINT `PK_FS_ACCOUNT_MAP`
-          PRIMARY KEY (`account_id`, `sj_div`, `metric_code`),
-
-      CONSTRAINT `FK_FAM_METRIC`
-          FOREIGN KEY (`metric_code`) REFERENCES `fin_metric_def`(`metric_code`)
+          PRIMARY KEY (`account_id`, `sj_div`, `metric_code`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='DART 계정코드 ↔ 재무 지표코드 매핑 테이블';
 
 
@@ -333,6 +362,196 @@ CREATE TABLE `fs_required_account` (
 -- CREATE INDEX IX_FS_REQ_SJ_REQ
 --     ON fs_required_account (sj_div, is_required, account_id);
 
+/* ===============================================================
+ * 9-E) DART 공시검색 폴링 위치
+ *   - list.json 피드(공시상세유형)별 마지막으로 처리한 접수번호
+ *   - 접수번호는 YYYYMMDD + 일련번호라 문자열 비교로 선후 판단
+ * =============================================================== */
+CREATE TABLE `dart_feed_state` (
+      `feed_key`        VARCHAR(40)   NOT NULL COMMENT 'PK: 피드 식별자(예: list.json:A001)',
+      `last_rcept_no`   VARCHAR(14)   NULL COMMENT '마지막으로 처리한 접수번호(high-water mark)',
+      `last_polled_at`  DATETIME      NULL COMMENT '마지막 폴링 시각',
+      `updated_at`      DATETIME      NOT NULL DEFAULT CURRENT_TIMESTAMP
+          ON UPDATE CURRENT_TIMESTAMP COMMENT '수정시각',
+
+      CONSTRAINT `PK_DART_FEED_STATE` PRIMARY KEY (`feed_key`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='DART 공시검색 폴링 위치(피드별 마지막 접수번호)';
+
+-- 폴링에서 찾은 수집 대상은 mark 전진 전에 먼저 기록, 수집 성공 시 삭제 (실패/재시작 시 재시도)
+CREATE TABLE `dart_feed_pending` (
+      `corp_code`        VARCHAR(8)    NOT NULL COMMENT 'DART corp_code',
+      `bsns_year`        INT           NOT NULL COMMENT '사업연도',
+      `stock_id`         BIGINT        NOT NULL COMMENT 'stock_code.stock_id',
+      `rcept_no`         VARCHAR(14)   NOT NULL COMMENT '감지한 접수번호(정정 시 최신)',
+      `attempts`         INT           NOT NULL DEFAULT 0 COMMENT '실패한 수집 시도 횟수',
+      `last_error`       VARCHAR(500)  NULL COMMENT '마지막 실패 사유',
+      `next_attempt_at`  DATETIME      NOT NULL COMMENT '다음 수집 시각',
+      `created_at`       DATETIME      NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '행 생성시각',
+      `updated_at`       DATETIME      NOT NULL DEFAULT CURRENT_TIMESTAMP
+          ON UPDATE CURRENT_TIMESTAMP COMMENT '수정시각',
+
+      CONSTRAINT `PK_DART_FEED_PENDING` PRIMARY KEY (`corp_code`, `bsns_year`),
+      KEY `IX_DFP_NEXT_ATTEMPT` (`next_attempt_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='DART 공시 피드 수집 대기열(수집 성공 시 삭제)';
+
+/* ===============================================================
+ * 9-F) DART API 일별 호출 건수
+ *   - DartQuotaManager 가 주기적으로 저장, 재시작 시 당일 사용량 복원
+ * =============================================================== */
+CREATE TABLE `dart_api_quota` (
+      `quota_date`     DATE          NOT NULL COMMENT 'PK: 기준일(한국시간)',
+      `request_count`  INT           NOT NULL DEFAULT 0 COMMENT '당일 DART API 호출 건수',
+      `exhausted`      TINYINT(1)    NOT NULL DEFAULT 0 COMMENT '한도 소진 여부(020 반복 포함, 1=소진)',
+      `updated_at`     DATETIME      NOT NULL DEFAULT CURRENT_TIMESTAMP
+          ON UPDATE CURRENT_TIMESTAMP COMMENT '수정시각',
+
+      CONSTRAINT `PK_DART_API_QUOTA` PRIMARY KEY (`quota_date`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='DART API 일별 호출 건수';
+
+/* ===============================================================
+ * 9-G) DART 데이터 없음(013) 마커
+ *   - 상장 전 연도 등 DART 가 이미 "데이터 없음"이라고 답한 조회를 만료 전까지 다시 호출하지 않음
+ * =============================================================== */
+CREATE TABLE `dart_empty_result` (
+      `endpoint`     VARCHAR(40)   NOT NULL COMMENT 'DART API (fnlttSinglAcntAll.json 등)',
+      `corp_code`    VARCHAR(8)    NOT NULL COMMENT 'DART corp_code',
+      `bsns_year`    INT           NOT NULL COMMENT '사업연도',
+      `reprt_code`   VARCHAR(5)    NOT NULL DEFAULT '-' COMMENT '보고서 코드(없으면 -)',
+      `fs_div`       VARCHAR(4)    NOT NULL DEFAULT '-' COMMENT '재무제표 구분(없으면 -)',
+      `checked_at`   DATETIME      NOT NULL COMMENT '마지막으로 013 을 받은 시각',
+      `expires_at`   DATETIME      NOT NULL COMMENT '마커 만료 시각(이후 다시 조회)',
+
+      CONSTRAINT `PK_DART_EMPTY_RESULT`
+          PRIMARY KEY (`endpoint`, `corp_code`, `bsns_year`, `reprt_code`, `fs_div`),
+      KEY `IX_DER_CORP_YEAR` (`corp_code`, `bsns_year`),
+      KEY `IX_DER_EXPIRES` (`expires_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='DART 데이터 없음(013) 응답 마커';
+
+/* ===============================================================
+ * 9-H) DART 재무제표 원본 JSON 아카이브
+ *   - dart_fs_line 에서 분리한 원본 라인 JSON 을 공시 1건당 한 행으로 압축 보관
+ *   - 재파싱/디버깅 때만 읽음 (라인 테이블은 숫자/식별 컬럼만 유지)
+ * =============================================================== */
+CREATE TABLE `dart_fs_raw_archive` (
+      `fs_filing_id` BIGINT        NOT NULL COMMENT 'PK/FK: dart_fs_filing.fs_filing_id',
+      `encoding`     VARCHAR(16)   NOT NULL COMMENT '압축 방식(DEFLATE / MYSQL_COMPRESS)',
+      `line_count`   INT           NOT NULL COMMENT '보관된 원본 라인 수',
+      `raw_size`     INT           NOT NULL COMMENT '압축 전 크기(bytes)',
+      `payload`      LONGBLOB      NOT NULL COMMENT '원본 라인 JSON 배열 압축본',
+      `created_at`   DATETIME      NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '행 생성시각',
+      `updated_at`   DATETIME      NOT NULL DEFAULT CURRENT_TIMESTAMP
+          ON UPDATE CURRENT_TIMESTAMP COMMENT '행 수정시각',
+
+      CONSTRAINT `PK_DART_FS_RAW_ARCHIVE` PRIMARY KEY (`fs_filing_id`),
+      CONSTRAINT `FK_DFRA_FILING`
+          FOREIGN KEY (`fs_filing_id`) REFERENCES `dart_fs_filing`(`fs_filing_id`)
+              ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='DART 재무제표 원본 JSON 아카이브(공시 단위 압축)';
+
+/* ===============================================================
+ * 9-I) S-RIM 계산 입력 스냅샷
+ *   - fin_metric_value(EAV) / stock_share_status 를 회사+연도 1행으로 펼친 사본
+ *   - 지표 저장 시 ValuationSnapshotWriter 가 갱신, SrimService 는 PK 조회 1회로 입력값 확보
+ * =============================================================== */
+CREATE TABLE `valuation_input_snapshot` (
+      `company_id`         BIGINT         NOT NULL COMMENT 'FK: company.company_id',
+      `fiscal_year`        INT            NOT NULL COMMENT '회계연도',
+      `equity_owner`       DECIMAL(28,6)  NULL COMMENT '지배주주지분(TOTAL_EQUITY_OWNER)',
+      `bps`                DECIMAL(28,6)  NULL COMMENT 'BPS',
+      `roe`                DECIMAL(28,6)  NULL COMMENT 'ROE(%) 당해',
+      `roe_prev1`          DECIMAL(28,6)  NULL COMMENT 'ROE(%) 전년',
+      `roe_prev2`          DECIMAL(28,6)  NULL COMMENT 'ROE(%) 전전년',
+      `shares_outstanding` BIGINT         NULL COMMENT '유통주식수(보통주, stock_share_status.distb_stock_co)',
+      `updated_at`         DATETIME       NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '마지막 갱신 시각',
+
+      CONSTRAINT `PK_VALUATION_INPUT_SNAPSHOT` PRIMARY KEY (`company_id`, `fiscal_year`),
+      CONSTRAINT `FK_VIS_COMPANY`
+          FOREIGN KEY (`company_id`) REFERENCES `company`(`company_id`)
+              ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='S-RIM 계산 입력 스냅샷(fin_metric_value 파생, 회사+연도 1행)';
+
+/* ===============================================================
+ * 9-J) 계정명 패턴 ↔ 내부 지표코드 매핑
+ *   - fs_account_map 에 account_id 가 없을 때 계정명(또는 account_id 부분 문자열)으로 매핑
+ *   - AccountMetricMatcher 가 sj_div 별 Aho-Corasick 으로 컴파일
+ * =============================================================== */
+CREATE TABLE `fs_account_name_rule` (
+      `rule_id`      BIGINT        NOT NULL AUTO_INCREMENT COMMENT 'PK',
+      `sj_div`       VARCHAR(4)    NOT NULL COMMENT '재무제표 양식 구분(BS/CIS/CF 등)',
+      `target`       VARCHAR(10)   NOT NULL DEFAULT 'NAME' COMMENT '비교 대상(NAME=계정명 공백 제거, ACCOUNT_ID)',
+      `match_type`   VARCHAR(10)   NOT NULL DEFAULT 'CONTAINS' COMMENT '일치 방식(CONTAINS/EXACT, EXACT 는 NAME 만)',
+      `pattern`      VARCHAR(200)  NOT NULL COMMENT '패턴 문자열',
+      `metric_code`  VARCHAR(32)   NOT NULL COMMENT '지표 코드 (IGNORE = 매핑 제외)',
+      `priority`     INT           NOT NULL DEFAULT 100 COMMENT '여러 규칙이 걸리면 작은 값 우선',
+      `notes`        VARCHAR(300)  NULL COMMENT '비고',
+      `created_at`   DATETIME      NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '생성시각',
+      `updated_at`   DATETIME      NOT NULL DEFAULT CURRENT_TIMESTAMP
+          ON UPDATE CURRENT_TIMESTAMP COMMENT '수정시각',
+
+      CONSTRAINT `PK_FS_ACCOUNT_NAME_RULE` PRIMARY KEY (`rule_id`),
+      CONSTRAINT `UNQ_FANR_PATTERN`        UNIQUE (`sj_div`, `target`, `match_type`, `pattern`),
+      CONSTRAINT `CK_FANR_TARGET`          CHECK (`target` IN ('NAME', 'ACCOUNT_ID')),
+      CONSTRAINT `CK_FANR_MATCH_TYPE`      CHECK (`match_type` IN ('CONTAINS', 'EXACT'))
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='계정명/ID 패턴 ↔ 재무 지표코드 매핑 규칙';
+
+-- 기본 매핑 규칙 (기존 FinancialService.mapAccountToMetric 하드코딩 규칙)
+INSERT IGNORE INTO `fs_account_map` (`sj_div`, `account_id`, `metric_code`, `priority`, `account_nm_pattern`, `account_detail_pattern`, `notes`) VALUES
+    ('SCE', 'ifrs-full_ProfitLoss', 'NET_INC',         1, '당기순이익', '연결재무제표', '자본변동표 전체 당기순이익'),
+    ('SCE', 'ifrs-full_ProfitLoss', 'NET_INC_OWNER',   2, '당기순이익', '지배기업',     '자본변동표 지배기업 귀속 당기순이익'),
+    ('SCE', 'ifrs-full_ProfitLoss', 'NET_INC_NONCONT', 3, '당기순이익', '비지배',       '자본변동표 비지배 귀속 당기순이익');
+
+INSERT IGNORE INTO `fs_account_map` (`sj_div`, `account_id`, `metric_code`, `priority`, `notes`)
+SELECT sj.sj_div, r.account_id, r.metric_code, 1, r.notes
+FROM (SELECT 'CIS' AS sj_div UNION ALL SELECT 'IS') sj
+CROSS JOIN (
+    SELECT 'ifrs-full_Revenue' AS account_id, 'SALES' AS metric_code, '매출액' AS notes
+    UNION ALL SELECT 'ifrs_Revenue', 'SALES', '매출액(2018 이전 taxonomy)'
+    UNION ALL SELECT 'ifrs-full_ProfitLossFromOperatingActivities', 'OP_INC', '영업이익'
+    UNION ALL SELECT 'ifrs_ProfitLossFromOperatingActivities', 'OP_INC', '영업이익(2018 이전 taxonomy)'
+) r;
+
+INSERT IGNORE INTO `fs_account_map` (`sj_div`, `account_id`, `metric_code`, `priority`, `notes`)
+SELECT sj.sj_div, r.account_id, r.metric_code, 1, r.notes
+FROM (SELECT 'BS' AS sj_div UNION ALL SELECT 'BIS') sj
+CROSS JOIN (
+    SELECT 'ifrs-full_EquityAndLiabilities' AS account_id, 'IGNORE' AS metric_code, '부채와자본총계(=자산총계)는 자본으로 보지 않음' AS notes
+    UNION ALL SELECT 'ifrs-full_Assets', 'TOTAL_ASSETS', '자산총계'
+    UNION ALL SELECT 'ifrs-full_Liabilities', 'TOTAL_LIABILITIES', '부채총계'
+    UNION ALL SELECT 'ifrs-full_Equity', 'TOTAL_EQUITY', '자본총계(지배+비지배)'
+    UNION ALL SELECT 'ifrs-full_EquityAttributableToOwnersOfParent', 'TOTAL_EQUITY_OWNER', '지배기업 소유주지분'
+    UNION ALL SELECT 'ifrs-full_CurrentAssets', 'CURRENT_ASSETS', '유동자산'
+    UNION ALL SELECT 'ifrs-full_CurrentLiabilities', 'CURRENT_LIABILITIES', '유동부채'
+) r;
+
+INSERT IGNORE INTO `fs_account_name_rule` (`sj_div`, `target`, `match_type`, `pattern`, `metric_code`, `priority`, `notes`)
+SELECT sj.sj_div, r.target, r.match_type, r.pattern, r.metric_code, r.priority, r.notes
+FROM (SELECT 'CIS' AS sj_div UNION ALL SELECT 'IS') sj
+CROSS JOIN (
+    SELECT 'NAME' AS target, 'CONTAINS' AS match_type, '매출액' AS pattern, 'SALES' AS metric_code, 10 AS priority, NULL AS notes
+    UNION ALL SELECT 'NAME', 'CONTAINS', '영업수익', 'SALES', 10, '금융/지주사 매출'
+    UNION ALL SELECT 'NAME', 'CONTAINS', '영업이익', 'OP_INC', 20, NULL
+    UNION ALL SELECT 'NAME', 'CONTAINS', '주당순이익', 'EPS', 30, '기본주당순이익 등'
+    UNION ALL SELECT 'ACCOUNT_ID', 'CONTAINS', 'EarningsPerShare', 'EPS', 30, NULL
+) r;
+
+INSERT IGNORE INTO `fs_account_name_rule` (`sj_div`, `target`, `match_type`, `pattern`, `metric_code`, `priority`, `notes`)
+SELECT sj.sj_div, r.target, r.match_type, r.pattern, r.metric_code, r.priority, r.notes
+FROM (SELECT 'BS' AS sj_div UNION ALL SELECT 'BIS') sj
+CROSS JOIN (
+    SELECT 'NAME' AS target, 'CONTAINS' AS match_type, '부채와자본총계' AS pattern, 'IGNORE' AS metric_code, 10 AS priority, '자산총계와 같은 값' AS notes
+    UNION ALL SELECT 'NAME', 'CONTAINS', '자산총계', 'TOTAL_ASSETS', 20, NULL
+    UNION ALL SELECT 'NAME', 'CONTAINS', '부채총계', 'TOTAL_LIABILITIES', 30, NULL
+    UNION ALL SELECT 'NAME', 'EXACT', '자본총계', 'TOTAL_EQUITY', 40, NULL
+    UNION ALL SELECT 'NAME', 'CONTAINS', '지배기업의 소유주에게 귀속되는 자본', 'TOTAL_EQUITY_OWNER', 50, NULL
+    UNION ALL SELECT 'NAME', 'CONTAINS', '지배주주지분', 'TOTAL_EQUITY_OWNER', 50, NULL
+    UNION ALL SELECT 'NAME', 'CONTAINS', '비유동자산', 'IGNORE', 55, '유동자산 포함 매칭 방지'
+    UNION ALL SELECT 'NAME', 'CONTAINS', '비유동부채', 'IGNORE', 55, '유동부채 포함 매칭 방지'
+    UNION ALL SELECT 'NAME', 'CONTAINS', '유동자산', 'CURRENT_ASSETS', 60, NULL
+    UNION ALL SELECT 'NAME', 'CONTAINS', '유동부채', 'CURRENT_LIABILITIES', 70, NULL
+    UNION ALL SELECT 'NAME', 'CONTAINS', '주당순자산', 'BPS', 80, NULL
+    UNION ALL SELECT 'ACCOUNT_ID', 'CONTAINS', 'EquityPerShare', 'BPS', 80, NULL
+) r;
+
 -- ===============================================================
 -- 샘플 데이터 삽입
 -- ===============================================================
@@ -0,0 +1,19 @@
+-- ===============================================================
+-- dart_api_quota 테이블 추가
+-- DART API 일별 호출 건수 저장 (일일 한도 관리)
+-- ===============================================================
+
+USE srimdb;
+
+CREATE TABLE `dart_api_quota` (
+      `quota_date`     DATE          NOT NULL COMMENT 'PK: 기준일(한국시간)',
+      `request_count`  INT           NOT NULL DEFAULT 0 COMMENT '당일 DART API 호출 건수',
+      `exhausted`      TINYINT(1)    NOT NULL DEFAULT 0 COMMENT '한도 소진 여부(020 반복 포함, 1=소진)',
+      `updated_at`     DATETIME      NOT NULL DEFAULT CURRENT_TIMESTAMP
+          ON UPDATE CURRENT_TIMESTAMP COMMENT '수정시각',
+
+      CONSTRAINT `PK_DART_API_QUOTA` PRIMARY KEY (`quota_date`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='DART API 일별 호출 건수';
+
+-- 마이그레이션 완료
+SELECT '마이그레이션 완료: dart_api_quota 테이블이 추가되었습니다.' AS message;
@@ -0,0 +1,24 @@
+-- ===============================================================
+-- dart_empty_result 테이블 추가
+-- DART 데이터 없음(013) 응답 마커 저장
+-- ===============================================================
+
+USE srimdb;
+
+CREATE TABLE `dart_empty_result` (
+      `endpoint`     VARCHAR(40)   NOT NULL COMMENT 'DART API (fnlttSinglAcntAll.json 등)',
+      `corp_code`    VARCHAR(8)    NOT NULL COMMENT 'DART corp_code',
+      `bsns_year`    INT           NOT NULL COMMENT '사업연도',
+      `reprt_code`   VARCHAR(5)    NOT NULL DEFAULT '-' COMMENT '보고서 코드(없으면 -)',
+      `fs_div`       VARCHAR(4)    NOT NULL DEFAULT '-' COMMENT '재무제표 구분(없으면 -)',
+      `checked_at`   DATETIME      NOT NULL COMMENT '마지막으로 013 을 받은 시각',
+      `expires_at`   DATETIME      NOT NULL COMMENT '마커 만료 시각(이후 다시 조회)',
+
+      CONSTRAINT `PK_DART_EMPTY_RESULT`
+          PRIMARY KEY (`endpoint`, `corp_code`, `bsns_year`, `reprt_code`, `fs_div`),
+      KEY `IX_DER_CORP_YEAR` (`corp_code`, `bsns_year`),
+      KEY `IX_DER_EXPIRES` (`expires_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='DART 데이터 없음(013) 응답 마커';
+
+-- 마이그레이션 완료
+SELECT '마이그레이션 완료: dart_empty_result 테이블이 추가되었습니다.' AS message;
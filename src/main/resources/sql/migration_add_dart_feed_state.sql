@@ -0,0 +1,36 @@
+-- ===============================================================
+-- dart_feed_state 테이블 추가
+-- DART 공시검색(list.json) 폴링 위치 저장
+-- dart_feed_pending : 폴링에서 찾은 수집 대상 (수집 성공 시 삭제)
+-- ===============================================================
+
+USE srimdb;
+
+CREATE TABLE `dart_feed_state` (
+      `feed_key`        VARCHAR(40)   NOT NULL COMMENT 'PK: 피드 식별자(예: list.json:A001)',
+      `last_rcept_no`   VARCHAR(14)   NULL COMMENT '마지막으로 처리한 접수번호(high-water mark)',
+      `last_polled_at`  DATETIME      NULL COMMENT '마지막 폴링 시각',
+      `updated_at`      DATETIME      NOT NULL DEFAULT CURRENT_TIMESTAMP
+          ON UPDATE CURRENT_TIMESTAMP COMMENT '수정시각',
+
+      CONSTRAINT `PK_DART_FEED_STATE` PRIMARY KEY (`feed_key`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='DART 공시검색 폴링 위치(피드별 마지막 접수번호)';
+
+CREATE TABLE `dart_feed_pending` (
+      `corp_code`        VARCHAR(8)    NOT NULL COMMENT 'DART corp_code',
+      `bsns_year`        INT           NOT NULL COMMENT '사업연도',
+      `stock_id`         BIGINT        NOT NULL COMMENT 'stock_code.stock_id',
+      `rcept_no`         VARCHAR(14)   NOT NULL COMMENT '감지한 접수번호(정정 시 최신)',
+      `attempts`         INT           NOT NULL DEFAULT 0 COMMENT '실패한 수집 시도 횟수',
+      `last_error`       VARCHAR(500)  NULL COMMENT '마지막 실패 사유',
+      `next_attempt_at`  DATETIME      NOT NULL COMMENT '다음 수집 시각',
+      `created_at`       DATETIME      NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '행 생성시각',
+      `updated_at`       DATETIME      NOT NULL DEFAULT CURRENT_TIMESTAMP
+          ON UPDATE CURRENT_TIMESTAMP COMMENT '수정시각',
+
+      CONSTRAINT `PK_DART_FEED_PENDING` PRIMARY KEY (`corp_code`, `bsns_year`),
+      KEY `IX_DFP_NEXT_ATTEMPT` (`next_attempt_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='DART 공시 피드 수집 대기열(수집 성공 시 삭제)';
+
+-- 마이그레이션 완료
+SELECT '마이그레이션 완료: dart_feed_state, dart_feed_pending 테이블이 추가되었습니다.' AS message;
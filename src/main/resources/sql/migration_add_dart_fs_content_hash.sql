@@ -0,0 +1,28 @@
+-- ===============================================================
+-- dart_fs_filing.content_hash 컬럼 추가
+-- 재수집 시 변경 없는 공시는 건너뛰고, 바뀐 라인만 반영 (dart_fs_line.row_hash 비교)
+-- ===============================================================
+
+USE srimdb;
+
+ALTER TABLE `dart_fs_filing`
+    ADD COLUMN `content_hash` VARCHAR(64) NULL COMMENT '라인 전체 내용 해시(SHA-256, 재수집 변경 감지)' AFTER `note`;
+
+ALTER TABLE `dart_fs_line`
+    MODIFY COLUMN `row_hash` VARCHAR(64) NULL COMMENT '라인 내용 해시(SHA-256, 재수집 시 변경감지)';
+
+-- 예전 재수집으로 같은 공시 아래 중복 저장된 라인 정리 (가장 먼저 저장된 라인만 남김)
+DELETE dup
+FROM dart_fs_line dup
+JOIN dart_fs_line keep
+  ON keep.fs_filing_id = dup.fs_filing_id
+ AND keep.sj_div = dup.sj_div
+ AND keep.account_id = dup.account_id
+ AND keep.account_nm <=> dup.account_nm
+ AND keep.account_detail <=> dup.account_detail
+ AND keep.ord <=> dup.ord
+ AND keep.thstrm_amount <=> dup.thstrm_amount
+ AND keep.fs_line_id < dup.fs_line_id;
+
+-- 마이그레이션 완료
+SELECT '마이그레이션 완료: dart_fs_filing.content_hash 컬럼이 추가되고 중복 라인이 정리되었습니다.' AS message;
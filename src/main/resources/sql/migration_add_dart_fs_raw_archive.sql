@@ -0,0 +1,43 @@
+-- ===============================================================
+-- dart_fs_raw_archive 테이블 추가 + dart_fs_line.raw_json 제거
+-- 원본 JSON 을 공시 단위 압축 아카이브로 옮기고 라인 테이블을 숫자/식별 컬럼만 남김
+-- ===============================================================
+
+USE srimdb;
+
+CREATE TABLE `dart_fs_raw_archive` (
+      `fs_filing_id` BIGINT        NOT NULL COMMENT 'PK/FK: dart_fs_filing.fs_filing_id',
+      `encoding`     VARCHAR(16)   NOT NULL COMMENT '압축 방식(DEFLATE / MYSQL_COMPRESS)',
+      `line_count`   INT           NOT NULL COMMENT '보관된 원본 라인 수',
+      `raw_size`     INT           NOT NULL COMMENT '압축 전 크기(bytes)',
+      `payload`      LONGBLOB      NOT NULL COMMENT '원본 라인 JSON 배열 압축본',
+      `created_at`   DATETIME      NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '행 생성시각',
+      `updated_at`   DATETIME      NOT NULL DEFAULT CURRENT_TIMESTAMP
+          ON UPDATE CURRENT_TIMESTAMP COMMENT '행 수정시각',
+
+      CONSTRAINT `PK_DART_FS_RAW_ARCHIVE` PRIMARY KEY (`fs_filing_id`),
+      CONSTRAINT `FK_DFRA_FILING`
+          FOREIGN KEY (`fs_filing_id`) REFERENCES `dart_fs_filing`(`fs_filing_id`)
+              ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='DART 재무제표 원본 JSON 아카이브(공시 단위 압축)';
+
+-- 기존 raw_json 이관 (MySQL COMPRESS, 공시별 JSON 배열)
+SET SESSION group_concat_max_len = 1073741824;
+
+INSERT INTO `dart_fs_raw_archive` (fs_filing_id, encoding, line_count, raw_size, payload)
+SELECT fs_filing_id,
+       'MYSQL_COMPRESS',
+       COUNT(*),
+       LENGTH(CONCAT('[', GROUP_CONCAT(raw_json ORDER BY fs_line_id SEPARATOR ','), ']')),
+       COMPRESS(CONCAT('[', GROUP_CONCAT(raw_json ORDER BY fs_line_id SEPARATOR ','), ']'))
+FROM dart_fs_line
+WHERE raw_json IS NOT NULL
+GROUP BY fs_filing_id;
+
+ALTER TABLE `dart_fs_line` DROP COLUMN `raw_json`;
+
+-- 테이블 공간 회수
+OPTIMIZE TABLE `dart_fs_line`;
+
+-- 마이그레이션 완료
+SELECT '마이그레이션 완료: dart_fs_raw_archive 테이블이 추가되고 dart_fs_line.raw_json 이 이관/삭제되었습니다.' AS message;
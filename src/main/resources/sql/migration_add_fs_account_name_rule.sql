@@ -0,0 +1,94 @@
+-- ===============================================================
+-- fs_account_map / fs_account_name_rule 기반 계정 매핑
+-- FinancialService 의 하드코딩 매핑을 테이블 규칙으로 옮긴다 (AccountMetricMatcher)
+--  - fs_account_map: FK_FAM_METRIC 제거 (IGNORE / TOTAL_ASSETS 등 지표 정의 밖 코드), 계정명/구성요소 조건 컬럼 추가
+--  - fs_account_name_rule 신규 + 기본 규칙
+-- ===============================================================
+
+USE srimdb;
+
+ALTER TABLE `fs_account_map`
+    DROP FOREIGN KEY `FK_FAM_METRIC`;
+
+ALTER TABLE `fs_account_map`
+    ADD COLUMN `account_nm_pattern`     VARCHAR(200) NULL COMMENT '계정명에 이 문자열이 있을 때만 (공백 무시, 선택)' AFTER `priority`,
+    ADD COLUMN `account_detail_pattern` VARCHAR(200) NULL COMMENT '구성요소(account_detail)에 이 문자열이 있을 때만 (선택)' AFTER `account_nm_pattern`;
+
+CREATE TABLE `fs_account_name_rule` (
+      `rule_id`      BIGINT        NOT NULL AUTO_INCREMENT COMMENT 'PK',
+      `sj_div`       VARCHAR(4)    NOT NULL COMMENT '재무제표 양식 구분(BS/CIS/CF 등)',
+      `target`       VARCHAR(10)   NOT NULL DEFAULT 'NAME' COMMENT '비교 대상(NAME=계정명 공백 제거, ACCOUNT_ID)',
+      `match_type`   VARCHAR(10)   NOT NULL DEFAULT 'CONTAINS' COMMENT '일치 방식(CONTAINS/EXACT, EXACT 는 NAME 만)',
+      `pattern`      VARCHAR(200)  NOT NULL COMMENT '패턴 문자열',
+      `metric_code`  VARCHAR(32)   NOT NULL COMMENT '지표 코드 (IGNORE = 매핑 제외)',
+      `priority`     INT           NOT NULL DEFAULT 100 COMMENT '여러 규칙이 걸리면 작은 값 우선',
+      `notes`        VARCHAR(300)  NULL COMMENT '비고',
+      `created_at`   DATETIME      NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '생성시각',
+      `updated_at`   DATETIME      NOT NULL DEFAULT CURRENT_TIMESTAMP
+          ON UPDATE CURRENT_TIMESTAMP COMMENT '수정시각',
+
+      CONSTRAINT `PK_FS_ACCOUNT_NAME_RULE` PRIMARY KEY (`rule_id`),
+      CONSTRAINT `UNQ_FANR_PATTERN`        UNIQUE (`sj_div`, `target`, `match_type`, `pattern`),
+      CONSTRAINT `CK_FANR_TARGET`          CHECK (`target` IN ('NAME', 'ACCOUNT_ID')),
+      CONSTRAINT `CK_FANR_MATCH_TYPE`      CHECK (`match_type` IN ('CONTAINS', 'EXACT'))
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='계정명/ID 패턴 ↔ 재무 지표코드 매핑 규칙';
+
+-- 기본 매핑 규칙 (기존 FinancialService.mapAccountToMetric 하드코딩 규칙)
+INSERT IGNORE INTO `fs_account_map` (`sj_div`, `account_id`, `metric_code`, `priority`, `account_nm_pattern`, `account_detail_pattern`, `notes`) VALUES
+    ('SCE', 'ifrs-full_ProfitLoss', 'NET_INC',         1, '당기순이익', '연결재무제표', '자본변동표 전체 당기순이익'),
+    ('SCE', 'ifrs-full_ProfitLoss', 'NET_INC_OWNER',   2, '당기순이익', '지배기업',     '자본변동표 지배기업 귀속 당기순이익'),
+    ('SCE', 'ifrs-full_ProfitLoss', 'NET_INC_NONCONT', 3, '당기순이익', '비지배',       '자본변동표 비지배 귀속 당기순이익');
+
+INSERT IGNORE INTO `fs_account_map` (`sj_div`, `account_id`, `metric_code`, `priority`, `notes`)
+SELECT sj.sj_div, r.account_id, r.metric_code, 1, r.notes
+FROM (SELECT 'CIS' AS sj_div UNION ALL SELECT 'IS') sj
+CROSS JOIN (
+    SELECT 'ifrs-full_Revenue' AS account_id, 'SALES' AS metric_code, '매출액' AS notes
+    UNION ALL SELECT 'ifrs_Revenue', 'SALES', '매출액(2018 이전 taxonomy)'
+    UNION ALL SELECT 'ifrs-full_ProfitLossFromOperatingActivities', 'OP_INC', '영업이익'
+    UNION ALL SELECT 'ifrs_ProfitLossFromOperatingActivities', 'OP_INC', '영업이익(2018 이전 taxonomy)'
+) r;
+
+INSERT IGNORE INTO `fs_account_map` (`sj_div`, `account_id`, `metric_code`, `priority`, `notes`)
+SELECT sj.sj_div, r.account_id, r.metric_code, 1, r.notes
+FROM (SELECT 'BS' AS sj_div UNION ALL SELECT 'BIS') sj
+CROSS JOIN (
+    SELECT 'ifrs-full_EquityAndLiabilities' AS account_id, 'IGNORE' AS metric_code, '부채와자본총계(=자산총계)는 자본으로 보지 않음' AS notes
+    UNION ALL SELECT 'ifrs-full_Assets', 'TOTAL_ASSETS', '자산총계'
+    UNION ALL SELECT 'ifrs-full_Liabilities', 'TOTAL_LIABILITIES', '부채총계'
+    UNION ALL SELECT 'ifrs-full_Equity', 'TOTAL_EQUITY', '자본총계(지배+비지배)'
+    UNION ALL SELECT 'ifrs-full_EquityAttributableToOwnersOfParent', 'TOTAL_EQUITY_OWNER', '지배기업 소유주지분'
+    UNION ALL SELECT 'ifrs-full_CurrentAssets', 'CURRENT_ASSETS', '유동자산'
+    UNION ALL SELECT 'ifrs-full_CurrentLiabilities', 'CURRENT_LIABILITIES', '유동부채'
+) r;
+
+INSERT IGNORE INTO `fs_account_name_rule` (`sj_div`, `target`, `match_type`, `pattern`, `metric_code`, `priority`, `notes`)
+SELECT sj.sj_div, r.target, r.match_type, r.pattern, r.metric_code, r.priority, r.notes
+FROM (SELECT 'CIS' AS sj_div UNION ALL SELECT 'IS') sj
+CROSS JOIN (
+    SELECT 'NAME' AS target, 'CONTAINS' AS match_type, '매출액' AS pattern, 'SALES' AS metric_code, 10 AS priority, NULL AS notes
+    UNION ALL SELECT 'NAME', 'CONTAINS', '영업수익', 'SALES', 10, '금융/지주사 매출'
+    UNION ALL SELECT 'NAME', 'CONTAINS', '영업이익', 'OP_INC', 20, NULL
+    UNION ALL SELECT 'NAME', 'CONTAINS', '주당순이익', 'EPS', 30, '기본주당순이익 등'
+    UNION ALL SELECT 'ACCOUNT_ID', 'CONTAINS', 'EarningsPerShare', 'EPS', 30, NULL
+) r;
+
+INSERT IGNORE INTO `fs_account_name_rule` (`sj_div`, `target`, `match_type`, `pattern`, `metric_code`, `priority`, `notes`)
+SELECT sj.sj_div, r.target, r.match_type, r.pattern, r.metric_code, r.priority, r.notes
+FROM (SELECT 'BS' AS sj_div UNION ALL SELECT 'BIS') sj
+CROSS JOIN (
+    SELECT 'NAME' AS target, 'CONTAINS' AS match_type, '부채와자본총계' AS pattern, 'IGNORE' AS metric_code, 10 AS priority, '자산총계와 같은 값' AS notes
+    UNION ALL SELECT 'NAME', 'CONTAINS', '자산총계', 'TOTAL_ASSETS', 20, NULL
+    UNION ALL SELECT 'NAME', 'CONTAINS', '부채총계', 'TOTAL_LIABILITIES', 30, NULL
+    UNION ALL SELECT 'NAME', 'EXACT', '자본총계', 'TOTAL_EQUITY', 40, NULL
+    UNION ALL SELECT 'NAME', 'CONTAINS', '지배기업의 소유주에게 귀속되는 자본', 'TOTAL_EQUITY_OWNER', 50, NULL
+    UNION ALL SELECT 'NAME', 'CONTAINS', '지배주주지분', 'TOTAL_EQUITY_OWNER', 50, NULL
+    UNION ALL SELECT 'NAME', 'CONTAINS', '비유동자산', 'IGNORE', 55, '유동자산 포함 매칭 방지'
+    UNION ALL SELECT 'NAME', 'CONTAINS', '비유동부채', 'IGNORE', 55, '유동부채 포함 매칭 방지'
+    UNION ALL SELECT 'NAME', 'CONTAINS', '유동자산', 'CURRENT_ASSETS', 60, NULL
+    UNION ALL SELECT 'NAME', 'CONTAINS', '유동부채', 'CURRENT_LIABILITIES', 70, NULL
+    UNION ALL SELECT 'NAME', 'CONTAINS', '주당순자산', 'BPS', 80, NULL
+    UNION ALL SELECT 'ACCOUNT_ID', 'CONTAINS', 'EquityPerShare', 'BPS', 80, NULL
+) r;
+
+SELECT '마이그레이션 완료: fs_account_map / fs_account_name_rule 매핑 규칙' AS message;
@@ -0,0 +1,20 @@
+-- ===============================================================
+-- stock_code 검색 인덱스 추가 (StockCodeSearchRepository, keyset 페이징)
+--  - 유니크키를 (ticker_krx, market) 순으로 바꿔 티커 앞부분 검색도 인덱스 범위 스캔
+--  - (company_name, stock_id) 정렬/seek 인덱스
+--  - company_name ngram FULLTEXT (ngram_token_size 기본 2 → 한글 2글자 이상 부분 일치)
+-- 적용 후 app.stock-search.keyset-enabled=true 로 목록 화면 전환
+-- ===============================================================
+
+USE srimdb;
+
+ALTER TABLE `stock_code`
+    DROP INDEX `UN_STOCK_CODE_MARKET_TICKER`,
+    ADD CONSTRAINT `UN_STOCK_CODE_TICKER_MARKET` UNIQUE (`ticker_krx`, `market`),
+    ADD INDEX `IX_STOCK_CODE_NAME_ID` (`company_name`, `stock_id`);
+
+-- FULLTEXT 는 단독 ALTER 로 (다른 인덱스와 묶으면 INPLACE 불가)
+ALTER TABLE `stock_code`
+    ADD FULLTEXT INDEX `FT_STOCK_CODE_NAME` (`company_name`) WITH PARSER ngram;
+
+SELECT '마이그레이션 완료: stock_code 검색 인덱스 추가' AS message;
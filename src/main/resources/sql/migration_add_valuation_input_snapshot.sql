@@ -0,0 +1,54 @@
+-- ===============================================================
+-- valuation_input_snapshot 테이블 추가
+-- S-RIM 계산 입력(지배주주지분/ROE 3개년/유통주식수/BPS)을 회사+연도 1행으로 비정규화
+-- ===============================================================
+
+USE srimdb;
+
+CREATE TABLE `valuation_input_snapshot` (
+      `company_id`         BIGINT         NOT NULL COMMENT 'FK: company.company_id',
+      `fiscal_year`        INT            NOT NULL COMMENT '회계연도',
+      `equity_owner`       DECIMAL(28,6)  NULL COMMENT '지배주주지분(TOTAL_EQUITY_OWNER)',
+      `bps`                DECIMAL(28,6)  NULL COMMENT 'BPS',
+      `roe`                DECIMAL(28,6)  NULL COMMENT 'ROE(%) 당해',
+      `roe_prev1`          DECIMAL(28,6)  NULL COMMENT 'ROE(%) 전년',
+      `roe_prev2`          DECIMAL(28,6)  NULL COMMENT 'ROE(%) 전전년',
+      `shares_outstanding` BIGINT         NULL COMMENT '유통주식수(보통주, stock_share_status.distb_stock_co)',
+      `updated_at`         DATETIME       NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '마지막 갱신 시각',
+
+      CONSTRAINT `PK_VALUATION_INPUT_SNAPSHOT` PRIMARY KEY (`company_id`, `fiscal_year`),
+      CONSTRAINT `FK_VIS_COMPANY`
+          FOREIGN KEY (`company_id`) REFERENCES `company`(`company_id`)
+              ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='S-RIM 계산 입력 스냅샷(fin_metric_value 파생, 회사+연도 1행)';
+
+-- 기존 데이터로 초기 적재 (이후에는 지표 저장 시 자동 갱신)
+INSERT INTO valuation_input_snapshot
+    (company_id, fiscal_year, equity_owner, bps, roe, roe_prev1, roe_prev2, shares_outstanding, updated_at)
+SELECT p.company_id,
+       p.fiscal_year,
+       MAX(CASE WHEN v.metric_code = 'TOTAL_EQUITY_OWNER' AND hp.fiscal_year = p.fiscal_year     THEN v.value_num END),
+       MAX(CASE WHEN v.metric_code = 'BPS'                AND hp.fiscal_year = p.fiscal_year     THEN v.value_num END),
+       MAX(CASE WHEN v.metric_code = 'ROE'                AND hp.fiscal_year = p.fiscal_year     THEN v.value_num END),
+       MAX(CASE WHEN v.metric_code = 'ROE'                AND hp.fiscal_year = p.fiscal_year - 1 THEN v.value_num END),
+       MAX(CASE WHEN v.metric_code = 'ROE'                AND hp.fiscal_year = p.fiscal_year - 2 THEN v.value_num END),
+       (SELECT s.distb_stock_co
+          FROM stock_share_status s
+         WHERE s.company_id = p.company_id
+           AND s.bsns_year = p.fiscal_year
+           AND s.se = '보통주'),
+       NOW()
+FROM fin_period p
+JOIN fin_period hp
+  ON hp.company_id = p.company_id
+ AND hp.period_type = 'YEAR'
+ AND hp.fiscal_year BETWEEN p.fiscal_year - 2 AND p.fiscal_year
+LEFT JOIN fin_metric_value v
+  ON v.company_id = p.company_id
+ AND v.period_id = hp.period_id
+ AND v.metric_code IN ('TOTAL_EQUITY_OWNER', 'BPS', 'ROE')
+WHERE p.period_type = 'YEAR'
+GROUP BY p.company_id, p.fiscal_year;
+
+-- 마이그레이션 완료
+SELECT '마이그레이션 완료: valuation_input_snapshot 테이블이 추가되고 초기 적재되었습니다.' AS message;
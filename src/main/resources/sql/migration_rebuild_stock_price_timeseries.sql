@@ -0,0 +1,60 @@
+-- ===============================================================
+-- stock_price 시계열 재구성
+-- (company_id, trade_date, source) 유니크키 + trade_date 연도별 RANGE 파티션
+-- 기존 행은 as_of(수집 시각)만 있고 거래일이 없어 이관하지 않음 → stock_price_legacy 로 보존
+-- 첫 차트 조회 시 PriceChartFacadeService 가 10년치를 다시 백필한다.
+-- ===============================================================
+
+USE srimdb;
+
+RENAME TABLE `stock_price` TO `stock_price_legacy`;
+
+CREATE TABLE `stock_price` (
+    `price_id`       BIGINT         NOT NULL AUTO_INCREMENT COMMENT 'PK: 시세 ID',
+    `company_id`     BIGINT         NOT NULL COMMENT 'company.company_id (파티션 테이블이라 FK 없음)',
+    `trade_date`     DATE           NOT NULL COMMENT '거래일',
+    `as_of`          DATETIME       NOT NULL COMMENT '수집 시각(현지시간)',
+    `price`          DECIMAL(18,2)  NULL COMMENT '현재가/종가(원)',
+    `open_price`     DECIMAL(18,2)  NULL COMMENT '시가(원)',
+    `high_price`     DECIMAL(18,2)  NULL COMMENT '고가(원)',
+    `low_price`      DECIMAL(18,2)  NULL COMMENT '저가(원)',
+    `volume`         BIGINT         NULL COMMENT '거래량(주)',
+    `market_cap`     DECIMAL(22,2)  NULL COMMENT '시가총액(원)',
+    `per`            DECIMAL(10,4)  NULL COMMENT 'PER(배)',
+    `pbr`            DECIMAL(10,4)  NULL COMMENT 'PBR(배)',
+    `div_yield`      DECIMAL(10,4)  NULL COMMENT '현금배당수익률(소수, 0.045 = 4.5%)',
+    `source`         VARCHAR(20)    NOT NULL COMMENT '수집원(NAVER/KRX/FNG/CSV/MANUAL)',
+    `created_at`     DATETIME       NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '행 생성시각',
+    /* 파티션 키(trade_date)가 모든 유니크키에 포함돼야 함 */
+    CONSTRAINT `PK_STOCK_PRICE` PRIMARY KEY (`price_id`, `trade_date`),
+    CONSTRAINT `UN_STOCK_PRICE_TRADE` UNIQUE (`company_id`, `trade_date`, `source`),
+    CONSTRAINT `CK_SP_SOURCE`       CHECK (`source` IN ('NAVER','KRX','FNG','CSV','MANUAL'))
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='일별 시세 시계열(가격/시총/밸류 지표 히스토리)'
+PARTITION BY RANGE COLUMNS (`trade_date`) (
+    PARTITION p2009 VALUES LESS THAN ('2010-01-01'),
+    PARTITION p2010 VALUES LESS THAN ('2011-01-01'),
+    PARTITION p2011 VALUES LESS THAN ('2012-01-01'),
+    PARTITION p2012 VALUES LESS THAN ('2013-01-01'),
+    PARTITION p2013 VALUES LESS THAN ('2014-01-01'),
+    PARTITION p2014 VALUES LESS THAN ('2015-01-01'),
+    PARTITION p2015 VALUES LESS THAN ('2016-01-01'),
+    PARTITION p2016 VALUES LESS THAN ('2017-01-01'),
+    PARTITION p2017 VALUES LESS THAN ('2018-01-01'),
+    PARTITION p2018 VALUES LESS THAN ('2019-01-01'),
+    PARTITION p2019 VALUES LESS THAN ('2020-01-01'),
+    PARTITION p2020 VALUES LESS THAN ('2021-01-01'),
+    PARTITION p2021 VALUES LESS THAN ('2022-01-01'),
+    PARTITION p2022 VALUES LESS THAN ('2023-01-01'),
+    PARTITION p2023 VALUES LESS THAN ('2024-01-01'),
+    PARTITION p2024 VALUES LESS THAN ('2025-01-01'),
+    PARTITION p2025 VALUES LESS THAN ('2026-01-01'),
+    PARTITION p2026 VALUES LESS THAN ('2027-01-01'),
+    PARTITION p2027 VALUES LESS THAN ('2028-01-01'),
+    PARTITION pmax  VALUES LESS THAN (MAXVALUE)
+);
+
+-- 확인 후 삭제
+-- DROP TABLE `stock_price_legacy`;
+
+-- 마이그레이션 완료
+SELECT '마이그레이션 완료: stock_price 가 거래일 기준 파티션 시계열 테이블로 재생성되었습니다.' AS message;
@@ -78,6 +78,43 @@ class CrawlingServiceTest {
         Assertions.assertThat(saved).hasSize(mockPrices.size());
     }
 
+    @Test
+    void crawlingStockPrice_Recrawl_NoDuplicates() {
+
+        // given
+        StockCode stockCode = stockCodeRepository.save(StockCode.builder()
+                .tickerKrx("005930")
+                .companyName("삼성전자")
+                .build());
+
+        Company company = companyRepository.save(Company.builder()
+                .stockCode(stockCode)
+                .createdAt(LocalDateTime.now())
+                .currency("KRW")
+                .build());
+
+        Long companyId = company.getCompanyId();
+
+        LocalDate start = LocalDate.of(2025, 11, 24);
+        LocalDate end = LocalDate.of(2025, 12, 4);
+        List<DaliyPrice> mockPrices = createPriceSampleData();
+
+        given(naverClient.fetchDailyPrices("005930", start, end))
+                .willReturn(mockPrices);
+
+        // when : 같은 구간 두 번 수집
+        crawlingService.crawlingStockPrice(companyId, start, end);
+        crawlingService.crawlingStockPrice(companyId, start, end);
+
+        // then : 거래일 기준으로 한 번씩만 저장
+        List<StockPrice> saved = stockPriceRepository
+                .findByCompany_CompanyIdAndSourceAndTradeDateBetweenOrderByTradeDateAsc(
+                        companyId, StockPrice.MarketSnapshotSource.NAVER, start, end);
+        Assertions.assertThat(saved).hasSize(mockPrices.size());
+        Assertions.assertThat(saved.get(0).getTradeDate()).isEqualTo(start);
+        Assertions.assertThat(saved.get(saved.size() - 1).getTradeDate()).isEqualTo(end);
+    }
+
     private List<DaliyPrice> createPriceSampleData() {
         return List.of(
                 new DaliyPrice(LocalDate.of(2025, 12, 4),
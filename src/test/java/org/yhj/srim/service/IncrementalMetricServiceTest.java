@@ -0,0 +1,73 @@
+package org.yhj.srim.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.yhj.srim.repository.BpsBulkWriter;
+import org.yhj.srim.repository.ValuationSnapshotWriter;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class IncrementalMetricServiceTest {
+
+    private static final Long COMPANY_ID = 1L;
+
+    @Mock
+    FinancialService financialService;
+    @Mock
+    BpsBulkWriter bpsBulkWriter;
+    @Mock
+    ValuationSnapshotWriter valuationSnapshotWriter;
+
+    @InjectMocks
+    IncrementalMetricService incrementalMetricService;
+
+    @Test
+    void amendedEquity_recomputesNextYearRoeWithNewEquity() {
+        // given : 2022 사업보고서 정정으로 2022 지배주주지분 1000 -> 900
+        given(financialService.buildFinancialMetrics(COMPANY_ID, 2020)).willReturn(Map.of());
+        given(financialService.buildFinancialMetrics(COMPANY_ID, 2021)).willReturn(Map.of());
+        given(financialService.buildFinancialMetrics(COMPANY_ID, 2022))
+                .willReturn(Map.of("TOTAL_EQUITY_OWNER", new BigDecimal("900")));
+
+        // JDBC 로 저장한 뒤에도 JPA 재조회는 이전 값을 돌려주는 상황
+        given(financialService.loadAnnualMetricsFromDb(COMPANY_ID, 2020)).willReturn(Map.of());
+        given(financialService.loadAnnualMetricsFromDb(COMPANY_ID, 2021)).willReturn(Map.of());
+        given(financialService.loadAnnualMetricsFromDb(COMPANY_ID, 2022))
+                .willReturn(Map.of("TOTAL_EQUITY_OWNER", new BigDecimal("1000.000000")));
+        given(financialService.loadAnnualMetricsFromDb(COMPANY_ID, 2023)).willReturn(Map.of(
+                "NET_INC_OWNER", new BigDecimal("100.000000"),
+                "TOTAL_EQUITY_OWNER", new BigDecimal("1100.000000"),
+                "ROE", new BigDecimal("9.523810")));   // 100 / ((1100 + 1000) / 2)
+
+        // when
+        incrementalMetricService.onFilingChanged(COMPANY_ID, 2022);
+
+        // then : 2023 ROE = 100 / ((1100 + 900) / 2) = 10%
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, BigDecimal>> saved = ArgumentCaptor.forClass(Map.class);
+        verify(financialService).saveAnnualMetricsToDb(eq(COMPANY_ID), eq(2023), saved.capture());
+        assertThat(saved.getValue()).containsOnlyKeys("ROE");
+        assertThat(saved.getValue().get("ROE")).isEqualByComparingTo("10");
+
+        verify(financialService).saveAnnualMetricsToDb(COMPANY_ID, 2022, Map.of("TOTAL_EQUITY_OWNER", new BigDecimal("900")));
+        verify(financialService, never()).saveAnnualMetricsToDb(eq(COMPANY_ID), eq(2021), anyMap());
+        verify(bpsBulkWriter).recalcCompanyYear(COMPANY_ID, "YEAR", 2022);
+        verifyNoMoreInteractions(bpsBulkWriter);
+        // 스냅샷은 연도 루프 뒤 회사 단위로 한 번
+        verify(valuationSnapshotWriter).refreshCompany(COMPANY_ID);
+    }
+}